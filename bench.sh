@@ -0,0 +1,22 @@
+#!/bin/bash
+# Benchmarks JMH do interpretador (fontes em bench/src).
+# Na primeira execução baixa o JMH do Maven Central para bench/lib.
+# Uso: ./bench.sh [opções do JMH]      ex.: ./bench.sh Laco -p n=1000
+# O resultado fica também em bench/resultado.json, para servir de base de comparação.
+
+JMH=1.37
+REPO=https://repo1.maven.org/maven2
+mkdir -p bench/lib
+for jar in org/openjdk/jmh/jmh-core/$JMH/jmh-core-$JMH.jar \
+           org/openjdk/jmh/jmh-generator-annprocess/$JMH/jmh-generator-annprocess-$JMH.jar \
+           net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar \
+           org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar; do
+  [ -f bench/lib/$(basename $jar) ] || curl -sSfL -o bench/lib/$(basename $jar) $REPO/$jar || exit 1
+done
+
+CP=./lib/antlr-runtime-4.13.1.jar:$(ls bench/lib/*.jar | tr '\n' ':')
+rm -rf bench/bin
+mkdir -p bench/bin
+javac -encoding UTF-8 -cp $CP -processorpath $CP -d bench/bin \
+  ./src/plp/enquanto/parser/*.java ./src/plp/enquanto/*.java ./bench/src/plp/enquanto/*.java || exit 1
+java -cp bench/bin:$CP org.openjdk.jmh.Main -rf json -rff bench/resultado.json "$@"
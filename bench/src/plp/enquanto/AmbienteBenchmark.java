@@ -0,0 +1,57 @@
+package plp.enquanto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Leitura e escrita de uma variável pela tabela do ambiente (árvore sem
+  resolução) e pelo quadro de slots (árvore resolvida).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AmbienteBenchmark {
+	private Expressao leituraAmbiente;
+	private Expressao leituraQuadro;
+	private Comando escritaAmbiente;
+	private Comando escritaQuadro;
+	private final Contexto contexto = Programas.contexto();
+
+	@Setup
+	public void prepare() {
+		final int x = new Simbolos().simbolo("x");
+		contexto.ambiente.atribua(x, 42);
+		contexto.slots = new long[] {42};
+		leituraAmbiente = new Id(x);
+		leituraQuadro = new IdLocal("x", 0);
+		escritaAmbiente = new Atribuicao(new int[] {x}, List.of(new ExpSoma(new Id(x), new Inteiro(1))));
+		escritaQuadro = new AtribuicaoLocal(new int[] {0}, List.of(new ExpSoma(new IdLocal("x", 0), new Inteiro(1))));
+	}
+
+	@Benchmark
+	public long leiaAmbiente() {
+		return leituraAmbiente.getValor(contexto);
+	}
+
+	@Benchmark
+	public long leiaQuadro() {
+		return leituraQuadro.getValor(contexto);
+	}
+
+	@Benchmark
+	public void escrevaAmbiente() {
+		escritaAmbiente.execute(contexto);
+	}
+
+	@Benchmark
+	public void escrevaQuadro() {
+		escritaQuadro.execute(contexto);
+	}
+}
@@ -0,0 +1,59 @@
+package plp.enquanto;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  x * y + x - y pelos nós da árvore, que verificam o transbordamento em
+  Numeros, contra a mesma conta em long sem verificação nenhuma, que é o
+  custo mínimo do caminho rápido. Com valores grandes (x além de 64 bits)
+  a conta passa toda por BigInteger.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AritmeticaBenchmark {
+	@Param({"pequenos", "grandes"})
+	public String valores;
+
+	private Expressao arvore;
+	private Expressao direta;
+	private final Contexto contexto = Programas.contexto();
+
+	@Setup
+	public void prepare() {
+		final Expressao x = new IdLocal("x", 0);
+		final Expressao y = new IdLocal("y", 1);
+		arvore = new ExpSub(new ExpSoma(new ExpMult(x, y), x), y);
+		direta = c -> {
+			final long a = c.slots[0];
+			final long b = c.slots[1];
+			return a * b + a - b;
+		};
+		contexto.slots = new long[] {123456, 789};
+		contexto.grandes = new BigInteger[2];
+		if (valores.equals("grandes")) {
+			contexto.slots[0] = Numeros.GRANDE;
+			contexto.grandes[0] = BigInteger.TWO.pow(70);
+		}
+	}
+
+	@Benchmark
+	public long arvore() {
+		final long v = arvore.getValor(contexto);
+		Numeros.descarte(v, contexto);
+		return v;
+	}
+
+	@Benchmark
+	public long direta() {
+		return direta.getValor(contexto);
+	}
+}
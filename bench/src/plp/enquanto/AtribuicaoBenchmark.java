@@ -0,0 +1,52 @@
+package plp.enquanto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Uma execução de atribuição com um, dois (troca) e quatro destinos,
+  sobre variáveis já resolvidas no quadro.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AtribuicaoBenchmark {
+	private Comando simples;
+	private Comando troca;
+	private Comando quatro;
+	private final Contexto contexto = Programas.contexto();
+
+	private static Comando comando(String fonte) {
+		final Programa programa = Programas.prepare("a, b, c, d := 1, 2, 3, 4; " + fonte + " escreva a + b + c + d;");
+		return programa.comandos.get(1);
+	}
+
+	@Setup
+	public void prepare() {
+		simples = comando("a := a + 1;");
+		troca = comando("a, b := b, a;");
+		quatro = comando("a, b, c, d := b, c, d, a;");
+		contexto.slots = new long[] {1, 2, 3, 4};
+	}
+
+	@Benchmark
+	public void simples() {
+		simples.execute(contexto);
+	}
+
+	@Benchmark
+	public void troca() {
+		troca.execute(contexto);
+	}
+
+	@Benchmark
+	public void quatro() {
+		quatro.execute(contexto);
+	}
+}
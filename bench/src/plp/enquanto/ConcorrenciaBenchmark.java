@@ -0,0 +1,114 @@
+package plp.enquanto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.openjdk.jmh.annotations.*;
+
+import plp.enquanto.Linguagem.Programa;
+
+/*
+  Teste de carga da execução concorrente: as mesmas instâncias de
+  Programa rodam ao mesmo tempo em várias threads, cada execução com o
+  seu Contexto, a sua entrada e a sua saída. Cada saída é comparada com a
+  de uma execução sozinha, feita antes numa árvore construída à parte;
+  qualquer diferença (valores de outra execução, saídas misturadas)
+  interrompe o benchmark com erro.
+
+  modo: arvore (variáveis no Ambiente), slots (árvore após as passagens),
+  vm e jvm.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcorrenciaBenchmark {
+	private static final String[] FONTES = {
+		"""
+		n := leia; s := 0; i := 0;
+		enquanto i < n * 20 faca {
+			se i - i / 3 * 3 = 0 entao s := s + i senao s := s - 1;
+			escreva n * 1000 + i;
+			i := i + 1;
+		};
+		exiba "soma"; escreva s;
+		""",
+		"""
+		a, b := leia, leia;
+		repita 40 vezes { a, b := b, a + b; escreva a; };
+		exiba "fim";
+		""",
+		"""
+		n := leia;
+		para i de 1 ate n faca {
+			escolha i - i / 4 * 4 {
+				0 : exiba "zero";
+				1 : escreva i * n;
+				2 : escreva i ^ 2;
+				_ : skip;
+			};
+		};
+		""",
+	};
+	private static final int ENTRADAS = 16;
+
+	@Param({"arvore", "slots", "vm", "jvm"})
+	public String modo;
+
+	private Programa[] programas;
+	private byte[][][] entradas;
+	private byte[][][] esperadas;
+
+	@Setup
+	public void prepare() {
+		programas = new Programa[FONTES.length];
+		entradas = new byte[FONTES.length][ENTRADAS][];
+		esperadas = new byte[FONTES.length][ENTRADAS][];
+		for (int p = 0; p < FONTES.length; p++) {
+			programas[p] = construa(FONTES[p]);
+			final Programa sozinho = construa(FONTES[p]);
+			for (int e = 0; e < ENTRADAS; e++) {
+				entradas[p][e] = ((e + 1) + " " + (e + 2) * 7 + "\n").getBytes(StandardCharsets.UTF_8);
+				esperadas[p][e] = execute(sozinho, entradas[p][e]);
+			}
+		}
+	}
+
+	private Programa construa(String fonte) {
+		final Programa arvore = Principal.construa(CharStreams.fromString(fonte));
+		return switch (modo) {
+			case "arvore" -> arvore;
+			case "slots" -> Principal.prepare(arvore);
+			case "vm" -> CompiladorVm.compile(Principal.prepare(arvore), System.err);
+			case "jvm" -> CompiladorJvm.compile(Principal.prepare(arvore), System.err);
+			default -> throw new IllegalArgumentException(modo);
+		};
+	}
+
+	private static byte[] execute(Programa programa, byte[] entrada) {
+		final ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		programa.execute(new Contexto(new ByteArrayInputStream(entrada), saida, System.err));
+		return saida.toByteArray();
+	}
+
+	@Benchmark
+	public byte[] execute() {
+		final ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+		final int p = aleatorio.nextInt(FONTES.length);
+		final int e = aleatorio.nextInt(ENTRADAS);
+		final byte[] saida = execute(programas[p], entradas[p][e]);
+		if (!Arrays.equals(saida, esperadas[p][e])) {
+			throw new IllegalStateException("Saída diferente da execução isolada no programa " + p + " com a entrada "
+					+ e + ":\n" + new String(saida, StandardCharsets.UTF_8));
+		}
+		return saida;
+	}
+}
@@ -0,0 +1,54 @@
+package plp.enquanto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import plp.enquanto.Linguagem.Programa;
+
+/*
+  Escolha usada como máquina de estados dentro de um laço: 1000 despachos
+  por execução, com poucos casos, casos densos (0..7) e esparsos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EscolhaBenchmark {
+	private Programa pequena;
+	private Programa densa;
+	private Programa esparsa;
+	private final Contexto contexto = Programas.contexto();
+
+	@Setup
+	public void prepare() {
+		pequena = Programas.prepare(estados(new int[] {0, 3, 5}));
+		densa = Programas.prepare(estados(new int[] {0, 1, 2, 3, 4, 5, 6, 7}));
+		esparsa = Programas.prepare(estados(new int[] {0, 10, 200, 3000, 40000, 500000, 6000000, 70000000}));
+	}
+
+	private static String estados(int[] rotulos) {
+		final StringBuilder sb = new StringBuilder("s := 0; para i de 1 ate 1000 faca { escolha i - i / 8 * 8 {");
+		for (int j = 0; j < rotulos.length; j++) {
+			sb.append(rotulos[j]).append(" : s := s + ").append(j + 1).append(";");
+		}
+		return sb.append("_ : s := s - 1; }; }; escreva s;").toString();
+	}
+
+	@Benchmark
+	public void pequena() {
+		pequena.execute(contexto);
+	}
+
+	@Benchmark
+	public void densa() {
+		densa.execute(contexto);
+	}
+
+	@Benchmark
+	public void esparsa() {
+		esparsa.execute(contexto);
+	}
+}
@@ -0,0 +1,44 @@
+package plp.enquanto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.openjdk.jmh.annotations.*;
+
+import plp.enquanto.Linguagem.Programa;
+
+/*
+  Laço cujo corpo recalcula expressões que não mudam (n * n - 1,
+  k * (n + 2) ^ 2), com e sem a passagem Invariantes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InvariantesBenchmark {
+	private static final String FONTE = "n := 30; k := 7; s := 0; i := 0;"
+			+ " enquanto i < n * n - 1 faca { s := s + k * (n + 2) ^ 2 - i; i := i + 1; }; escreva s;";
+
+	@Param({"com", "sem"})
+	public String invariantes;
+
+	private Programa programa;
+	private final Contexto contexto = Programas.contexto();
+
+	@Setup
+	public void prepare() {
+		if ("com".equals(invariantes)) {
+			programa = Programas.prepare(FONTE);
+		} else {
+			final Programa arvore = Principal.construa(CharStreams.fromString(FONTE));
+			programa = new Resolvedor().transforme(new Simplificador().transforme(arvore));
+		}
+	}
+
+	@Benchmark
+	public void laco() {
+		programa.execute(contexto);
+	}
+}
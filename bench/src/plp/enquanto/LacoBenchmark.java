@@ -0,0 +1,61 @@
+package plp.enquanto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.openjdk.jmh.annotations.*;
+
+import plp.enquanto.Linguagem.Programa;
+
+/*
+  Laços enquanto, para e repita executados pelo interpretador, com n
+  iterações de uma soma simples. O enquanto roda também sem o Resolvedor,
+  com as variáveis na tabela do Ambiente em vez dos slots.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LacoBenchmark {
+	@Param({"1000", "100000"})
+	public int n;
+
+	private Programa enquanto;
+	private Programa enquantoAmbiente;
+	private Programa para;
+	private Programa repita;
+	private final Contexto contexto = Programas.contexto();
+
+	@Setup
+	public void prepare() {
+		final String fonte = "i := 0; s := 0; enquanto i < " + n + " faca { s := s + i; i := i + 1; }; escreva s;";
+		enquanto = Programas.prepare(fonte);
+		// as mesmas passagens do Principal, menos o Resolvedor
+		final Programa arvore = Principal.construa(CharStreams.fromString(fonte));
+		enquantoAmbiente = new Invariantes().transforme(new Poda().transforme(new Simplificador().transforme(arvore)));
+		para = Programas.prepare("s := 0; para i de 1 ate " + n + " faca s := s + i; escreva s;");
+		repita = Programas.prepare("s := 0; repita " + n + " vezes s := s + 1; escreva s;");
+	}
+
+	@Benchmark
+	public void enquanto() {
+		enquanto.execute(contexto);
+	}
+
+	@Benchmark
+	public void enquantoAmbiente() {
+		enquantoAmbiente.execute(contexto);
+	}
+
+	@Benchmark
+	public void para() {
+		para.execute(contexto);
+	}
+
+	@Benchmark
+	public void repita() {
+		repita.execute(contexto);
+	}
+}
@@ -0,0 +1,41 @@
+package plp.enquanto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.openjdk.jmh.annotations.*;
+
+import plp.enquanto.Linguagem.Programa;
+
+/*
+  Parse do ANTLR mais construção da árvore pelas Regras, para programas
+  gerados de 1K a 1M comandos, com as duas etapas (SLL e, se falhar, LL)
+  ou só com a predição LL completa.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseBenchmark {
+	@Param({"1000", "10000", "100000", "1000000"})
+	public int comandos;
+
+	@Param({"sll", "ll"})
+	public String predicao;
+
+	private String fonte;
+
+	@Setup
+	public void prepare() {
+		fonte = Programas.gere(comandos);
+	}
+
+	@Benchmark
+	public Programa parse() {
+		final CharStream input = CharStreams.fromString(fonte);
+		return "ll".equals(predicao) ? Principal.construaLL(input, Programas.contexto()) : Principal.construa(input);
+	}
+}
@@ -0,0 +1,48 @@
+package plp.enquanto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  ExpPot com base variável e expoentes pequenos e grandes: a versão
+  antiga, por Math.pow em double, contra a potência por quadrados com o
+  expoente literal (PotConstante, escolhida pelas Regras) e numa variável.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PotenciaBenchmark {
+	@Param({"2", "7", "30"})
+	public int expoente;
+
+	@Param({"pow", "constante", "variavel"})
+	public String implementacao;
+
+	private Expressao potencia;
+	private final Contexto contexto = Programas.contexto();
+
+	@Setup
+	public void prepare() {
+		contexto.slots = new long[] {3, expoente};
+		final Expressao base = new IdLocal("x", 0);
+		potencia = switch (implementacao) {
+			case "pow" -> {
+				final Expressao n = new IdLocal("n", 1);
+				yield c -> (long) Math.pow(base.getValor(c), n.getValor(c));
+			}
+			case "constante" -> Regras.potencia(base, new Inteiro(expoente));
+			default -> Regras.potencia(base, new IdLocal("n", 1));
+		};
+	}
+
+	@Benchmark
+	public long potencia() {
+		return potencia.getValor(contexto);
+	}
+}
@@ -0,0 +1,42 @@
+package plp.enquanto;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.antlr.v4.runtime.CharStreams;
+
+import plp.enquanto.Linguagem.Programa;
+
+/*
+  Programas usados pelos benchmarks, construídos pelo mesmo caminho do
+  Principal: parse, Regras e passagens.
+ */
+final class Programas {
+	private Programas() {}
+
+	static Programa prepare(String fonte) {
+		return Principal.prepare(Principal.construa(CharStreams.fromString(fonte)));
+	}
+
+	// sem entrada e com a saída descartada
+	static Contexto contexto() {
+		return new Contexto(InputStream.nullInputStream(), OutputStream.nullOutputStream(), System.err);
+	}
+
+	/*
+	  Programa com aproximadamente n comandos, misturando atribuições,
+	  condicionais e laços.
+	 */
+	static String gere(int n) {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < n; i++) {
+			switch (i % 4) {
+				case 0 -> sb.append("a").append(" := b * ").append(i).append(" + c;\n");
+				case 1 -> sb.append("se a > ").append(i).append(" e (b <= c ou nao c = 1) entao b := b - 1 senao c := c + 2;\n");
+				case 2 -> sb.append("enquanto a < ").append(i).append(" faca a := a + (c - b) ^ 2;\n");
+				default -> sb.append("para i de 1 ate ").append(i % 10).append(" faca { c, b := b, c; };\n");
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,66 @@
+package plp.enquanto;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/*
+  Centenas de variáveis vivas sem resolução para slots: a tabela de
+  símbolos do Ambiente contra o HashMap<String, Integer> usado antes.
+  Cada chamada incrementa todas as variáveis uma vez.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VariaveisBenchmark {
+	@Param({"100", "300", "1000"})
+	public int variaveis;
+
+	private String[] nomes;
+	private int[] simbolos;
+	private Ambiente ambiente;
+	private Map<String, Integer> mapa;
+
+	@Setup
+	public void prepare() {
+		nomes = new String[variaveis];
+		simbolos = new int[variaveis];
+		ambiente = new Ambiente();
+		mapa = new HashMap<>();
+		final Simbolos tabela = new Simbolos();
+		for (int i = 0; i < variaveis; i++) {
+			// nomes novos, como os de um programa lido do arquivo
+			nomes[i] = new StringBuilder("v").append(i).toString();
+			simbolos[i] = tabela.simbolo(nomes[i]);
+			ambiente.atribua(simbolos[i], i * 1000);
+			mapa.put(nomes[i], i * 1000);
+		}
+	}
+
+	@Benchmark
+	public long ambiente() {
+		long soma = 0;
+		for (int s : simbolos) {
+			final long v = ambiente.valor(s) + 1;
+			ambiente.atribua(s, v);
+			soma += v;
+		}
+		return soma;
+	}
+
+	@Benchmark
+	public int mapa() {
+		int soma = 0;
+		for (String n : nomes) {
+			final int v = mapa.getOrDefault(n, 0) + 1;
+			mapa.put(n, v);
+			soma += v;
+		}
+		return soma;
+	}
+}
@@ -0,0 +1,89 @@
+package plp.enquanto;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+  Ambiente das variáveis que não foram resolvidas para slots. Os nomes já
+  chegam como símbolos inteiros, dados pela tabela de Simbolos do
+  programa quando ele foi construído. Os valores ficam numa tabela de endereçamento aberto
+  com chaves em vetor de int e valores em vetor de long, sem caixas.
+  Variável que nunca recebeu valor vale 0. Um valor além de 64 bits fica
+  como Numeros.GRANDE na tabela e o BigInteger num mapa à parte.
+ */
+class Ambiente {
+	// chave = símbolo + 1, para que 0 marque posição livre
+	private int[] chaves = new int[16];
+	private long[] valores = new long[16];
+	private int ocupadas;
+	private Map<Integer, BigInteger> grandes;
+
+	long valor(int simbolo) {
+		final int[] c = chaves;
+		final int mascara = c.length - 1;
+		final int chave = simbolo + 1;
+		for (int i = espalhe(chave) & mascara; ; i = (i + 1) & mascara) {
+			final int k = c[i];
+			if (k == chave) return valores[i];
+			if (k == 0) return 0;
+		}
+	}
+
+	BigInteger grande(int simbolo) {
+		return grandes.get(simbolo);
+	}
+
+	void atribua(int simbolo, BigInteger valor) {
+		if (grandes == null) grandes = new HashMap<>();
+		grandes.put(simbolo, valor);
+		atribua(simbolo, Numeros.GRANDE);
+	}
+
+	void atribua(int simbolo, long valor) {
+		final int[] c = chaves;
+		final int mascara = c.length - 1;
+		final int chave = simbolo + 1;
+		int i = espalhe(chave) & mascara;
+		while (c[i] != chave) {
+			if (c[i] == 0) {
+				c[i] = chave;
+				valores[i] = valor;
+				// no máximo metade ocupada, para as sondagens continuarem curtas
+				if (++ocupadas * 2 > c.length) cresca();
+				return;
+			}
+			i = (i + 1) & mascara;
+		}
+		valores[i] = valor;
+	}
+
+	void limpe() {
+		Arrays.fill(chaves, 0);
+		ocupadas = 0;
+		grandes = null;
+	}
+
+	private void cresca() {
+		final int[] antigasChaves = chaves;
+		final long[] antigosValores = valores;
+		chaves = new int[antigasChaves.length * 2];
+		valores = new long[antigasChaves.length * 2];
+		final int mascara = chaves.length - 1;
+		for (int j = 0; j < antigasChaves.length; j++) {
+			final int k = antigasChaves[j];
+			if (k == 0) continue;
+			int i = espalhe(k) & mascara;
+			while (chaves[i] != 0) i = (i + 1) & mascara;
+			chaves[i] = k;
+			valores[i] = antigosValores[j];
+		}
+	}
+
+	// símbolos são consecutivos: espalha os bits para não formar blocos na tabela
+	private static int espalhe(int x) {
+		x *= 0x9E3779B9;
+		return x ^ (x >>> 16);
+	}
+}
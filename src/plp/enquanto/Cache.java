@@ -0,0 +1,523 @@
+package plp.enquanto;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Programas já construídos, guardados para que o mesmo script não passe
+  de novo pelo ANTLR. A árvore das Regras, antes das passagens, é gravada
+  num formato binário em .enquanto/<script>.bin, no diretório do script,
+  com o SHA-256 do fonte no cabeçalho: quando o fonte muda o resumo não
+  confere e a entrada é refeita. Os erros do lexer vão junto, para serem
+  mostrados de novo. Programas com erro de sintaxe e os que leem a entrada
+  ao serem construídos (um leia no rótulo de um caso) não são guardados.
+  Uma entrada ilegível conta como ausente.
+ */
+class Cache {
+	static final String DIRETORIO = ".enquanto";
+
+	private static final int MAGICO = 0x454E5141; // "ENQA"
+	private static final int VERSAO = 2;
+
+	// marcas dos nós no arquivo
+	private static final int NULO = 0;
+	private static final int SE = 1;
+	private static final int ENQUANTO = 2;
+	private static final int ESCREVA = 3;
+	private static final int EXIBA = 4;
+	private static final int EXIBA_TEXTO = 5;
+	private static final int BLOCO = 6;
+	private static final int ATRIBUICAO = 7;
+	private static final int PARA = 8;
+	private static final int REPITA = 9;
+	private static final int ESCOLHA = 10;
+	private static final int SKIP = 11;
+	private static final int INTEIRO = 20;
+	private static final int ID = 21;
+	private static final int LEIA = 22;
+	private static final int SOMA = 23;
+	private static final int SUB = 24;
+	private static final int MULT = 25;
+	private static final int DIV = 26;
+	private static final int POT = 27;
+	private static final int INTEIRO_GRANDE = 28;
+	private static final int BOOLEANO = 40;
+	private static final int IGUAL = 41;
+	private static final int DIFERENTE = 42;
+	private static final int MENORIGUAL = 43;
+	private static final int MAIORIGUAL = 44;
+	private static final int MENOR = 45;
+	private static final int MAIOR = 46;
+	private static final int NAO = 47;
+	private static final int E = 48;
+	private static final int OU = 49;
+	private static final int XOR = 50;
+
+	/*
+	  Programa do script, do cache quando possível. Devolve null se o
+	  arquivo não pode ser lido; o Principal então segue o caminho normal.
+	 */
+	static Programa construa(String arq, Contexto contexto) {
+		final Path script;
+		final byte[] fonte;
+		try {
+			script = Path.of(arq).toAbsolutePath();
+			fonte = Files.readAllBytes(script);
+		} catch (IOException | InvalidPathException e) {
+			return null;
+		}
+		final byte[] resumo = resumo(fonte);
+		final Path entrada = script.resolveSibling(DIRETORIO).resolve(script.getFileName() + ".bin");
+		final Programa guardado = carregue(entrada, resumo, contexto);
+		if (guardado != null) return guardado;
+
+		final CharStream input = CharStreams.fromString(new String(fonte, StandardCharsets.UTF_8));
+		final List<String> errosLexicos = new ArrayList<>();
+		final long lidos = contexto.entrada.lidos();
+		final Programa programa;
+		try {
+			programa = Principal.construaSLL(input, errosLexicos, contexto);
+		} catch (ParseCancellationException e) {
+			input.seek(0);
+			return Principal.construaLL(input, contexto);
+		}
+		errosLexicos.forEach(contexto.erros::println);
+		if (contexto.entrada.lidos() == lidos) guarde(entrada, resumo, errosLexicos, programa);
+		return programa;
+	}
+
+	private static byte[] resumo(byte[] fonte) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(fonte);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Programa carregue(Path entrada, byte[] resumo, Contexto contexto) {
+		if (!Files.isRegularFile(entrada)) return null;
+		try (InputStream in = new BufferedInputStream(Files.newInputStream(entrada))) {
+			final DataInputStream dados = new DataInputStream(in);
+			if (dados.readInt() != MAGICO || dados.readInt() != VERSAO) return null;
+			final byte[] guardado = new byte[resumo.length];
+			dados.readFully(guardado);
+			if (!Arrays.equals(guardado, resumo)) return null;
+			final Leitor leitor = new Leitor(dados);
+			final Programa programa = leitor.programa();
+			leitor.errosLexicos.forEach(contexto.erros::println);
+			return programa;
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/*
+	  Grava num temporário e troca de uma vez, para que outra execução do
+	  mesmo script nunca leia uma entrada pela metade. Sem permissão para
+	  escrever, o programa simplesmente não fica guardado.
+	 */
+	private static void guarde(Path entrada, byte[] resumo, List<String> errosLexicos, Programa programa) {
+		Path temporario = null;
+		try {
+			Files.createDirectories(entrada.getParent());
+			temporario = Files.createTempFile(entrada.getParent(), entrada.getFileName().toString(), ".tmp");
+			try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporario))) {
+				final DataOutputStream dados = new DataOutputStream(out);
+				dados.writeInt(MAGICO);
+				dados.writeInt(VERSAO);
+				dados.write(resumo);
+				new Escritor().programa(programa, errosLexicos, dados);
+			}
+			Files.move(temporario, entrada, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | UnsupportedOperationException e) {
+			if (temporario != null) {
+				try {
+					Files.deleteIfExists(temporario);
+				} catch (IOException ignorada) {
+				}
+			}
+		}
+	}
+
+	/*
+	  Depois do cabeçalho: os erros do lexer, os nomes das variáveis (os
+	  símbolos só valem na tabela de Simbolos do programa) e a árvore em
+	  pré-ordem, cada nó com sua marca seguida dos filhos.
+	 */
+	private static class Escritor {
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		private final DataOutputStream arvore = new DataOutputStream(bytes);
+		private final Map<Integer, Integer> locais = new HashMap<>();
+		private final List<String> nomes = new ArrayList<>();
+		private Simbolos tabela;
+
+		// a árvore vai primeiro para a memória, porque os nomes só são conhecidos no fim
+		void programa(Programa programa, List<String> errosLexicos, DataOutputStream dados) throws IOException {
+			tabela = programa.simbolos;
+			comandos(programa.comandos);
+			numero(dados, errosLexicos.size());
+			for (String erro : errosLexicos) texto(dados, erro);
+			numero(dados, nomes.size());
+			for (String nome : nomes) texto(dados, nome);
+			bytes.writeTo(dados);
+		}
+
+		private static void texto(DataOutputStream dados, String texto) throws IOException {
+			final byte[] b = texto.getBytes(StandardCharsets.UTF_8);
+			numero(dados, b.length);
+			dados.write(b);
+		}
+
+		// sem sinal, sete bits por byte; os valores com sinal passam antes pelo zigzag
+		private static void numero(DataOutputStream dados, int v) throws IOException {
+			while ((v & ~0x7F) != 0) {
+				dados.writeByte(v & 0x7F | 0x80);
+				v >>>= 7;
+			}
+			dados.writeByte(v);
+		}
+
+		private void inteiro(int v) throws IOException {
+			numero(arvore, v << 1 ^ v >> 31);
+		}
+
+		private void longo(long v) throws IOException {
+			long z = v << 1 ^ v >> 63;
+			while ((z & ~0x7FL) != 0) {
+				arvore.writeByte((int) (z & 0x7F | 0x80));
+				z >>>= 7;
+			}
+			arvore.writeByte((int) z);
+		}
+
+		private void simbolo(int simbolo) throws IOException {
+			Integer local = locais.get(simbolo);
+			if (local == null) {
+				local = nomes.size();
+				locais.put(simbolo, local);
+				nomes.add(tabela.nome(simbolo));
+			}
+			numero(arvore, local);
+		}
+
+		private void comandos(List<Comando> comandos) throws IOException {
+			numero(arvore, comandos.size());
+			for (Comando c : comandos) comando(c);
+		}
+
+		private void comando(Comando c) throws IOException {
+			if (c == null) {
+				arvore.writeByte(NULO);
+			} else if (c instanceof Se se) {
+				arvore.writeByte(SE);
+				bool(se.condicao);
+				comando(se.entao);
+				comando(se.senao);
+			} else if (c instanceof Enquanto e) {
+				arvore.writeByte(ENQUANTO);
+				bool(e.condicao);
+				comando(e.comando);
+			} else if (c instanceof Escreva e) {
+				arvore.writeByte(ESCREVA);
+				expressao(e.exp);
+			} else if (c instanceof Exiba e) {
+				if (e.conteudo instanceof String texto) {
+					arvore.writeByte(EXIBA_TEXTO);
+					texto(arvore, texto);
+				} else {
+					arvore.writeByte(EXIBA);
+					expressao((Expressao) e.conteudo);
+				}
+			} else if (c instanceof Bloco b) {
+				arvore.writeByte(BLOCO);
+				comandos(b.comandos);
+			} else if (c instanceof Atribuicao a) {
+				arvore.writeByte(ATRIBUICAO);
+				numero(arvore, a.simbolos.length);
+				for (int s : a.simbolos) simbolo(s);
+				numero(arvore, a.exps.size());
+				for (Expressao exp : a.exps) expressao(exp);
+			} else if (c instanceof Para p) {
+				arvore.writeByte(PARA);
+				simbolo(p.simbolo);
+				expressao(p.de);
+				expressao(p.ate);
+				expressao(p.passo);
+				comando(p.comando);
+			} else if (c instanceof Repita r) {
+				arvore.writeByte(REPITA);
+				expressao(r.vezes);
+				comando(r.comando);
+			} else if (c instanceof Escolha e) {
+				arvore.writeByte(ESCOLHA);
+				expressao(e.expressao);
+				comando(e.padrao);
+				numero(arvore, e.casos.size());
+				for (Map.Entry<Integer, Comando> caso : e.casos.entrySet()) {
+					inteiro(caso.getKey());
+					comando(caso.getValue());
+				}
+			} else if (c instanceof Skip) {
+				arvore.writeByte(SKIP);
+			} else {
+				throw new IllegalArgumentException("Comando desconhecido: " + c.getClass().getSimpleName());
+			}
+		}
+
+		private void expressao(Expressao e) throws IOException {
+			if (e == null) {
+				arvore.writeByte(NULO);
+			} else if (e instanceof Inteiro i) {
+				arvore.writeByte(INTEIRO);
+				longo(i.valor);
+			} else if (e instanceof InteiroGrande i) {
+				arvore.writeByte(INTEIRO_GRANDE);
+				texto(arvore, i.valor.toString());
+			} else if (e instanceof Id id) {
+				arvore.writeByte(ID);
+				simbolo(id.simbolo);
+			} else if (e instanceof Leia) {
+				arvore.writeByte(LEIA);
+			} else if (e instanceof OpBin<?> o) {
+				if (o instanceof ExpSoma) arvore.writeByte(SOMA);
+				else if (o instanceof ExpSub) arvore.writeByte(SUB);
+				else if (o instanceof ExpMult) arvore.writeByte(MULT);
+				else if (o instanceof ExpDiv) arvore.writeByte(DIV);
+				else if (o instanceof ExpPot) arvore.writeByte(POT);
+				else throw new IllegalArgumentException("Expressão desconhecida: " + o.getClass().getSimpleName());
+				expressao((Expressao) o.esq);
+				expressao((Expressao) o.dir);
+			} else {
+				throw new IllegalArgumentException("Expressão desconhecida: " + e.getClass().getSimpleName());
+			}
+		}
+
+		private void bool(Bool b) throws IOException {
+			if (b == null) {
+				arvore.writeByte(NULO);
+			} else if (b instanceof Booleano v) {
+				arvore.writeByte(BOOLEANO);
+				arvore.writeBoolean(v.valor);
+			} else if (b instanceof NaoLogico n) {
+				arvore.writeByte(NAO);
+				bool(n.operando);
+			} else if (b instanceof ELogico || b instanceof OuLogico || b instanceof XorLogico) {
+				final OpBin<?> o = (OpBin<?>) b;
+				arvore.writeByte(b instanceof ELogico ? E : b instanceof OuLogico ? OU : XOR);
+				bool((Bool) o.esq);
+				bool((Bool) o.dir);
+			} else if (b instanceof OpBin<?> o) {
+				if (o instanceof ExpIgual) arvore.writeByte(IGUAL);
+				else if (o instanceof ExpDiferente) arvore.writeByte(DIFERENTE);
+				else if (o instanceof ExpMenorIgual) arvore.writeByte(MENORIGUAL);
+				else if (o instanceof ExpMaiorIgual) arvore.writeByte(MAIORIGUAL);
+				else if (o instanceof ExpMenor) arvore.writeByte(MENOR);
+				else if (o instanceof ExpMaior) arvore.writeByte(MAIOR);
+				else throw new IllegalArgumentException("Booleano desconhecido: " + o.getClass().getSimpleName());
+				expressao((Expressao) o.esq);
+				expressao((Expressao) o.dir);
+			} else {
+				throw new IllegalArgumentException("Booleano desconhecido: " + b.getClass().getSimpleName());
+			}
+		}
+	}
+
+	/*
+	  Refaz a árvore com os mesmos construtores e fábricas das Regras, então
+	  as versões especializadas escolhidas ao construir são as mesmas.
+	 */
+	private static class Leitor {
+		private final DataInputStream dados;
+		final List<String> errosLexicos = new ArrayList<>();
+		private final Simbolos tabela = new Simbolos();
+		private int[] simbolos;
+
+		Leitor(DataInputStream dados) {
+			this.dados = dados;
+		}
+
+		Programa programa() throws IOException {
+			final int erros = numero();
+			for (int i = 0; i < erros; i++) errosLexicos.add(texto());
+			simbolos = new int[numero()];
+			for (int i = 0; i < simbolos.length; i++) simbolos[i] = tabela.simbolo(texto());
+			final Programa programa = new Programa(comandos(), 0, tabela);
+			if (dados.read() != -1) throw new IOException("Dados depois do programa");
+			return programa;
+		}
+
+		private int numero() throws IOException {
+			int v = 0;
+			for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+				final int b = dados.readUnsignedByte();
+				v |= (b & 0x7F) << deslocamento;
+				if (b < 0x80) return v;
+			}
+			throw new IOException("Número inválido");
+		}
+
+		private int inteiro() throws IOException {
+			final int v = numero();
+			return v >>> 1 ^ -(v & 1);
+		}
+
+		private long longo() throws IOException {
+			long v = 0;
+			for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+				final int b = dados.readUnsignedByte();
+				v |= (long) (b & 0x7F) << deslocamento;
+				if (b < 0x80) return v >>> 1 ^ -(v & 1);
+			}
+			throw new IOException("Número inválido");
+		}
+
+		private String texto() throws IOException {
+			final byte[] b = new byte[numero()];
+			dados.readFully(b);
+			return new String(b, StandardCharsets.UTF_8);
+		}
+
+		private int simbolo() throws IOException {
+			return simbolos[numero()];
+		}
+
+		private List<Comando> comandos() throws IOException {
+			final int n = numero();
+			final List<Comando> comandos = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) comandos.add(comando());
+			return comandos;
+		}
+
+		private Comando comando() throws IOException {
+			final int marca = dados.readUnsignedByte();
+			switch (marca) {
+				case NULO:
+					return null;
+				case SE:
+					return new Se(bool(), comando(), comando());
+				case ENQUANTO:
+					return new Enquanto(bool(), comando());
+				case ESCREVA:
+					return new Escreva(expressao());
+				case EXIBA:
+					return new Exiba(expressao());
+				case EXIBA_TEXTO: {
+					final String texto = texto();
+					return new Exiba(texto, Saida.linha(texto));
+				}
+				case BLOCO:
+					return new Bloco(comandos());
+				case ATRIBUICAO: {
+					final int[] ids = new int[numero()];
+					for (int i = 0; i < ids.length; i++) ids[i] = simbolo();
+					final int n = numero();
+					final List<Expressao> exps = new ArrayList<>(n);
+					for (int i = 0; i < n; i++) exps.add(expressao());
+					return Regras.atribuicao(ids, exps);
+				}
+				case PARA:
+					return new Para(simbolo(), expressao(), expressao(), expressao(), comando());
+				case REPITA:
+					return new Repita(expressao(), comando());
+				case ESCOLHA: {
+					final Expressao exp = expressao();
+					final Comando padrao = comando();
+					final int n = numero();
+					final Map<Integer, Comando> casos = new LinkedHashMap<>();
+					for (int i = 0; i < n; i++) casos.put(inteiro(), comando());
+					return Regras.escolha(exp, casos, padrao);
+				}
+				case SKIP:
+					return Linguagem.skip;
+				default:
+					throw new IOException("Comando inválido: " + marca);
+			}
+		}
+
+		private Expressao expressao() throws IOException {
+			final int marca = dados.readUnsignedByte();
+			switch (marca) {
+				case NULO:
+					return null;
+				case INTEIRO:
+					return new Inteiro(longo());
+				case INTEIRO_GRANDE:
+					return new InteiroGrande(new BigInteger(texto()));
+				case ID:
+					return new Id(simbolo());
+				case LEIA:
+					return Linguagem.leia;
+				case SOMA:
+					return new ExpSoma(expressao(), expressao());
+				case SUB:
+					return new ExpSub(expressao(), expressao());
+				case MULT:
+					return new ExpMult(expressao(), expressao());
+				case DIV:
+					return new ExpDiv(expressao(), expressao());
+				case POT:
+					return Regras.potencia(expressao(), expressao());
+				default:
+					throw new IOException("Expressão inválida: " + marca);
+			}
+		}
+
+		private Bool bool() throws IOException {
+			final int marca = dados.readUnsignedByte();
+			switch (marca) {
+				case NULO:
+					return null;
+				case BOOLEANO:
+					return new Booleano(dados.readBoolean());
+				case IGUAL:
+					return new ExpIgual(expressao(), expressao());
+				case DIFERENTE:
+					return new ExpDiferente(expressao(), expressao());
+				case MENORIGUAL:
+					return new ExpMenorIgual(expressao(), expressao());
+				case MAIORIGUAL:
+					return new ExpMaiorIgual(expressao(), expressao());
+				case MENOR:
+					return new ExpMenor(expressao(), expressao());
+				case MAIOR:
+					return new ExpMaior(expressao(), expressao());
+				case NAO:
+					return new NaoLogico(bool());
+				case E:
+					return new ELogico(bool(), bool());
+				case OU:
+					return new OuLogico(bool(), bool());
+				case XOR:
+					return new XorLogico(bool(), bool());
+				default:
+					throw new IOException("Booleano inválido: " + marca);
+			}
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package plp.enquanto;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+  Cliente do modo --daemon. Não constrói nem executa nada: manda os
+  argumentos ao Servidor, com os caminhos relativos já resolvidos,
+  repassa a entrada padrão e copia os trechos de saída e de erros que
+  voltam. O status de saída é o do programa no servidor.
+ */
+class Cliente {
+
+	static int execute(Path soquete, List<String> args) {
+		final List<String> pedido = new ArrayList<>();
+		boolean temArquivo = false;
+		for (int i = 0; i < args.size(); i++) {
+			final String arg = args.get(i);
+			pedido.add(arg);
+			if (arg.equals("--input") || arg.equals("--output")) {
+				if (++i < args.size()) pedido.add(absoluto(args.get(i)));
+			} else if (arg.equals("--buffer-size")) {
+				if (++i < args.size()) pedido.add(args.get(i));
+			} else if (!arg.startsWith("--")) {
+				pedido.set(pedido.size() - 1, absoluto(arg));
+				temArquivo = true;
+			}
+		}
+		if (!temArquivo) pedido.add(absoluto(Principal.pergunteArquivo()));
+
+		final SocketChannel canal;
+		try {
+			canal = SocketChannel.open(UnixDomainSocketAddress.of(soquete));
+		} catch (IOException e) {
+			throw new Principal.OpcaoInvalida("Servidor indisponível em " + soquete + ": " + e.getMessage());
+		}
+		try (canal) {
+			final DataOutputStream envio = new DataOutputStream(new BufferedOutputStream(Servidor.saida(canal)));
+			envio.writeInt(pedido.size());
+			for (String arg : pedido) envio.writeUTF(arg);
+			envio.flush();
+
+			final Thread entrada = new Thread(() -> repasse(System.in, envio, canal), "enquanto-entrada");
+			entrada.setDaemon(true);
+			entrada.start();
+
+			final DataInputStream resposta = new DataInputStream(new BufferedInputStream(Servidor.entrada(canal)));
+			byte[] bytes = new byte[8192];
+			while (true) {
+				final int tipo = resposta.readUnsignedByte();
+				if (tipo == Servidor.FIM) return resposta.readInt();
+				final int tamanho = resposta.readInt();
+				if (tamanho > bytes.length) bytes = new byte[tamanho];
+				resposta.readFully(bytes, 0, tamanho);
+				final PrintStream destino = tipo == Servidor.ERROS ? System.err : System.out;
+				destino.write(bytes, 0, tamanho);
+				destino.flush();
+			}
+		} catch (IOException e) {
+			System.err.println("Conexão com o servidor interrompida: " + e.getMessage());
+			return 1;
+		}
+	}
+
+	private static String absoluto(String caminho) {
+		return Path.of(caminho).toAbsolutePath().toString();
+	}
+
+	// até o fim da entrada, que o servidor vê como fim da leitura do canal
+	private static void repasse(InputStream origem, OutputStream envio, SocketChannel canal) {
+		final byte[] bytes = new byte[8192];
+		try {
+			int lidos;
+			while ((lidos = origem.read(bytes)) >= 0) {
+				envio.write(bytes, 0, lidos);
+				envio.flush();
+			}
+			canal.shutdownOutput();
+		} catch (IOException e) {
+			// o programa terminou e o servidor fechou a conexão
+		}
+	}
+}
@@ -0,0 +1,801 @@
+package plp.enquanto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Traduz um Programa já resolvido (variáveis em slots) para uma classe da
+  JVM que implementa Comando. Cada slot vira uma variável local do método
+  execute(Contexto), que lê e escreve pelo contexto recebido, e a classe
+  é carregada como classe oculta no pacote plp.enquanto, de modo que o
+  JIT da HotSpot a compila como código Java comum. O arquivo de classe é gerado na versão 49, que não exige a tabela
+  StackMapTable.
+
+  Os valores são long, e cada variável ocupa duas posições locais. Os que
+  não cabem em 64 bits seguem o protocolo de Numeros: a marca GRANDE na
+  pilha da JVM e o BigInteger na pilha do contexto, ou em
+  contexto.grandes quando está numa variável.
+ */
+class CompiladorJvm {
+	private static final String CLASSE = "plp/enquanto/ProgramaCompilado";
+	private static final String SUPORTE = "plp/enquanto/CompiladorJvm";
+	private static final String CONTEXTO = "plp/enquanto/Contexto";
+	private static final String NUMEROS = "plp/enquanto/Numeros";
+	// local 0 é this e 1 é o contexto; as variáveis vêm em seguida, duas posições cada
+	private static final int VARIAVEIS = 2;
+
+	static class NaoCompilavel extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		NaoCompilavel(String motivo) {
+			super(motivo);
+		}
+	}
+
+	// um filho nulo é o que sobra de um erro de sintaxe
+	private static String nome(Object no) {
+		return no == null ? "ausente" : no.getClass().getSimpleName();
+	}
+
+	/*
+	  Devolve um programa equivalente cujo único comando é a classe gerada.
+	  Se alguma parte do programa não puder ser compilada, devolve o
+	  programa original para ser executado pelo interpretador.
+	 */
+	static Programa compile(Programa programa, PrintStream erros) {
+		try {
+			final CompiladorJvm gerador = new CompiladorJvm(programa);
+			final byte[] bytes = gerador.gere();
+			final MethodHandles.Lookup oculta = MethodHandles.lookup().defineHiddenClass(bytes, true);
+			oculta.findStaticVarHandle(oculta.lookupClass(), "textos", byte[][].class)
+					.set(gerador.linhas.toArray(new byte[0][]));
+			oculta.findStaticVarHandle(oculta.lookupClass(), "grandes", BigInteger[].class)
+					.set(gerador.grandes.toArray(new BigInteger[0]));
+			final Comando comando = (Comando) oculta.findConstructor(oculta.lookupClass(),
+					MethodType.methodType(void.class)).invoke();
+			// com as variáveis, para que o contexto tenha onde guardar os grandes delas
+			return new Programa(List.of(comando), programa.variaveis, programa.simbolos);
+		} catch (NaoCompilavel e) {
+			erros.println("Compilação para a JVM indisponível (" + e.getMessage() + "); usando o interpretador.");
+			return programa;
+		} catch (Throwable e) {
+			erros.println("Falha ao carregar o programa compilado (" + e + "); usando o interpretador.");
+			return programa;
+		}
+	}
+
+	/*
+	  Rotinas chamadas pelo código gerado
+	 */
+	static void escreva(long valor, Contexto contexto) {
+		contexto.escreva(valor);
+	}
+
+	static void exiba(byte[] linha, Contexto contexto) {
+		contexto.saida.escrevaLinha(linha);
+	}
+
+	static long leia(Contexto contexto) {
+		return Linguagem.leia.getValor(contexto);
+	}
+
+	static boolean vazio(long de, long ate, long passo) {
+		return Para.vazio(de, ate, passo);
+	}
+
+	static long ultimo(long de, long ate, long passo) {
+		return Para.ultimo(de, ate, passo);
+	}
+
+	// leitura de variável: o grande dela vai para a pilha do contexto
+	static long variavel(long valor, Contexto contexto, int slot) {
+		if (valor == Numeros.GRANDE) contexto.empilhe(contexto.grandes[slot]);
+		return valor;
+	}
+
+	// escrita de variável: o grande sai da pilha do contexto para o slot
+	static long guarde(long valor, Contexto contexto, int slot) {
+		if (valor == Numeros.GRANDE) contexto.grandes[slot] = contexto.desempilhe();
+		return valor;
+	}
+
+	static long grande(BigInteger valor, Contexto contexto) {
+		contexto.empilhe(valor);
+		return Numeros.GRANDE;
+	}
+
+	// o valor do escolha para o lookupswitch; fora dos 32 bits vira um valor sem caso
+	static int chave(long valor, int fora, Contexto contexto) {
+		Numeros.descarte(valor, contexto);
+		return valor == (int) valor ? (int) valor : fora;
+	}
+
+	private final Programa programa;
+	private final ConstantPool constantes = new ConstantPool();
+	private final Codigo codigo = new Codigo();
+	private final List<byte[]> linhas = new ArrayList<>();
+	private final List<BigInteger> grandes = new ArrayList<>();
+	private int locais;
+
+	private CompiladorJvm(Programa programa) {
+		this.programa = programa;
+		this.locais = VARIAVEIS + 2 * programa.variaveis;
+	}
+
+	// um long, duas posições
+	private int temporaria() {
+		final int t = locais;
+		locais += 2;
+		return t;
+	}
+
+	private static int local(int slot) {
+		return VARIAVEIS + 2 * slot;
+	}
+
+	private byte[] gere() throws IOException {
+		// variáveis ainda não atribuídas valem 0, como no interpretador
+		for (int slot = 0; slot < programa.variaveis; slot++) {
+			codigo.op(LCONST_0);
+			codigo.local(LSTORE, local(slot));
+		}
+		for (Comando c : programa.comandos) comando(c);
+		codigo.op(RETURN);
+		if (codigo.tamanho() > 0xFFFF) throw new NaoCompilavel("método execute() maior que 64KB");
+		if (locais > 0xFFFF) throw new NaoCompilavel("variáveis demais");
+
+		final int thisClass = constantes.classe(CLASSE);
+		final int superClass = constantes.classe("java/lang/Object");
+		final int interfaceComando = constantes.classe("plp/enquanto/Linguagem$Comando");
+		final int init = constantes.utf8("<init>");
+		final int execute = constantes.utf8("execute");
+		final int vazio = constantes.utf8("()V");
+		final int tipoExecute = constantes.utf8("(L" + CONTEXTO + ";)V");
+		final int code = constantes.utf8("Code");
+		final int textos = constantes.utf8("textos");
+		final int tipoTextos = constantes.utf8("[[B");
+		final int campoGrandes = constantes.utf8("grandes");
+		final int tipoGrandes = constantes.utf8("[Ljava/math/BigInteger;");
+		final int superInit = constantes.metodo("java/lang/Object", "<init>", "()V");
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(0xCAFEBABE);
+		out.writeShort(0);
+		out.writeShort(49);
+		constantes.escreva(out);
+		out.writeShort(0x0001 | 0x0010 | 0x0020); // public final super
+		out.writeShort(thisClass);
+		out.writeShort(superClass);
+		out.writeShort(1);
+		out.writeShort(interfaceComando);
+		out.writeShort(2); // campos
+		out.writeShort(0x0001 | 0x0008); // public static byte[][] textos
+		out.writeShort(textos);
+		out.writeShort(tipoTextos);
+		out.writeShort(0);
+		out.writeShort(0x0001 | 0x0008); // public static BigInteger[] grandes
+		out.writeShort(campoGrandes);
+		out.writeShort(tipoGrandes);
+		out.writeShort(0);
+		out.writeShort(2); // métodos
+
+		// public <init>() { super(); }
+		out.writeShort(0x0001);
+		out.writeShort(init);
+		out.writeShort(vazio);
+		out.writeShort(1);
+		out.writeShort(code);
+		out.writeInt(12 + 5);
+		out.writeShort(1);
+		out.writeShort(1);
+		out.writeInt(5);
+		out.writeByte(ALOAD_0);
+		out.writeByte(INVOKESPECIAL);
+		out.writeShort(superInit);
+		out.writeByte(RETURN);
+		out.writeShort(0);
+		out.writeShort(0);
+
+		// public void execute(Contexto contexto) { ... }
+		final byte[] corpo = codigo.bytes();
+		out.writeShort(0x0001);
+		out.writeShort(execute);
+		out.writeShort(tipoExecute);
+		out.writeShort(1);
+		out.writeShort(code);
+		out.writeInt(12 + corpo.length);
+		out.writeShort(codigo.maxPilha);
+		out.writeShort(locais);
+		out.writeInt(corpo.length);
+		out.write(corpo);
+		out.writeShort(0);
+		out.writeShort(0);
+
+		out.writeShort(0); // atributos da classe
+		return bytes.toByteArray();
+	}
+
+	/*
+	  Comandos
+	 */
+	private void comando(Comando c) {
+		if (c instanceof Bloco b) {
+			for (Comando cmd : b.comandos) comando(cmd);
+		} else if (c instanceof Skip) {
+			// nada a fazer
+		} else if (c instanceof Escreva e) {
+			expressao(e.exp);
+			codigo.contexto();
+			codigo.invoke(constantes.metodo(SUPORTE, "escreva", "(JL" + CONTEXTO + ";)V"), -3);
+		} else if (c instanceof Exiba e) {
+			if (e.conteudo instanceof Expressao exp) {
+				expressao(exp);
+				codigo.contexto();
+				codigo.invoke(constantes.metodo(SUPORTE, "escreva", "(JL" + CONTEXTO + ";)V"), -3);
+			} else {
+				// textos já codificados ficam no campo estático textos da classe gerada
+				linhas.add(e.linha);
+				codigo.getstatic(constantes.campo(CLASSE, "textos", "[[B"));
+				codigo.constante(linhas.size() - 1);
+				codigo.op(AALOAD);
+				codigo.contexto();
+				codigo.invoke(constantes.metodo(SUPORTE, "exiba", "([BL" + CONTEXTO + ";)V"), -2);
+			}
+		} else if (c instanceof AtribuicaoLocal a) {
+			atribuicao(a);
+		} else if (c instanceof Se se) {
+			final Rotulo senao = new Rotulo();
+			final Rotulo fim = new Rotulo();
+			seFalso(se.condicao, senao);
+			comando(se.entao);
+			codigo.salto(GOTO, fim);
+			codigo.marque(senao);
+			comando(se.senao);
+			codigo.marque(fim);
+		} else if (c instanceof Enquanto e) {
+			final Rotulo inicio = new Rotulo();
+			final Rotulo fim = new Rotulo();
+			codigo.marque(inicio);
+			seFalso(e.condicao, fim);
+			comando(e.comando);
+			codigo.salto(GOTO, inicio);
+			codigo.marque(fim);
+		} else if (c instanceof ParaLocal p) {
+			// mesmo esquema do interpretador: o laço termina ao passar pelo último valor
+			final int i = temporaria();
+			final int limite = temporaria();
+			final int passo = temporaria();
+			final int ultimo = temporaria();
+			final Rotulo inicio = new Rotulo();
+			final Rotulo sai = new Rotulo();
+			final Rotulo fim = new Rotulo();
+			contagem(p.de);
+			codigo.local(LSTORE, i);
+			contagem(p.ate);
+			codigo.local(LSTORE, limite);
+			contagem(p.passo);
+			codigo.local(LSTORE, passo);
+			codigo.local(LLOAD, i);
+			codigo.local(LLOAD, limite);
+			codigo.local(LLOAD, passo);
+			codigo.invoke(constantes.metodo(SUPORTE, "vazio", "(JJJ)Z"), -5);
+			codigo.salto(IFNE, fim);
+			codigo.local(LLOAD, i);
+			codigo.local(LLOAD, limite);
+			codigo.local(LLOAD, passo);
+			codigo.invoke(constantes.metodo(SUPORTE, "ultimo", "(JJJ)J"), -4);
+			codigo.local(LSTORE, ultimo);
+			codigo.marque(inicio);
+			if (p.visivel) {
+				codigo.local(LLOAD, i);
+				codigo.local(LSTORE, local(p.slot));
+			}
+			comando(p.comando);
+			codigo.local(LLOAD, i);
+			codigo.local(LLOAD, ultimo);
+			codigo.op(LCMP);
+			codigo.salto(IFEQ, sai);
+			codigo.local(LLOAD, i);
+			codigo.local(LLOAD, passo);
+			codigo.op(LADD);
+			codigo.local(LSTORE, i);
+			codigo.salto(GOTO, inicio);
+			codigo.marque(sai);
+			if (!p.visivel) {
+				codigo.local(LLOAD, i);
+				codigo.local(LSTORE, local(p.slot));
+			}
+			codigo.marque(fim);
+		} else if (c instanceof Repita r) {
+			final int vezes = temporaria();
+			final int i = temporaria();
+			final Rotulo inicio = new Rotulo();
+			final Rotulo fim = new Rotulo();
+			contagem(r.vezes);
+			codigo.local(LSTORE, vezes);
+			codigo.op(LCONST_0);
+			codigo.local(LSTORE, i);
+			codigo.marque(inicio);
+			codigo.local(LLOAD, i);
+			codigo.local(LLOAD, vezes);
+			codigo.op(LCMP);
+			codigo.salto(IFGE, fim);
+			comando(r.comando);
+			codigo.local(LLOAD, i);
+			codigo.op(LCONST_1);
+			codigo.op(LADD);
+			codigo.local(LSTORE, i);
+			codigo.salto(GOTO, inicio);
+			codigo.marque(fim);
+		} else if (c instanceof Escolha e) {
+			escolha(e);
+		} else {
+			throw new NaoCompilavel("comando " + nome(c));
+		}
+	}
+
+	// valor de de, ate, passo ou vezes, que precisa caber em 64 bits
+	private void contagem(Expressao e) {
+		expressao(e);
+		codigo.contexto();
+		codigo.invoke(constantes.metodo(NUMEROS, "contagem", "(JL" + CONTEXTO + ";)J"), -1);
+	}
+
+	/*
+	  Todas as expressões são empilhadas antes da primeira escrita. As
+	  escritas saem em ordem inversa, descartando as que seriam sobrescritas
+	  por um destino repetido mais à direita; os grandes saem da pilha do
+	  contexto na mesma ordem inversa.
+	 */
+	private void atribuicao(AtribuicaoLocal a) {
+		final int n = Math.min(a.slots.length, a.exps.size());
+		for (Expressao e : a.exps) expressao(e);
+		for (int i = a.exps.size(); i > n; i--) descarte();
+		for (int i = n - 1; i >= 0; i--) {
+			boolean sobrescrita = false;
+			for (int j = i + 1; j < n; j++) {
+				if (a.slots[j] == a.slots[i]) sobrescrita = true;
+			}
+			if (sobrescrita) {
+				descarte();
+			} else {
+				codigo.contexto();
+				inteiro(a.slots[i]);
+				codigo.invoke(constantes.metodo(SUPORTE, "guarde", "(JL" + CONTEXTO + ";I)J"), -2);
+				codigo.local(LSTORE, local(a.slots[i]));
+			}
+		}
+	}
+
+	private void descarte() {
+		codigo.contexto();
+		codigo.invoke(constantes.metodo(NUMEROS, "descarte", "(JL" + CONTEXTO + ";)V"), -3);
+	}
+
+	private void escolha(Escolha e) {
+		final Rotulo fim = new Rotulo();
+		final Rotulo padrao = new Rotulo();
+		final TreeMap<Integer, Rotulo> rotulos = new TreeMap<>();
+		final Map<Rotulo, Comando> corpos = new HashMap<>();
+		for (Map.Entry<Integer, Comando> caso : e.casos.entrySet()) {
+			final Rotulo r = new Rotulo();
+			rotulos.put(caso.getKey(), r);
+			corpos.put(r, caso.getValue());
+		}
+		// um int sem caso, para os valores fora dos 32 bits
+		int fora = Integer.MIN_VALUE;
+		while (rotulos.containsKey(fora)) fora++;
+		expressao(e.expressao);
+		inteiro(fora);
+		codigo.contexto();
+		codigo.invoke(constantes.metodo(SUPORTE, "chave", "(JIL" + CONTEXTO + ";)I"), -3);
+		codigo.lookupswitch(padrao, rotulos);
+		for (Rotulo r : rotulos.values()) {
+			codigo.marque(r);
+			comando(corpos.get(r));
+			codigo.salto(GOTO, fim);
+		}
+		codigo.marque(padrao);
+		if (e.padrao != null) comando(e.padrao);
+		codigo.marque(fim);
+	}
+
+	/*
+	  Expressões
+	 */
+	private void expressao(Expressao e) {
+		if (e instanceof Inteiro i) {
+			if (i.valor == 0 || i.valor == 1) {
+				codigo.op(i.valor == 0 ? LCONST_0 : LCONST_1);
+			} else if (i.valor >= Short.MIN_VALUE && i.valor <= Short.MAX_VALUE) {
+				codigo.constante((int) i.valor);
+				codigo.op(I2L);
+			} else {
+				codigo.ldc2(constantes.longo(i.valor));
+			}
+		} else if (e instanceof InteiroGrande i) {
+			grandes.add(i.valor);
+			codigo.getstatic(constantes.campo(CLASSE, "grandes", "[Ljava/math/BigInteger;"));
+			inteiro(grandes.size() - 1);
+			codigo.op(AALOAD);
+			codigo.contexto();
+			codigo.invoke(constantes.metodo(SUPORTE, "grande", "(Ljava/math/BigInteger;L" + CONTEXTO + ";)J"), 0);
+		} else if (e instanceof IdLocal id) {
+			codigo.local(LLOAD, local(id.slot));
+			codigo.contexto();
+			inteiro(id.slot);
+			codigo.invoke(constantes.metodo(SUPORTE, "variavel", "(JL" + CONTEXTO + ";I)J"), -2);
+		} else if (e instanceof Leia) {
+			codigo.contexto();
+			codigo.invoke(constantes.metodo(SUPORTE, "leia", "(L" + CONTEXTO + ";)J"), 1);
+		} else if (e instanceof ExpSoma o) {
+			binaria(o, "soma");
+		} else if (e instanceof ExpSub o) {
+			binaria(o, "subtraia");
+		} else if (e instanceof ExpMult o) {
+			binaria(o, "multiplique");
+		} else if (e instanceof ExpDiv o) {
+			binaria(o, "divida");
+		} else if (e instanceof ExpPot o) {
+			binaria(o, "potencia");
+		} else {
+			throw new NaoCompilavel("expressão " + nome(e));
+		}
+	}
+
+	private void inteiro(int v) {
+		if (v >= Short.MIN_VALUE && v <= Short.MAX_VALUE) codigo.constante(v);
+		else codigo.ldc(constantes.inteiro(v));
+	}
+
+	// as operações de Numeros recebem os dois valores e o contexto
+	private void binaria(OpBin<Expressao> o, String operacao) {
+		expressao(o.esq);
+		expressao(o.dir);
+		codigo.contexto();
+		codigo.invoke(constantes.metodo(NUMEROS, operacao, "(JJL" + CONTEXTO + ";)J"), -3);
+	}
+
+	/*
+	  Booleanos viram desvios: seFalso salta para o rótulo quando a condição
+	  é falsa e segue adiante quando é verdadeira; seVerdadeiro faz o oposto.
+	 */
+	private void seFalso(Bool b, Rotulo alvo) {
+		if (b instanceof Booleano v) {
+			if (!v.valor) codigo.salto(GOTO, alvo);
+		} else if (b instanceof NaoLogico n) {
+			seVerdadeiro(n.operando, alvo);
+		} else if (b instanceof ELogico o) {
+			seFalso(o.esq, alvo);
+			seFalso(o.dir, alvo);
+		} else if (b instanceof OuLogico o) {
+			final Rotulo verdadeiro = new Rotulo();
+			seVerdadeiro(o.esq, verdadeiro);
+			seFalso(o.dir, alvo);
+			codigo.marque(verdadeiro);
+		} else if (b instanceof XorLogico o) {
+			xor(o);
+			codigo.salto(IFEQ, alvo);
+		} else {
+			relacao(b, alvo, true);
+		}
+	}
+
+	private void seVerdadeiro(Bool b, Rotulo alvo) {
+		if (b instanceof Booleano v) {
+			if (v.valor) codigo.salto(GOTO, alvo);
+		} else if (b instanceof NaoLogico n) {
+			seFalso(n.operando, alvo);
+		} else if (b instanceof ELogico o) {
+			final Rotulo falso = new Rotulo();
+			seFalso(o.esq, falso);
+			seVerdadeiro(o.dir, alvo);
+			codigo.marque(falso);
+		} else if (b instanceof OuLogico o) {
+			seVerdadeiro(o.esq, alvo);
+			seVerdadeiro(o.dir, alvo);
+		} else if (b instanceof XorLogico o) {
+			xor(o);
+			codigo.salto(IFNE, alvo);
+		} else {
+			relacao(b, alvo, false);
+		}
+	}
+
+	private void xor(XorLogico o) {
+		valor(o.esq);
+		valor(o.dir);
+		codigo.op(IXOR);
+	}
+
+	// empilha 1 ou 0
+	private void valor(Bool b) {
+		final Rotulo falso = new Rotulo();
+		final Rotulo fim = new Rotulo();
+		seFalso(b, falso);
+		codigo.constante(1);
+		codigo.salto(GOTO, fim);
+		codigo.pilha--;
+		codigo.marque(falso);
+		codigo.constante(0);
+		codigo.marque(fim);
+	}
+
+	private void relacao(Bool b, Rotulo alvo, boolean negada) {
+		if (!(b instanceof OpBin<?> o) || !(o.esq instanceof Expressao esq) || !(o.dir instanceof Expressao dir))
+			throw new NaoCompilavel("booleano " + nome(b));
+		// Numeros.compare deixa -1, 0 ou 1, testado contra zero
+		final int opcode;
+		if (b instanceof ExpIgual) opcode = negada ? IFNE : IFEQ;
+		else if (b instanceof ExpDiferente) opcode = negada ? IFEQ : IFNE;
+		else if (b instanceof ExpMenor) opcode = negada ? IFGE : IFLT;
+		else if (b instanceof ExpMenorIgual) opcode = negada ? IFGT : IFLE;
+		else if (b instanceof ExpMaior) opcode = negada ? IFLE : IFGT;
+		else if (b instanceof ExpMaiorIgual) opcode = negada ? IFLT : IFGE;
+		else throw new NaoCompilavel("booleano " + nome(b));
+		expressao(esq);
+		expressao(dir);
+		codigo.contexto();
+		codigo.invoke(constantes.metodo(NUMEROS, "compare", "(JJL" + CONTEXTO + ";)I"), -4);
+		codigo.salto(opcode, alvo);
+	}
+
+	/*
+	  Montagem do arquivo de classe
+	 */
+	private static final int ICONST_0 = 0x03, LCONST_0 = 0x09, LCONST_1 = 0x0a;
+	private static final int BIPUSH = 0x10, SIPUSH = 0x11, LDC = 0x12, LDC_W = 0x13, LDC2_W = 0x14;
+	private static final int LLOAD = 0x16, LSTORE = 0x37, ALOAD_0 = 0x2a, ALOAD_1 = 0x2b, AALOAD = 0x32;
+	private static final int LADD = 0x61, IXOR = 0x82, I2L = 0x85, LCMP = 0x94;
+	private static final int IFEQ = 0x99, IFNE = 0x9a, IFLT = 0x9b, IFGE = 0x9c, IFGT = 0x9d, IFLE = 0x9e;
+	private static final int GOTO = 0xa7, LOOKUPSWITCH = 0xab, RETURN = 0xb1;
+	private static final int GETSTATIC = 0xb2, INVOKESPECIAL = 0xb7, INVOKESTATIC = 0xb8, WIDE = 0xc4;
+
+	private static class Rotulo {
+		int posicao = -1;
+		final List<int[]> pendentes = new ArrayList<>(); // {instrução, posição do deslocamento, largura}
+	}
+
+	private static class Codigo {
+		private byte[] bytes = new byte[256];
+		private int tamanho;
+		int pilha;
+		int maxPilha;
+
+		int tamanho() {
+			return tamanho;
+		}
+
+		byte[] bytes() {
+			final byte[] b = new byte[tamanho];
+			System.arraycopy(bytes, 0, b, 0, tamanho);
+			return b;
+		}
+
+		private void u1(int b) {
+			if (tamanho == bytes.length) {
+				final byte[] maior = new byte[bytes.length * 2];
+				System.arraycopy(bytes, 0, maior, 0, tamanho);
+				bytes = maior;
+			}
+			bytes[tamanho++] = (byte) b;
+		}
+
+		private void u2(int v) {
+			u1(v >> 8);
+			u1(v);
+		}
+
+		private void u4(int v) {
+			u2(v >>> 16);
+			u2(v);
+		}
+
+		private void empilhe(int delta) {
+			pilha += delta;
+			maxPilha = Math.max(maxPilha, pilha);
+		}
+
+		void op(int opcode) {
+			u1(opcode);
+			switch (opcode) {
+				case LCONST_0, LCONST_1 -> empilhe(2);
+				case I2L -> empilhe(1);
+				case AALOAD, IXOR -> empilhe(-1);
+				case LADD -> empilhe(-2);
+				case LCMP -> empilhe(-3);
+				default -> { }
+			}
+		}
+
+		void constante(int v) {
+			if (v >= -1 && v <= 5) {
+				u1(ICONST_0 + v);
+			} else if (v >= Byte.MIN_VALUE && v <= Byte.MAX_VALUE) {
+				u1(BIPUSH);
+				u1(v);
+			} else if (v >= Short.MIN_VALUE && v <= Short.MAX_VALUE) {
+				u1(SIPUSH);
+				u2(v);
+			} else {
+				throw new IllegalArgumentException("constante fora do intervalo de sipush: " + v);
+			}
+			empilhe(1);
+		}
+
+		void ldc(int indice) {
+			if (indice <= 0xFF) {
+				u1(LDC);
+				u1(indice);
+			} else {
+				u1(LDC_W);
+				u2(indice);
+			}
+			empilhe(1);
+		}
+
+		void ldc2(int indice) {
+			u1(LDC2_W);
+			u2(indice);
+			empilhe(2);
+		}
+
+		void local(int opcode, int indice) {
+			if (indice > 0xFF) {
+				u1(WIDE);
+				u1(opcode);
+				u2(indice);
+			} else {
+				u1(opcode);
+				u1(indice);
+			}
+			empilhe(opcode == LLOAD ? 2 : -2);
+		}
+
+		void contexto() {
+			u1(ALOAD_1);
+			empilhe(1);
+		}
+
+		void getstatic(int campo) {
+			u1(GETSTATIC);
+			u2(campo);
+			empilhe(1);
+		}
+
+		void invoke(int metodo, int delta) {
+			u1(INVOKESTATIC);
+			u2(metodo);
+			empilhe(delta);
+		}
+
+		void salto(int opcode, Rotulo alvo) {
+			final int inicio = tamanho;
+			u1(opcode);
+			referencia(alvo, inicio, 2);
+			if (opcode != GOTO) empilhe(-1);
+		}
+
+		void lookupswitch(Rotulo padrao, TreeMap<Integer, Rotulo> casos) {
+			final int inicio = tamanho;
+			u1(LOOKUPSWITCH);
+			while (tamanho % 4 != 0) u1(0);
+			referencia(padrao, inicio, 4);
+			u4(casos.size());
+			for (Map.Entry<Integer, Rotulo> caso : casos.entrySet()) {
+				u4(caso.getKey());
+				referencia(caso.getValue(), inicio, 4);
+			}
+			empilhe(-1);
+		}
+
+		private void referencia(Rotulo alvo, int instrucao, int largura) {
+			alvo.pendentes.add(new int[] {instrucao, tamanho, largura});
+			if (largura == 2) u2(0);
+			else u4(0);
+			if (alvo.posicao >= 0) resolva(alvo);
+		}
+
+		void marque(Rotulo rotulo) {
+			rotulo.posicao = tamanho;
+			resolva(rotulo);
+		}
+
+		private void resolva(Rotulo rotulo) {
+			for (int[] p : rotulo.pendentes) {
+				final int deslocamento = rotulo.posicao - p[0];
+				if (p[2] == 2) {
+					if (deslocamento < Short.MIN_VALUE || deslocamento > Short.MAX_VALUE)
+						throw new NaoCompilavel("desvio longo demais");
+					bytes[p[1]] = (byte) (deslocamento >> 8);
+					bytes[p[1] + 1] = (byte) deslocamento;
+				} else {
+					for (int i = 0; i < 4; i++) bytes[p[1] + i] = (byte) (deslocamento >> (24 - 8 * i));
+				}
+			}
+			rotulo.pendentes.clear();
+		}
+	}
+
+	private static class ConstantPool {
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		private final DataOutputStream out = new DataOutputStream(bytes);
+		private final Map<String, Integer> indices = new HashMap<>();
+		private int proximo = 1;
+
+		private int entrada(String chave, Escrita escrita) {
+			return entrada(chave, 1, escrita);
+		}
+
+		// as constantes long ocupam duas posições
+		private int entrada(String chave, int posicoes, Escrita escrita) {
+			final Integer existente = indices.get(chave);
+			if (existente != null) return existente;
+			try {
+				escrita.escreva();
+			} catch (IOException e) {
+				throw new NaoCompilavel("constante inválida: " + e.getMessage());
+			}
+			final int indice = proximo;
+			indices.put(chave, indice);
+			proximo += posicoes;
+			if (proximo > 0xFFFF) throw new NaoCompilavel("constantes demais");
+			return indice;
+		}
+
+		int utf8(String s) {
+			return entrada("U" + s, () -> { out.writeByte(1); out.writeUTF(s); });
+		}
+
+		int inteiro(int v) {
+			return entrada("I" + v, () -> { out.writeByte(3); out.writeInt(v); });
+		}
+
+		int longo(long v) {
+			return entrada("J" + v, 2, () -> { out.writeByte(5); out.writeLong(v); });
+		}
+
+		int classe(String nome) {
+			final int n = utf8(nome);
+			return entrada("C" + nome, () -> { out.writeByte(7); out.writeShort(n); });
+		}
+
+		int metodo(String dono, String nome, String descritor) {
+			return membro(10, dono, nome, descritor);
+		}
+
+		int campo(String dono, String nome, String descritor) {
+			return membro(9, dono, nome, descritor);
+		}
+
+		private int membro(int tag, String dono, String nome, String descritor) {
+			final int c = classe(dono);
+			final int n = utf8(nome);
+			final int d = utf8(descritor);
+			final int nt = entrada("N" + nome + descritor, () -> { out.writeByte(12); out.writeShort(n); out.writeShort(d); });
+			return entrada(tag + dono + "." + nome + descritor, () -> { out.writeByte(tag); out.writeShort(c); out.writeShort(nt); });
+		}
+
+		void escreva(DataOutputStream destino) throws IOException {
+			destino.writeShort(proximo);
+			bytes.writeTo(destino);
+		}
+
+		private interface Escrita {
+			void escreva() throws IOException;
+		}
+	}
+}
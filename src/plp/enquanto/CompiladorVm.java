@@ -0,0 +1,383 @@
+package plp.enquanto;
+
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Compila um Programa já resolvido para o código da Maquina. Os registradores
+  são divididos em três faixas: as variáveis (na ordem dos slots do
+  Resolvedor), as constantes do programa (carregadas uma única vez antes da
+  execução) e os temporários, alocados em pilha durante a compilação.
+ */
+class CompiladorVm {
+
+	/*
+	  Devolve um programa equivalente executado pela Maquina. Se alguma parte
+	  do programa não puder ser compilada, devolve o programa original.
+	 */
+	static Programa compile(Programa programa, PrintStream erros) {
+		try {
+			return new Programa(List.of(new CompiladorVm(programa).gere()), 0, programa.simbolos);
+		} catch (IllegalArgumentException e) {
+			erros.println("Compilação para a máquina virtual indisponível (" + e.getMessage() + "); usando o interpretador.");
+			return programa;
+		}
+	}
+
+	static Maquina maquina(Programa programa) {
+		return new CompiladorVm(programa).gere();
+	}
+
+	// um filho nulo é o que sobra de um erro de sintaxe
+	private static String nome(Object no) {
+		return no == null ? "ausente" : no.getClass().getSimpleName();
+	}
+
+	private final Programa programa;
+	private final String[] variaveis;
+	// Long ou, para os literais além de 64 bits, BigInteger
+	private final Map<Object, Integer> constantes = new LinkedHashMap<>();
+	private final List<String> textos = new ArrayList<>();
+	private final List<byte[]> linhas = new ArrayList<>();
+	private int[] codigo = new int[64];
+	private int tamanho;
+	private int topo;
+	private int registradores;
+
+	private CompiladorVm(Programa programa) {
+		this.programa = programa;
+		this.variaveis = new String[programa.variaveis];
+		constantes.put(0L, programa.variaveis);
+		constantes.put(1L, programa.variaveis + 1);
+		new Transformador() {
+			@Override
+			protected Expressao expressao(Expressao e) {
+				if (e instanceof Inteiro i) constantes.putIfAbsent(i.valor, programa.variaveis + constantes.size());
+				if (e instanceof InteiroGrande i) constantes.putIfAbsent(i.valor, programa.variaveis + constantes.size());
+				if (e instanceof IdLocal id) variaveis[id.slot] = id.id;
+				return super.expressao(e);
+			}
+		}.transforme(programa);
+		topo = programa.variaveis + constantes.size();
+		registradores = topo;
+	}
+
+	private Maquina gere() {
+		for (Comando c : programa.comandos) comando(c);
+		emita(Maquina.FIM);
+		final long[] valores = new long[constantes.size()];
+		final BigInteger[] grandes = new BigInteger[constantes.size()];
+		int i = 0;
+		for (Object k : constantes.keySet()) {
+			if (k instanceof BigInteger g) {
+				valores[i] = Numeros.GRANDE;
+				grandes[i] = g;
+			} else {
+				valores[i] = (Long) k;
+			}
+			i++;
+		}
+		return new Maquina(Arrays.copyOf(codigo, tamanho), valores, grandes, programa.variaveis, registradores,
+				textos.toArray(new String[0]), linhas.toArray(new byte[0][]), variaveis);
+	}
+
+	private int temporario() {
+		final int r = topo++;
+		registradores = Math.max(registradores, topo);
+		return r;
+	}
+
+	private int constante(long valor) {
+		return constantes.get(valor);
+	}
+
+	private void emita(int... palavras) {
+		while (tamanho + palavras.length > codigo.length) codigo = Arrays.copyOf(codigo, codigo.length * 2);
+		for (int p : palavras) codigo[tamanho++] = p;
+	}
+
+	private static class Rotulo {
+		int posicao = -1;
+		final List<Integer> pendentes = new ArrayList<>();
+	}
+
+	// escreve a posição do rótulo na última palavra emitida (ou a registra para depois)
+	private void alvo(Rotulo rotulo) {
+		if (rotulo.posicao >= 0) codigo[tamanho - 1] = rotulo.posicao;
+		else rotulo.pendentes.add(tamanho - 1);
+	}
+
+	private void marque(Rotulo rotulo) {
+		rotulo.posicao = tamanho;
+		for (int p : rotulo.pendentes) codigo[p] = tamanho;
+		rotulo.pendentes.clear();
+	}
+
+	private void salto(Rotulo rotulo) {
+		emita(Maquina.SALTO, 0);
+		alvo(rotulo);
+	}
+
+	/*
+	  Comandos
+	 */
+	private void comando(Comando c) {
+		final int marca = topo;
+		if (c instanceof Bloco b) {
+			for (Comando cmd : b.comandos) comando(cmd);
+		} else if (c instanceof Skip) {
+			// nada a fazer
+		} else if (c instanceof Escreva e) {
+			emita(Maquina.ESCREVA, valor(e.exp));
+		} else if (c instanceof Exiba e) {
+			if (e.conteudo instanceof Expressao exp) {
+				emita(Maquina.ESCREVA, valor(exp));
+			} else {
+				textos.add(String.valueOf(e.conteudo));
+				linhas.add(e.linha);
+				emita(Maquina.EXIBA, textos.size() - 1);
+			}
+		} else if (c instanceof AtribuicaoLocal a) {
+			atribuicao(a);
+		} else if (c instanceof Se se) {
+			final Rotulo senao = new Rotulo();
+			final Rotulo fim = new Rotulo();
+			seFalso(se.condicao, senao);
+			comando(se.entao);
+			salto(fim);
+			marque(senao);
+			comando(se.senao);
+			marque(fim);
+		} else if (c instanceof Enquanto e) {
+			final Rotulo inicio = new Rotulo();
+			final Rotulo fim = new Rotulo();
+			marque(inicio);
+			seFalso(e.condicao, fim);
+			comando(e.comando);
+			salto(inicio);
+			marque(fim);
+		} else if (c instanceof ParaLocal p) {
+			final int i = temporario();
+			final int limite = temporario();
+			final int ultimo = temporario();
+			final Rotulo inicio = new Rotulo();
+			final Rotulo sai = new Rotulo();
+			final Rotulo fim = new Rotulo();
+			expressao(p.de, i);
+			expressao(p.ate, limite);
+			// uma constante pode ficar no próprio registrador; o resto é copiado antes do corpo
+			final int passo = p.passo instanceof Inteiro ? valor(p.passo) : temporario();
+			if (!(p.passo instanceof Inteiro)) expressao(p.passo, passo);
+			emita(Maquina.ULTIMO, ultimo, i, limite, passo, 0);
+			alvo(fim);
+			marque(inicio);
+			if (p.visivel) emita(Maquina.MOV, p.slot, i);
+			comando(p.comando);
+			emita(Maquina.SEIGUAL, i, ultimo, 0);
+			alvo(sai);
+			if (p.passo instanceof Inteiro k && k.valor == 1) emita(Maquina.INC, i);
+			else emita(Maquina.SOMA, i, i, passo);
+			salto(inicio);
+			marque(sai);
+			if (!p.visivel) emita(Maquina.MOV, p.slot, i);
+			marque(fim);
+		} else if (c instanceof Repita r) {
+			final int vezes = temporario();
+			final int i = temporario();
+			final Rotulo inicio = new Rotulo();
+			final Rotulo fim = new Rotulo();
+			expressao(r.vezes, vezes);
+			emita(Maquina.CONTAGEM, vezes);
+			emita(Maquina.MOV, i, constante(0));
+			marque(inicio);
+			emita(Maquina.SEMAIORIGUAL, i, vezes, 0);
+			alvo(fim);
+			comando(r.comando);
+			emita(Maquina.INC, i);
+			salto(inicio);
+			marque(fim);
+		} else if (c instanceof Escolha e) {
+			escolha(e);
+		} else {
+			throw new IllegalArgumentException("comando " + nome(c));
+		}
+		topo = marca;
+	}
+
+	/*
+	  Com um único valor, a expressão é calculada direto no registrador da
+	  variável. Com vários, todos os valores vão para temporários antes da
+	  primeira escrita, preservando a semântica da atribuição paralela.
+	 */
+	private void atribuicao(AtribuicaoLocal a) {
+		if (a.exps.size() == 1 && a.slots.length >= 1) {
+			expressao(a.exps.get(0), a.slots[0]);
+			return;
+		}
+		final int[] valores = new int[a.exps.size()];
+		for (int i = 0; i < valores.length; i++) {
+			valores[i] = temporario();
+			expressao(a.exps.get(i), valores[i]);
+		}
+		final int n = Math.min(a.slots.length, valores.length);
+		for (int i = 0; i < n; i++) {
+			emita(Maquina.MOV, a.slots[i], valores[i]);
+		}
+	}
+
+	private void escolha(Escolha e) {
+		final Rotulo fim = new Rotulo();
+		final Rotulo padrao = new Rotulo();
+		final TreeMap<Integer, Rotulo> rotulos = new TreeMap<>();
+		for (Integer chave : e.casos.keySet()) rotulos.put(chave, new Rotulo());
+		emita(Maquina.ESCOLHA, valor(e.expressao), rotulos.size(), 0);
+		alvo(padrao);
+		for (Map.Entry<Integer, Rotulo> caso : rotulos.entrySet()) {
+			emita(caso.getKey(), 0);
+			alvo(caso.getValue());
+		}
+		for (Map.Entry<Integer, Rotulo> caso : rotulos.entrySet()) {
+			marque(caso.getValue());
+			comando(e.casos.get(caso.getKey()));
+			salto(fim);
+		}
+		marque(padrao);
+		if (e.padrao != null) comando(e.padrao);
+		marque(fim);
+	}
+
+	/*
+	  Expressões
+	 */
+
+	// registrador que contém o valor, sem cópia para variáveis e constantes
+	private int valor(Expressao e) {
+		if (e instanceof IdLocal id) return id.slot;
+		if (e instanceof Inteiro i) return constante(i.valor);
+		if (e instanceof InteiroGrande i) return constantes.get(i.valor);
+		final int r = temporario();
+		expressao(e, r);
+		return r;
+	}
+
+	private void expressao(Expressao e, int destino) {
+		final int marca = topo;
+		if (e instanceof IdLocal || e instanceof Inteiro || e instanceof InteiroGrande) {
+			emita(Maquina.MOV, destino, valor(e));
+		} else if (e instanceof Leia) {
+			emita(Maquina.LEIA, destino);
+		} else if (e instanceof ExpSoma o) {
+			binaria(Maquina.SOMA, o, destino);
+		} else if (e instanceof ExpSub o) {
+			binaria(Maquina.SUB, o, destino);
+		} else if (e instanceof ExpMult o) {
+			binaria(Maquina.MULT, o, destino);
+		} else if (e instanceof ExpDiv o) {
+			binaria(Maquina.DIV, o, destino);
+		} else if (e instanceof ExpPot o) {
+			binaria(Maquina.POT, o, destino);
+		} else {
+			throw new IllegalArgumentException("expressão " + nome(e));
+		}
+		topo = marca;
+	}
+
+	private void binaria(int op, OpBin<Expressao> o, int destino) {
+		final int esq = valor(o.esq);
+		final int dir = valor(o.dir);
+		emita(op, destino, esq, dir);
+	}
+
+	/*
+	  Booleanos viram desvios condicionais, com avaliação em curto-circuito
+	  para "e" e "ou", como no interpretador.
+	 */
+	private void seFalso(Bool b, Rotulo alvo) {
+		final int marca = topo;
+		if (b instanceof Booleano v) {
+			if (!v.valor) salto(alvo);
+		} else if (b instanceof NaoLogico n) {
+			seVerdadeiro(n.operando, alvo);
+		} else if (b instanceof ELogico o) {
+			seFalso(o.esq, alvo);
+			seFalso(o.dir, alvo);
+		} else if (b instanceof OuLogico o) {
+			final Rotulo verdadeiro = new Rotulo();
+			seVerdadeiro(o.esq, verdadeiro);
+			seFalso(o.dir, alvo);
+			marque(verdadeiro);
+		} else if (b instanceof XorLogico o) {
+			emita(Maquina.SEZERO, xor(o), 0);
+			alvo(alvo);
+		} else {
+			relacao(b, alvo, true);
+		}
+		topo = marca;
+	}
+
+	private void seVerdadeiro(Bool b, Rotulo alvo) {
+		final int marca = topo;
+		if (b instanceof Booleano v) {
+			if (v.valor) salto(alvo);
+		} else if (b instanceof NaoLogico n) {
+			seFalso(n.operando, alvo);
+		} else if (b instanceof ELogico o) {
+			final Rotulo falso = new Rotulo();
+			seFalso(o.esq, falso);
+			seVerdadeiro(o.dir, alvo);
+			marque(falso);
+		} else if (b instanceof OuLogico o) {
+			seVerdadeiro(o.esq, alvo);
+			seVerdadeiro(o.dir, alvo);
+		} else if (b instanceof XorLogico o) {
+			emita(Maquina.SENAOZERO, xor(o), 0);
+			alvo(alvo);
+		} else {
+			relacao(b, alvo, false);
+		}
+		topo = marca;
+	}
+
+	private int xor(XorLogico o) {
+		final int esq = temporario();
+		final int dir = temporario();
+		valor(o.esq, esq);
+		valor(o.dir, dir);
+		emita(Maquina.XOR, esq, esq, dir);
+		return esq;
+	}
+
+	// 1 ou 0 no registrador
+	private void valor(Bool b, int destino) {
+		final Rotulo fim = new Rotulo();
+		emita(Maquina.MOV, destino, constante(1));
+		seVerdadeiro(b, fim);
+		emita(Maquina.MOV, destino, constante(0));
+		marque(fim);
+	}
+
+	private void relacao(Bool b, Rotulo alvo, boolean negada) {
+		final int op;
+		if (b instanceof ExpIgual) op = negada ? Maquina.SEDIFERENTE : Maquina.SEIGUAL;
+		else if (b instanceof ExpDiferente) op = negada ? Maquina.SEIGUAL : Maquina.SEDIFERENTE;
+		else if (b instanceof ExpMenor) op = negada ? Maquina.SEMAIORIGUAL : Maquina.SEMENOR;
+		else if (b instanceof ExpMenorIgual) op = negada ? Maquina.SEMAIOR : Maquina.SEMENORIGUAL;
+		else if (b instanceof ExpMaior) op = negada ? Maquina.SEMENORIGUAL : Maquina.SEMAIOR;
+		else if (b instanceof ExpMaiorIgual) op = negada ? Maquina.SEMENOR : Maquina.SEMAIORIGUAL;
+		else throw new IllegalArgumentException("booleano " + nome(b));
+		@SuppressWarnings("unchecked")
+		final OpBin<Expressao> o = (OpBin<Expressao>) b;
+		final int esq = valor(o.esq);
+		final int dir = valor(o.dir);
+		emita(op, esq, dir, 0);
+		alvo(alvo);
+	}
+}
@@ -0,0 +1,110 @@
+package plp.enquanto;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/*
+  Estado de uma execução: o ambiente das variáveis não resolvidas, o
+  quadro das resolvidas, a entrada do leia, a saída do exiba e do
+  escreva e o destino das mensagens de erro. Os nós da árvore não guardam
+  nada disso e recebem o contexto em execute() e getValor(); um mesmo
+  Programa pode rodar ao mesmo tempo em threads diferentes, cada uma com
+  o seu contexto.
+
+  Os valores que não cabem em 64 bits (Numeros) ficam na pilha de grandes
+  enquanto a expressão é avaliada, e em grandes[] quando a variável é um
+  slot.
+ */
+class Contexto {
+	final Ambiente ambiente = new Ambiente();
+	long[] slots = new long[0];
+	BigInteger[] grandes = new BigInteger[0];
+	final Entrada entrada;
+	final Saida saida;
+	final PrintStream erros;
+	// comandos executados pelo interpretador da árvore, para as Metricas
+	long comandos;
+
+	// valores da atribuição paralela, avaliados antes de qualquer escrita
+	private long[] rascunho = new long[8];
+	private BigInteger[] rascunhoGrande = new BigInteger[8];
+
+	private BigInteger[] pilha = new BigInteger[8];
+	private int topo;
+
+	Contexto(Entrada entrada, Saida saida, PrintStream erros) {
+		this.entrada = entrada;
+		this.saida = saida;
+		this.erros = erros;
+	}
+
+	Contexto(InputStream entrada, OutputStream saida, PrintStream erros) {
+		this(new Entrada(entrada), new Saida(saida, Saida.TAMANHO_PADRAO), erros);
+	}
+
+	long[] rascunho(int tamanho) {
+		if (rascunho.length < tamanho) rascunho = new long[Math.max(tamanho, rascunho.length * 2)];
+		return rascunho;
+	}
+
+	BigInteger[] rascunhoGrande(int tamanho) {
+		if (rascunhoGrande.length < tamanho) rascunhoGrande = new BigInteger[Math.max(tamanho, rascunhoGrande.length * 2)];
+		return rascunhoGrande;
+	}
+
+	void empilhe(BigInteger valor) {
+		if (topo == pilha.length) pilha = Arrays.copyOf(pilha, topo * 2);
+		pilha[topo++] = valor;
+	}
+
+	BigInteger desempilhe() {
+		final BigInteger valor = pilha[--topo];
+		pilha[topo] = null;
+		return valor;
+	}
+
+	// o grande de um valor que acabou de sair de uma expressão, ou null
+	BigInteger retire(long valor) {
+		return valor == Numeros.GRANDE ? desempilhe() : null;
+	}
+
+	long valor(int simbolo) {
+		final long v = ambiente.valor(simbolo);
+		if (v == Numeros.GRANDE) empilhe(ambiente.grande(simbolo));
+		return v;
+	}
+
+	void atribua(int simbolo, long valor) {
+		if (valor == Numeros.GRANDE) ambiente.atribua(simbolo, desempilhe());
+		else ambiente.atribua(simbolo, valor);
+	}
+
+	void atribua(int simbolo, long valor, BigInteger grande) {
+		if (grande != null) ambiente.atribua(simbolo, grande);
+		else ambiente.atribua(simbolo, valor);
+	}
+
+	long slot(int slot) {
+		final long v = slots[slot];
+		if (v == Numeros.GRANDE) empilhe(grandes[slot]);
+		return v;
+	}
+
+	void guarde(int slot, long valor) {
+		slots[slot] = valor;
+		if (valor == Numeros.GRANDE) grandes[slot] = desempilhe();
+	}
+
+	void guarde(int slot, long valor, BigInteger grande) {
+		slots[slot] = valor;
+		if (grande != null) grandes[slot] = grande;
+	}
+
+	void escreva(long valor) {
+		if (valor == Numeros.GRANDE) saida.escreva(desempilhe());
+		else saida.escreva(valor);
+	}
+}
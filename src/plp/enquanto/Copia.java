@@ -0,0 +1,37 @@
+package plp.enquanto;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Cópia da árvore inteira, folhas incluídas, para que duas execuções do
+  mesmo Programa nunca tenham um nó em comum: cada uma reescreve só os
+  seus nós, e nenhuma thread lê um nó que outra está trocando. Os
+  comandos que não são nós (a Maquina e a classe gerada para a JVM) não
+  se reescrevem e continuam compartilhados.
+ */
+class Copia extends Transformador {
+
+	@Override
+	protected Comando comando(Comando c) {
+		if (c != null && !(c instanceof No)) return c;
+		if (c instanceof Skip) return new Skip();
+		if (c instanceof Exiba e && !(e.conteudo instanceof Expressao)) return new Exiba((String) e.conteudo, e.linha);
+		return super.comando(c);
+	}
+
+	@Override
+	protected Expressao expressao(Expressao e) {
+		if (e instanceof Inteiro i) return new Inteiro(i.valor);
+		if (e instanceof InteiroGrande i) return new InteiroGrande(i.valor);
+		if (e instanceof Id id) return new Id(id.simbolo);
+		if (e instanceof IdLocal id) return new IdLocal(id.id, id.slot);
+		if (e instanceof Leia) return new Leia();
+		return super.expressao(e);
+	}
+
+	@Override
+	protected Bool bool(Bool b) {
+		if (b instanceof Booleano v) return new Booleano(v.valor);
+		return super.bool(b);
+	}
+}
@@ -0,0 +1,170 @@
+package plp.enquanto;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/*
+  Entrada do leia. Lê inteiros decimais direto dos bytes, sem expressões
+  regulares: os números são separados por espaços em branco e podem ter
+  um sinal + ou - na frente, como no Scanner.nextInt(). A origem é um
+  InputStream lido em blocos ou um arquivo mapeado em memória. Um número
+  que não cabe em 64 bits continua em BigInteger e sai como a marca
+  Numeros.GRANDE; o valor fica em grande() até a próxima leitura.
+ */
+class Entrada {
+	static final int TAMANHO_PADRAO = 1 << 16;
+	private static final long REGIAO = 1L << 30;
+
+	private InputStream origem;
+	private final byte[] buffer = new byte[TAMANHO_PADRAO];
+	private int pos;
+	private int limite;
+
+	private FileChannel canal;
+	private MappedByteBuffer mapa;
+	private long mapeado;
+
+	private long lidos;
+	private BigInteger grande;
+	// o começo do número lido, só para a mensagem de erro
+	private final byte[] lido = new byte[40];
+
+	Entrada() {
+		this(new FileInputStream(FileDescriptor.in));
+	}
+
+	Entrada(InputStream origem) {
+		configure(origem);
+	}
+
+	void configure(InputStream origem) {
+		feche();
+		this.origem = origem;
+		this.pos = 0;
+		this.limite = 0;
+	}
+
+	/*
+	  Passa a ler do arquivo mapeado em memória, uma região de até 1GB por vez.
+	 */
+	void mapeie(Path arquivo) throws IOException {
+		feche();
+		this.origem = null;
+		this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+		this.mapeado = 0;
+		this.mapa = null;
+	}
+
+	// verdadeiro quando quem digita pode estar esperando ver a saída
+	boolean interativa() {
+		return canal == null;
+	}
+
+	// quantas leituras já foram pedidas, com ou sem sucesso
+	long lidos() {
+		return lidos;
+	}
+
+	long leiaInteiro() {
+		lidos++;
+		int b = proximo();
+		while (b >= 0 && espaco(b)) b = proximo();
+		if (b < 0) throw new NoSuchElementException("Fim da entrada: esperava um número inteiro");
+
+		int copiados = 0;
+		final boolean negativo = b == '-';
+		if (b == '-' || b == '+') {
+			lido[copiados++] = (byte) b;
+			b = proximo();
+		}
+		// acumula em negativo para aceitar Long.MIN_VALUE; depois dele, em BigInteger
+		long valor = 0;
+		BigInteger acima = null;
+		int digitos = 0;
+		boolean valido = true;
+		while (b >= 0 && !espaco(b)) {
+			if (copiados < lido.length) lido[copiados++] = (byte) b;
+			if (valido && b >= '0' && b <= '9') {
+				final int d = b - '0';
+				if (acima != null) acima = acima.multiply(BigInteger.TEN).subtract(BigInteger.valueOf(d));
+				else if (valor < (Long.MIN_VALUE + d) / 10) acima = BigInteger.valueOf(valor).multiply(BigInteger.TEN).subtract(BigInteger.valueOf(d));
+				else valor = valor * 10 - d;
+				digitos++;
+			} else {
+				valido = false;
+			}
+			b = proximo();
+		}
+		if (!valido || digitos == 0) {
+			throw new InputMismatchException("Entrada inválida: esperava um número inteiro, encontrou \""
+					+ new String(lido, 0, copiados, StandardCharsets.ISO_8859_1) + "\"");
+		}
+		if (acima == null && valor != Numeros.GRANDE) return negativo ? valor : -valor;
+		if (acima == null) acima = BigInteger.valueOf(valor);
+		grande = negativo ? acima : acima.negate();
+		return Numeros.GRANDE;
+	}
+
+	// o número da última leitura que devolveu Numeros.GRANDE
+	BigInteger grande() {
+		return grande;
+	}
+
+	private static boolean espaco(int b) {
+		return b == ' ' || (b >= '\t' && b <= '\r') || (b >= 0x1C && b <= 0x1F);
+	}
+
+	private int proximo() {
+		if (origem == null) return proximoMapeado();
+		if (pos == limite) {
+			try {
+				limite = origem.read(buffer, 0, buffer.length);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			pos = 0;
+			if (limite <= 0) {
+				limite = 0;
+				return -1;
+			}
+		}
+		return buffer[pos++] & 0xFF;
+	}
+
+	private int proximoMapeado() {
+		if (mapa == null || !mapa.hasRemaining()) {
+			try {
+				final long tamanho = Math.min(REGIAO, canal.size() - mapeado);
+				if (tamanho <= 0) return -1;
+				mapa = canal.map(FileChannel.MapMode.READ_ONLY, mapeado, tamanho);
+				mapeado += tamanho;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return mapa.get() & 0xFF;
+	}
+
+	void feche() {
+		if (canal != null) {
+			try {
+				canal.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			canal = null;
+			mapa = null;
+		}
+	}
+}
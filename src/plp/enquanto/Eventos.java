@@ -0,0 +1,194 @@
+package plp.enquanto;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/*
+  Eventos do JDK Flight Recorder: a construção do programa (do fonte ou do
+  cache), cada etapa do parse com as Regras, a execução e os laços longos.
+
+  Carregar uma classe de evento inicializa o JFR, o que custa algumas
+  centenas de milissegundos; por isso as classes de evento só são tocadas
+  quando FlightRecorder.isInitialized(), isto é, quando alguma gravação já
+  foi iniciada (-XX:StartFlightRecording ou jcmd <pid> JFR.start). Fora
+  disso cada ponto de medição é a leitura de um campo, e os eventos
+  circulam como Object para que a verificação das classes que os usam
+  também não carregue nada.
+ */
+final class Eventos {
+	private Eventos() {}
+
+	static boolean ativos() {
+		return FlightRecorder.isInitialized();
+	}
+
+	static Object construcao() {
+		return ativos() ? Construcao.inicie() : null;
+	}
+
+	static void construcao(Object evento, String arquivo, boolean doCache) {
+		if (evento != null) ((Construcao) evento).termine(arquivo, doCache);
+	}
+
+	static Object parse() {
+		return ativos() ? Parse.inicie() : null;
+	}
+
+	static void parse(Object evento, String predicao, boolean concluido) {
+		if (evento != null) ((Parse) evento).termine(predicao, concluido);
+	}
+
+	static Object execucao() {
+		return ativos() ? Execucao.inicie() : null;
+	}
+
+	static void execucao(Object evento, String arquivo, String motor, long comandos, long leituras, long bytes) {
+		if (evento != null) ((Execucao) evento).termine(arquivo, motor, comandos, leituras, bytes);
+	}
+
+	static Object laco() {
+		return ativos() ? Laco.inicie() : null;
+	}
+
+	static void laco(Object evento, String tipo, long iteracoes) {
+		if (evento != null) ((Laco) evento).termine(tipo, iteracoes);
+	}
+
+	@Name("plp.enquanto.Construcao")
+	@Label("Construção do programa")
+	@Description("Do fonte (parse e Regras, com as duas etapas) ou do cache até a árvore")
+	@Category("Enquanto")
+	@StackTrace(false)
+	static class Construcao extends Event {
+		@Label("Arquivo")
+		String arquivo;
+
+		@Label("Do cache")
+		boolean doCache;
+
+		static Construcao inicie() {
+			final Construcao evento = new Construcao();
+			evento.begin();
+			return evento;
+		}
+
+		void termine(String arquivo, boolean doCache) {
+			end();
+			if (!shouldCommit()) return;
+			this.arquivo = arquivo;
+			this.doCache = doCache;
+			commit();
+		}
+	}
+
+	/*
+	  O parser não monta árvore sintática: as Regras constroem os nós
+	  durante o parse, então o tempo das duas fica no mesmo evento.
+	 */
+	@Name("plp.enquanto.Parse")
+	@Label("Parse e Regras")
+	@Description("Uma etapa do parse (SLL ou LL) com a construção da árvore pelas Regras")
+	@Category("Enquanto")
+	@StackTrace(false)
+	static class Parse extends Event {
+		@Label("Predição")
+		String predicao;
+
+		@Label("Concluído")
+		@Description("Falso quando a etapa SLL desistiu e o texto foi lido de novo com LL")
+		boolean concluido;
+
+		static Parse inicie() {
+			final Parse evento = new Parse();
+			evento.begin();
+			return evento;
+		}
+
+		void termine(String predicao, boolean concluido) {
+			end();
+			if (!shouldCommit()) return;
+			this.predicao = predicao;
+			this.concluido = concluido;
+			commit();
+		}
+	}
+
+	@Name("plp.enquanto.Execucao")
+	@Label("Execução")
+	@Category("Enquanto")
+	@StackTrace(false)
+	static class Execucao extends Event {
+		@Label("Arquivo")
+		String arquivo;
+
+		@Label("Motor")
+		@Description("arvore, vm ou jvm")
+		String motor;
+
+		@Label("Comandos executados")
+		@Description("Contados só pelo interpretador da árvore")
+		long comandos;
+
+		@Label("Leituras do leia")
+		long leituras;
+
+		@Label("Bytes de saída")
+		long bytes;
+
+		static Execucao inicie() {
+			final Execucao evento = new Execucao();
+			evento.begin();
+			return evento;
+		}
+
+		void termine(String arquivo, String motor, long comandos, long leituras, long bytes) {
+			end();
+			if (!shouldCommit()) return;
+			this.arquivo = arquivo;
+			this.motor = motor;
+			this.comandos = comandos;
+			this.leituras = leituras;
+			this.bytes = bytes;
+			commit();
+		}
+	}
+
+	/*
+	  Só os laços que duram mais que o limiar são gravados, o que serve de
+	  amostragem: os laços curtos e internos, que são a maioria das
+	  execuções, não geram eventos.
+	 */
+	@Name("plp.enquanto.Laco")
+	@Label("Laço")
+	@Description("Um laço enquanto, para ou repita do interpretador da árvore")
+	@Category("Enquanto")
+	@StackTrace(false)
+	@Threshold("20 ms")
+	static class Laco extends Event {
+		@Label("Tipo")
+		String tipo;
+
+		@Label("Iterações")
+		long iteracoes;
+
+		static Laco inicie() {
+			final Laco evento = new Laco();
+			evento.begin();
+			return evento;
+		}
+
+		void termine(String tipo, long iteracoes) {
+			end();
+			if (!shouldCommit()) return;
+			this.tipo = tipo;
+			this.iteracoes = iteracoes;
+			commit();
+		}
+	}
+}
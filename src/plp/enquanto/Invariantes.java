@@ -0,0 +1,128 @@
+package plp.enquanto;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Tira dos laços enquanto, para e repita as expressões que dão o mesmo
+  valor em todas as iterações: cada uma é calculada uma vez, antes do
+  laço, numa variável temporária, e o laço passa a ler a temporária.
+
+  Uma subexpressão é invariante quando é pura (Simplificador.puro: sem
+  leia e sem divisão que possa ser por zero) e só lê variáveis que o laço
+  não escreve, contando a do para. Como ela não tem efeitos nem pode
+  falhar, calculá-la antes, mesmo que o laço não execute nenhuma vez, não
+  muda a ordem das leituras nem dos erros do programa. Também não pode
+  demorar: uma potência só é pura quando os literais limitam o tamanho
+  dela, e (x ^ 1000) ^ 1000 fica no laço. Expressões iguais no mesmo
+  laço usam a mesma temporária.
+
+  Os laços são tratados de fora para dentro: o de fora leva o que é
+  invariante para ele, e os de dentro, o que sobra e só é invariante
+  para eles. As temporárias têm nomes que o fonte não pode escrever.
+ */
+class Invariantes extends Transformador {
+	// também o número de expressões tiradas dos laços
+	int temporarias;
+	private Simbolos simbolos;
+
+	@Override
+	public Programa transforme(Programa programa) {
+		simbolos = programa.simbolos;
+		return super.transforme(programa);
+	}
+
+	@Override
+	protected Comando comando(Comando c) {
+		if (!(c instanceof Enquanto || c instanceof Para || c instanceof Repita)) return super.comando(c);
+		final Set<Integer> escritas = new HashSet<>();
+		escritas(c, escritas);
+		final Elevacao elevacao = new Elevacao(escritas);
+		final Comando laco;
+		if (c instanceof Enquanto e) {
+			laco = new Enquanto(elevacao.bool(e.condicao), elevacao.comando(e.comando));
+		} else if (c instanceof Para p) {
+			laco = new Para(p.simbolo, p.de, p.ate, p.passo, elevacao.comando(p.comando));
+		} else {
+			final Repita r = (Repita) c;
+			laco = new Repita(r.vezes, elevacao.comando(r.comando));
+		}
+		// os laços de dentro, já sem o que subiu para antes deste
+		final Comando tratado = super.comando(laco);
+		if (elevacao.calculos.isEmpty()) return tratado;
+		final List<Comando> bloco = new ArrayList<>();
+		for (Map.Entry<Integer, Expressao> t : elevacao.calculos.entrySet()) {
+			bloco.add(Regras.atribuicao(new int[] {t.getKey()}, List.of(expressao(t.getValue()))));
+		}
+		bloco.add(tratado);
+		return new Bloco(bloco);
+	}
+
+	/*
+	  Troca as subexpressões invariantes por leituras de temporárias e
+	  guarda, para cada temporária, a expressão que a calcula.
+	 */
+	private class Elevacao extends Transformador {
+		private final Set<Integer> escritas;
+		private final Map<String, Integer> porChave = new LinkedHashMap<>();
+		final Map<Integer, Expressao> calculos = new LinkedHashMap<>();
+
+		Elevacao(Set<Integer> escritas) {
+			this.escritas = escritas;
+		}
+
+		@Override
+		protected Expressao expressao(Expressao e) {
+			if (!(e instanceof OpBin<?>) || !Simplificador.puro(e) || !invariante(e)) return super.expressao(e);
+			final Integer temporaria = porChave.computeIfAbsent(chave(e), k -> {
+				final int simbolo = simbolos.simbolo("$inv" + temporarias++);
+				calculos.put(simbolo, e);
+				return simbolo;
+			});
+			return new Id(temporaria);
+		}
+
+		private boolean invariante(Expressao e) {
+			if (e instanceof Id id) return !escritas.contains(id.simbolo);
+			if (e instanceof OpBin<?> o) return invariante((Expressao) o.esq) && invariante((Expressao) o.dir);
+			return e instanceof Inteiro || e instanceof InteiroGrande;
+		}
+	}
+
+	// só para expressões puras, que não têm leia
+	private static String chave(Expressao e) {
+		if (e instanceof Inteiro i) return Long.toString(i.valor);
+		if (e instanceof InteiroGrande i) return i.valor.toString();
+		if (e instanceof Id id) return "#" + id.simbolo;
+		final OpBin<?> o = (OpBin<?>) e;
+		return "(" + chave((Expressao) o.esq) + " " + e.getClass().getSimpleName() + " " + chave((Expressao) o.dir) + ")";
+	}
+
+	// variáveis que o comando pode escrever
+	private static void escritas(Comando c, Set<Integer> escritas) {
+		if (c instanceof Atribuicao a) {
+			for (int s : a.simbolos) escritas.add(s);
+		} else if (c instanceof Para p) {
+			escritas.add(p.simbolo);
+			escritas(p.comando, escritas);
+		} else if (c instanceof Enquanto e) {
+			escritas(e.comando, escritas);
+		} else if (c instanceof Repita r) {
+			escritas(r.comando, escritas);
+		} else if (c instanceof Se se) {
+			escritas(se.entao, escritas);
+			escritas(se.senao, escritas);
+		} else if (c instanceof Bloco b) {
+			for (Comando filho : b.comandos) escritas(filho, escritas);
+		} else if (c instanceof Escolha e) {
+			for (Comando caso : e.casos.values()) escritas(caso, escritas);
+			if (e.padrao != null) escritas(e.padrao, escritas);
+		}
+	}
+}
@@ -1,210 +1,791 @@
 package plp.enquanto;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 interface Linguagem {
-	Map<String, Integer> ambiente = new HashMap<>();
-	Scanner scanner = new Scanner(System.in);
-
 	interface Bool {
-		boolean getValor();
+		boolean getValor(Contexto contexto);
 	}
 
 	interface Comando {
-		void execute();
+		void execute(Contexto contexto);
 	}
 
+	/*
+	  O valor é um long; Numeros.GRANDE quer dizer que ele não coube e foi
+	  para a pilha de grandes do contexto, de onde quem o usa o tira.
+	 */
 	interface Expressao {
-		int getValor();
+		long getValor(Contexto contexto);
+	}
+
+	/*
+	  Base dos nós da árvore. Cada nó guarda o pai e pode, depois de observar
+	  a execução, se trocar por uma versão especializada: substitua() pede ao
+	  pai que troque o filho antigo pelo novo no campo ou na lista onde ele
+	  está. As execuções seguintes já passam pelo nó novo. Os nós
+	  compartilhados (skip, leia) não se reescrevem, então não importa qual
+	  pai eles guardam. Os campos não são volatile: uma árvore que se
+	  reescreve pertence a uma execução de cada vez (ver Programa).
+	 */
+	abstract class No {
+		No pai;
+
+		<T> T adote(T filho) {
+			if (filho instanceof No no) no.pai = this;
+			return filho;
+		}
+
+		<T extends No> T substitua(T novo) {
+			novo.pai = pai;
+			if (pai != null) pai.troque(this, novo);
+			return novo;
+		}
+
+		void troque(No antigo, No novo) {
+			throw new IllegalStateException(getClass().getSimpleName() + " não tem filhos");
+		}
+
+		// set() em vez de replaceAll(): a lista pode estar sendo percorrida
+		@SuppressWarnings("unchecked")
+		static <T> void troque(List<T> filhos, No antigo, No novo) {
+			for (int i = 0; i < filhos.size(); i++) {
+				if (filhos.get(i) == antigo) filhos.set(i, (T) novo);
+			}
+		}
 	}
 
 	/*
 	  Comandos
 	 */
-	class Programa {
-		private final List<Comando> comandos;
+
+	/*
+	  Os comandos ficam como foram construídos, para as passagens, o cache e
+	  os compiladores; quem executa e se reescreve é uma Copia. Ela volta
+	  para as livres no fim de cada execução e a seguinte a reaproveita, já
+	  especializada; uma execução que não encontra cópia livre, porque as
+	  outras estão rodando em outras threads, faz a sua. Há no máximo uma
+	  cópia por execução simultânea. A fila é concorrente, então a execução
+	  que pega uma cópia vê tudo o que a anterior reescreveu nela.
+	 */
+	class Programa extends No {
+		final List<Comando> comandos;
+		final int variaveis;
+		final Simbolos simbolos;
+		private final Queue<Programa> livres = new ConcurrentLinkedQueue<>();
+
 		public Programa(List<Comando> comandos) {
-			this.comandos = comandos;
+			this(comandos, 0, new Simbolos());
 		}
-		public void execute() {
-			comandos.forEach(Comando::execute);
+
+		Programa(List<Comando> comandos, int variaveis, Simbolos simbolos) {
+			this.comandos = new ArrayList<>(comandos);
+			this.variaveis = variaveis;
+			this.simbolos = simbolos;
+			comandos.forEach(this::adote);
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			troque(comandos, antigo, novo);
+		}
+
+		public void execute(Contexto contexto) {
+			Programa arvore = livres.poll();
+			if (arvore == null) arvore = new Copia().transforme(this);
+			try {
+				arvore.rode(contexto);
+			} finally {
+				livres.offer(arvore);
+			}
+		}
+
+		// executa esta mesma árvore, sem cópia: só para quem a tem só para si
+		void rode(Contexto contexto) {
+			contexto.slots = new long[variaveis];
+			contexto.grandes = new BigInteger[variaveis];
+			Metricas.METRICAS.inicie(contexto);
+			try {
+				for (int i = 0; i < comandos.size(); i++) comandos.get(i).execute(contexto);
+			} finally {
+				try {
+					contexto.saida.descarregue();
+				} finally {
+					Metricas.METRICAS.termine(contexto);
+				}
+			}
 		}
 	}
 
-	class Se implements Comando {
-		private final Bool condicao;
-		private final Comando entao;
-		private final Comando senao;
+	/*
+	  Conta quantas vezes seguidas a condição deu verdadeiro. Depois de
+	  LIMIAR vezes vira um SeProvavel, que não conta mais nada; se a
+	  condição falhar lá, volta a ser um Se estável, que não tenta de novo.
+	 */
+	class Se extends No implements Comando {
+		static final int LIMIAR = 64;
+
+		Bool condicao;
+		Comando entao;
+		Comando senao;
+		private final boolean estavel;
+		private int verdadeiras;
 
 		public Se(Bool condicao, Comando entao, Comando senao) {
-			this.condicao = condicao;
-			this.entao = entao;
-			this.senao = senao;
+			this(condicao, entao, senao, false);
+		}
+
+		Se(Bool condicao, Comando entao, Comando senao, boolean estavel) {
+			this.condicao = adote(condicao);
+			this.entao = adote(entao);
+			this.senao = adote(senao);
+			this.estavel = estavel;
 		}
 
 		@Override
-		public void execute() {
-			if (condicao.getValor())
-				entao.execute();
-			else
-				senao.execute();
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			if (condicao.getValor(contexto)) {
+				if (!estavel && ++verdadeiras == LIMIAR) substitua(new SeProvavel(condicao, entao, senao));
+				entao.execute(contexto);
+			} else {
+				verdadeiras = 0;
+				senao.execute(contexto);
+			}
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			if (condicao == antigo) condicao = (Bool) novo;
+			if (entao == antigo) entao = (Comando) novo;
+			if (senao == antigo) senao = (Comando) novo;
+		}
+	}
+
+	class SeProvavel extends Se {
+		SeProvavel(Bool condicao, Comando entao, Comando senao) {
+			super(condicao, entao, senao, true);
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			if (condicao.getValor(contexto)) {
+				entao.execute(contexto);
+			} else {
+				substitua(new Se(condicao, entao, senao, true));
+				senao.execute(contexto);
+			}
 		}
 	}
 
 	Skip skip = new Skip();
-	class Skip implements Comando {
+	class Skip extends No implements Comando {
 		@Override
-		public void execute() {}
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+		}
 	}
 
-	class Escreva implements Comando {
-		private final Expressao exp;
+	class Escreva extends No implements Comando {
+		Expressao exp;
 
 		public Escreva(Expressao exp) {
-			this.exp = exp;
+			this.exp = adote(exp);
 		}
 
 		@Override
-		public void execute() {
-			System.out.println(exp.getValor());
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			contexto.escreva(exp.getValor(contexto));
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			if (exp == antigo) exp = (Expressao) novo;
 		}
 	}
 
-	class Enquanto implements Comando {
-		private final Bool condicao;
-		private final Comando comando;
+	class Enquanto extends No implements Comando {
+		Bool condicao;
+		Comando comando;
 
 		public Enquanto(Bool condicao, Comando comando) {
-			this.condicao = condicao;
-			this.comando = comando;
+			this.condicao = adote(condicao);
+			this.comando = adote(comando);
 		}
 
 		@Override
-		public void execute() {
-			while (condicao.getValor()) {
-				comando.execute();
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			final Object evento = Eventos.laco();
+			long iteracoes = 0;
+			while (condicao.getValor(contexto)) {
+				comando.execute(contexto);
+				iteracoes++;
 			}
+			Eventos.laco(evento, "enquanto", iteracoes);
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			if (condicao == antigo) condicao = (Bool) novo;
+			if (comando == antigo) comando = (Comando) novo;
 		}
 	}
 
-	class Exiba implements Comando {
-		private final Object conteudo;
+	class Exiba extends No implements Comando {
+		Object conteudo;
+		final byte[] linha;
+
+		public Exiba(Expressao exp) {
+			this.conteudo = adote(exp);
+			this.linha = null;
+		}
 
-		public Exiba(Object conteudo) {
-			this.conteudo = conteudo;
+		public Exiba(String texto, byte[] linha) {
+			this.conteudo = texto;
+			this.linha = linha;
 		}
 
 		@Override
-		public void execute() {
-			if (conteudo instanceof Expressao) {
-				System.out.println(((Expressao) conteudo).getValor());
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			if (linha == null) {
+				contexto.escreva(((Expressao) conteudo).getValor(contexto));
 			} else {
-				System.out.println(conteudo);
+				contexto.saida.escrevaLinha(linha);
 			}
 		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			if (conteudo == antigo) conteudo = novo;
+		}
 	}
 
-	class Bloco implements Comando {
-		private final List<Comando> comandos;
+	/*
+	  Um bloco com um único comando sai do caminho na primeira execução.
+	 */
+	class Bloco extends No implements Comando {
+		final List<Comando> comandos;
 
 		public Bloco(List<Comando> comandos) {
-			this.comandos = comandos;
+			this.comandos = new ArrayList<>(comandos);
+			comandos.forEach(this::adote);
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			if (pai != null && comandos.size() == 1 && comandos.get(0) instanceof No unico) {
+				substitua(unico);
+			}
+			for (int i = 0; i < comandos.size(); i++) comandos.get(i).execute(contexto);
 		}
 
 		@Override
-		public void execute() {
-			comandos.forEach(Comando::execute);
+		void troque(No antigo, No novo) {
+			troque(comandos, antigo, novo);
 		}
 	}
 
-	class Atribuicao implements Comando {
-		private final List<String> ids;
-		private final List<Expressao> exps;
+	/*
+	  Atribuição paralela: todas as expressões são avaliadas, em ordem, antes
+	  de qualquer variável mudar; depois cada variável recebe o valor na
+	  mesma posição, e a última ganha quando a variável se repete. As
+	  Regras escolhem as versões para um e dois alvos; a geral avalia no
+	  vetor de rascunho do contexto. Um valor grande sai da pilha logo que é
+	  avaliado, para que a pilha fique como estava entre as expressões.
+	 */
+	class Atribuicao extends No implements Comando {
+		final int[] simbolos;
+		final List<Expressao> exps;
+
+		Atribuicao(int[] simbolos, List<Expressao> exps) {
+			this.simbolos = simbolos;
+			this.exps = new ArrayList<>(exps);
+			exps.forEach(this::adote);
+		}
 
-		Atribuicao(List<String> ids, List<Expressao> exps) {
-			this.ids = ids;
-			this.exps = exps;
+		@Override
+		void troque(No antigo, No novo) {
+			troque(exps, antigo, novo);
 		}
 
 		@Override
-		public void execute() {
-			List<Integer> valores = new ArrayList<>();
-			for (Expressao e : exps) {
-				valores.add(e.getValor());
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			final long[] valores = contexto.rascunho(exps.size());
+			final BigInteger[] grandes = contexto.rascunhoGrande(exps.size());
+			for (int i = 0; i < exps.size(); i++) {
+				valores[i] = exps.get(i).getValor(contexto);
+				grandes[i] = contexto.retire(valores[i]);
 			}
-			for (int i = 0; i < ids.size(); i++) {
-				if (i < valores.size()) {
-					ambiente.put(ids.get(i), valores.get(i));
-				}
+			final int n = Math.min(simbolos.length, exps.size());
+			for (int i = 0; i < n; i++) {
+				contexto.atribua(simbolos[i], valores[i], grandes[i]);
 			}
 		}
 	}
 
-	class Para implements Comando {
-		private final String id;
-		private final Expressao de;
-		private final Expressao ate;
-		private final Comando comando;
+	class AtribuicaoSimples extends Atribuicao {
+		private final int simbolo;
+		private Expressao exp;
 
-		Para(String id, Expressao de, Expressao ate, Comando comando) {
-			this.id = id;
-			this.de = de;
-			this.ate = ate;
-			this.comando = comando;
+		AtribuicaoSimples(int[] simbolos, List<Expressao> exps) {
+			super(simbolos, exps);
+			this.simbolo = simbolos[0];
+			this.exp = exps.get(0);
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			super.troque(antigo, novo);
+			if (exp == antigo) exp = (Expressao) novo;
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			contexto.atribua(simbolo, exp.getValor(contexto));
+		}
+	}
+
+	class AtribuicaoDupla extends Atribuicao {
+		private final int simbolo1, simbolo2;
+		private Expressao exp1, exp2;
+
+		AtribuicaoDupla(int[] simbolos, List<Expressao> exps) {
+			super(simbolos, exps);
+			this.simbolo1 = simbolos[0];
+			this.simbolo2 = simbolos[1];
+			this.exp1 = exps.get(0);
+			this.exp2 = exps.get(1);
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			super.troque(antigo, novo);
+			if (exp1 == antigo) exp1 = (Expressao) novo;
+			if (exp2 == antigo) exp2 = (Expressao) novo;
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			final long v1 = exp1.getValor(contexto);
+			final BigInteger g1 = contexto.retire(v1);
+			final long v2 = exp2.getValor(contexto);
+			contexto.atribua(simbolo1, v1, g1);
+			contexto.atribua(simbolo2, v2);
+		}
+	}
+
+	/*
+	  Laço contado. de, ate e passo são avaliados uma única vez, nessa ordem,
+	  antes da primeira volta: mudar dentro do corpo as variáveis usadas
+	  neles não altera as voltas. Com passo positivo a variável sobe enquanto
+	  for <= ate; com passo negativo desce enquanto for >= ate; passo zero é
+	  um erro. O laço conta num long próprio e escreve a variável no início
+	  de cada volta, então o corpo pode lê-la e até mudá-la, mas a volta
+	  seguinte continua da contagem do laço. Sem nenhuma volta a variável
+	  fica como estava. Os três valores precisam caber em 64 bits.
+	 */
+	class Para extends No implements Comando {
+		final int simbolo;
+		Expressao de;
+		Expressao ate;
+		Expressao passo;
+		Comando comando;
+
+		Para(int simbolo, Expressao de, Expressao ate, Expressao passo, Comando comando) {
+			this.simbolo = simbolo;
+			this.de = adote(de);
+			this.ate = adote(ate);
+			this.passo = adote(passo);
+			this.comando = adote(comando);
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			if (de == antigo) de = (Expressao) novo;
+			if (ate == antigo) ate = (Expressao) novo;
+			if (passo == antigo) passo = (Expressao) novo;
+			if (comando == antigo) comando = (Comando) novo;
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			final long inicio = Numeros.contagem(de.getValor(contexto), contexto);
+			final long fim = Numeros.contagem(ate.getValor(contexto), contexto);
+			final long p = Numeros.contagem(passo.getValor(contexto), contexto);
+			if (vazio(inicio, fim, p)) return;
+			final long ultimo = ultimo(inicio, fim, p);
+			final Object evento = Eventos.laco();
+			for (long i = inicio; ; i += p) {
+				contexto.ambiente.atribua(simbolo, i);
+				comando.execute(contexto);
+				if (i == ultimo) break;
+			}
+			Eventos.laco(evento, "para", iteracoes(inicio, ultimo, p));
+		}
+
+		static boolean vazio(long de, long ate, long passo) {
+			if (passo == 0) throw new ArithmeticException("Passo zero no para");
+			return passo > 0 ? de > ate : de < ate;
+		}
+
+		// último valor que a variável recebe; o laço para nele, sem transbordar
+		static long ultimo(long de, long ate, long passo) {
+			final long distancia = ate - de;
+			if ((de ^ ate) >= 0 || (distancia ^ ate) >= 0) return de + distancia / passo * passo;
+			final BigInteger d = BigInteger.valueOf(ate).subtract(BigInteger.valueOf(de));
+			final BigInteger p = BigInteger.valueOf(passo);
+			return de + d.divide(p).multiply(p).longValue();
+		}
+
+		// satura: de Long.MIN_VALUE + 1 a Long.MAX_VALUE de 1 em 1 não cabe num long
+		static long iteracoes(long de, long ultimo, long passo) {
+			final long distancia = ultimo - de;
+			if ((de ^ ultimo) >= 0 || (distancia ^ ultimo) >= 0) return distancia / passo + 1;
+			return Long.MAX_VALUE;
+		}
+	}
+
+	class AtribuicaoLocal extends No implements Comando {
+		final int[] slots;
+		final List<Expressao> exps;
+
+		AtribuicaoLocal(int[] slots, List<Expressao> exps) {
+			this.slots = slots;
+			this.exps = new ArrayList<>(exps);
+			exps.forEach(this::adote);
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			troque(exps, antigo, novo);
 		}
 
 		@Override
-		public void execute() {
-			int valorDe = de.getValor();
-			int valorAte = ate.getValor();
-			// Assume increasing
-			for (int i = valorDe; i <= valorAte; i++) {
-				ambiente.put(id, i);
-				comando.execute();
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			final long[] valores = contexto.rascunho(exps.size());
+			final BigInteger[] grandes = contexto.rascunhoGrande(exps.size());
+			for (int i = 0; i < exps.size(); i++) {
+				valores[i] = exps.get(i).getValor(contexto);
+				grandes[i] = contexto.retire(valores[i]);
+			}
+			final int n = Math.min(slots.length, exps.size());
+			for (int i = 0; i < n; i++) {
+				contexto.guarde(slots[i], valores[i], grandes[i]);
 			}
 		}
 	}
 
-	class Repita implements Comando {
-		private final Expressao vezes;
-		private final Comando comando;
+	class AtribuicaoLocalSimples extends AtribuicaoLocal {
+		private final int slot;
+		private Expressao exp;
+
+		AtribuicaoLocalSimples(int[] slots, List<Expressao> exps) {
+			super(slots, exps);
+			this.slot = slots[0];
+			this.exp = exps.get(0);
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			super.troque(antigo, novo);
+			if (exp == antigo) exp = (Expressao) novo;
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			contexto.guarde(slot, exp.getValor(contexto));
+		}
+	}
+
+	class AtribuicaoLocalDupla extends AtribuicaoLocal {
+		private final int slot1, slot2;
+		private Expressao exp1, exp2;
+
+		AtribuicaoLocalDupla(int[] slots, List<Expressao> exps) {
+			super(slots, exps);
+			this.slot1 = slots[0];
+			this.slot2 = slots[1];
+			this.exp1 = exps.get(0);
+			this.exp2 = exps.get(1);
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			super.troque(antigo, novo);
+			if (exp1 == antigo) exp1 = (Expressao) novo;
+			if (exp2 == antigo) exp2 = (Expressao) novo;
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			final long v1 = exp1.getValor(contexto);
+			final BigInteger g1 = contexto.retire(v1);
+			final long v2 = exp2.getValor(contexto);
+			contexto.guarde(slot1, v1, g1);
+			contexto.guarde(slot2, v2);
+		}
+	}
+
+	/*
+	  Para sobre uma variável resolvida. Quando o Resolvedor vê que o corpo
+	  não menciona a variável (visivel falso), ela só é escrita uma vez, com
+	  o último valor, depois do laço.
+	 */
+	class ParaLocal extends No implements Comando {
+		final int slot;
+		Expressao de;
+		Expressao ate;
+		Expressao passo;
+		Comando comando;
+		final boolean visivel;
+
+		ParaLocal(int slot, Expressao de, Expressao ate, Expressao passo, Comando comando, boolean visivel) {
+			this.slot = slot;
+			this.de = adote(de);
+			this.ate = adote(ate);
+			this.passo = adote(passo);
+			this.comando = adote(comando);
+			this.visivel = visivel;
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			if (de == antigo) de = (Expressao) novo;
+			if (ate == antigo) ate = (Expressao) novo;
+			if (passo == antigo) passo = (Expressao) novo;
+			if (comando == antigo) comando = (Comando) novo;
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			final long inicio = Numeros.contagem(de.getValor(contexto), contexto);
+			final long fim = Numeros.contagem(ate.getValor(contexto), contexto);
+			final long p = Numeros.contagem(passo.getValor(contexto), contexto);
+			if (Para.vazio(inicio, fim, p)) return;
+			final long ultimo = Para.ultimo(inicio, fim, p);
+			final long[] q = contexto.slots;
+			final Object evento = Eventos.laco();
+			if (visivel) {
+				for (long i = inicio; ; i += p) {
+					q[slot] = i;
+					comando.execute(contexto);
+					if (i == ultimo) break;
+				}
+			} else {
+				for (long i = inicio; ; i += p) {
+					comando.execute(contexto);
+					if (i == ultimo) break;
+				}
+				q[slot] = ultimo;
+			}
+			Eventos.laco(evento, "para", Para.iteracoes(inicio, ultimo, p));
+		}
+	}
+
+	class Repita extends No implements Comando {
+		Expressao vezes;
+		Comando comando;
 
 		Repita(Expressao vezes, Comando comando) {
-			this.vezes = vezes;
-			this.comando = comando;
+			this.vezes = adote(vezes);
+			this.comando = adote(comando);
 		}
 
 		@Override
-		public void execute() {
-			int v = vezes.getValor();
-			for (int i = 0; i < v; i++) {
-				comando.execute();
+		void troque(No antigo, No novo) {
+			if (vezes == antigo) vezes = (Expressao) novo;
+			if (comando == antigo) comando = (Comando) novo;
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			final long v = Numeros.contagem(vezes.getValor(contexto), contexto);
+			final Object evento = Eventos.laco();
+			// o contador é um int quando cabe, que o JIT otimiza melhor que um long
+			if ((int) v == v) {
+				for (int i = 0; i < (int) v; i++) {
+					comando.execute(contexto);
+				}
+			} else {
+				for (long i = 0; i < v; i++) {
+					comando.execute(contexto);
+				}
 			}
+			Eventos.laco(evento, "repita", Math.max(v, 0));
 		}
 	}
 
-	class Escolha implements Comando {
-		private final Expressao expressao;
-		private final Map<Integer, Comando> casos;
-		private final Comando padrao;
+	/*
+	  Os rótulos são de 32 bits; um valor fora dessa faixa vai para o padrão.
+	 */
+	class Escolha extends No implements Comando {
+		Expressao expressao;
+		final Map<Integer, Comando> casos;
+		Comando padrao;
 
 		Escolha(Expressao expressao, Map<Integer, Comando> casos, Comando padrao) {
-			this.expressao = expressao;
+			this.expressao = adote(expressao);
 			this.casos = casos;
-			this.padrao = padrao;
+			this.padrao = adote(padrao);
+			casos.values().forEach(this::adote);
 		}
 
 		@Override
-		public void execute() {
-			int v = expressao.getValor();
-			if (casos.containsKey(v)) {
-				casos.get(v).execute();
+		void troque(No antigo, No novo) {
+			if (expressao == antigo) expressao = (Expressao) novo;
+			if (padrao == antigo) padrao = (Comando) novo;
+			casos.replaceAll((k, c) -> c == antigo ? (Comando) novo : c);
+		}
+
+		static void troque(Comando[] alvos, No antigo, No novo) {
+			for (int i = 0; i < alvos.length; i++) {
+				if (alvos[i] == antigo) alvos[i] = (Comando) novo;
+			}
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			final long v = expressao.getValor(contexto);
+			Numeros.descarte(v, contexto);
+			final Comando c = v == (int) v ? casos.get((int) v) : null;
+			if (c != null) {
+				c.execute(contexto);
+			} else if (padrao != null) {
+				padrao.execute(contexto);
+			}
+		}
+	}
+
+	/*
+	  Despachos do escolha sem caixas de Integer, escolhidos pelas Regras
+	  conforme a distribuição dos rótulos. O mapa de casos continua na
+	  Escolha para as passagens e os compiladores; aqui os rótulos e os
+	  comandos são copiados para vetores.
+	 */
+	class EscolhaLinear extends Escolha {
+		private final int[] chaves;
+		private final Comando[] alvos;
+
+		EscolhaLinear(Expressao expressao, Map<Integer, Comando> casos, Comando padrao) {
+			super(expressao, casos, padrao);
+			this.chaves = new int[casos.size()];
+			this.alvos = new Comando[casos.size()];
+			int i = 0;
+			for (Map.Entry<Integer, Comando> c : casos.entrySet()) {
+				chaves[i] = c.getKey();
+				alvos[i++] = c.getValue();
+			}
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			super.troque(antigo, novo);
+			troque(alvos, antigo, novo);
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			final long v = expressao.getValor(contexto);
+			for (int i = 0; i < chaves.length; i++) {
+				if (chaves[i] == v) {
+					alvos[i].execute(contexto);
+					return;
+				}
+			}
+			Numeros.descarte(v, contexto);
+			if (padrao != null) padrao.execute(contexto);
+		}
+	}
+
+	class EscolhaOrdenada extends Escolha {
+		private final int[] chaves;
+		private final Comando[] alvos;
+
+		EscolhaOrdenada(Expressao expressao, Map<Integer, Comando> casos, Comando padrao) {
+			super(expressao, casos, padrao);
+			this.chaves = new int[casos.size()];
+			this.alvos = new Comando[casos.size()];
+			int i = 0;
+			for (Map.Entry<Integer, Comando> c : new TreeMap<>(casos).entrySet()) {
+				chaves[i] = c.getKey();
+				alvos[i++] = c.getValue();
+			}
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			super.troque(antigo, novo);
+			troque(alvos, antigo, novo);
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			final long v = expressao.getValor(contexto);
+			Numeros.descarte(v, contexto);
+			final int i = v == (int) v ? Arrays.binarySearch(chaves, (int) v) : -1;
+			if (i >= 0) {
+				alvos[i].execute(contexto);
 			} else if (padrao != null) {
-				padrao.execute();
+				padrao.execute(contexto);
+			}
+		}
+	}
+
+	/*
+	  Tabela indexada pela distância ao menor rótulo; as posições sem caso
+	  ficam nulas e caem no padrão.
+	 */
+	class EscolhaDensa extends Escolha {
+		private final int menor;
+		private final Comando[] tabela;
+
+		EscolhaDensa(Expressao expressao, Map<Integer, Comando> casos, Comando padrao, int menor, int tamanho) {
+			super(expressao, casos, padrao);
+			this.menor = menor;
+			this.tabela = new Comando[tamanho];
+			casos.forEach((k, c) -> tabela[k - menor] = c);
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			super.troque(antigo, novo);
+			troque(tabela, antigo, novo);
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			contexto.comandos++;
+			// compara com os dois extremos antes de subtrair: v - menor dá a volta com v perto de Long.MAX_VALUE
+			final long v = expressao.getValor(contexto);
+			Numeros.descarte(v, contexto);
+			final Comando c = v >= menor && v <= menor + (tabela.length - 1L) ? tabela[(int) (v - menor)] : null;
+			if (c != null) {
+				c.execute(contexto);
+			} else if (padrao != null) {
+				padrao.execute(contexto);
 			}
 		}
 	}
@@ -213,66 +794,137 @@ interface Linguagem {
 	   Expressoes
 	 */
 
-	abstract class OpBin<T>  {
-		protected final T esq;
-		protected final T dir;
+	abstract class OpBin<T> extends No {
+		protected T esq;
+		protected T dir;
 
 		OpBin(T esq, T dir) {
-			this.esq = esq;
-			this.dir = dir;
+			this.esq = adote(esq);
+			this.dir = adote(dir);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		void troque(No antigo, No novo) {
+			if (esq == antigo) esq = (T) novo;
+			if (dir == antigo) dir = (T) novo;
 		}
 	}
 
-	abstract class OpUnaria<T>  {
-		protected final T operando;
+	abstract class OpUnaria<T> extends No {
+		protected T operando;
 
 		OpUnaria(T operando) {
-			this.operando = operando;
+			this.operando = adote(operando);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		void troque(No antigo, No novo) {
+			if (operando == antigo) operando = (T) novo;
 		}
 	}
 
-	class Inteiro implements Expressao {
-		private final int valor;
+	// nunca Numeros.GRANDE: as Regras fazem um InteiroGrande para os literais além de 64 bits
+	class Inteiro extends No implements Expressao {
+		final long valor;
 
-		Inteiro(int valor) {
+		Inteiro(long valor) {
 			this.valor = valor;
 		}
 
 		@Override
-		public int getValor() {
+		public long getValor(Contexto contexto) {
 			return valor;
 		}
 	}
 
-	class Id implements Expressao {
-		private final String id;
+	class InteiroGrande extends No implements Expressao {
+		final BigInteger valor;
+
+		InteiroGrande(BigInteger valor) {
+			this.valor = valor;
+		}
+
+		@Override
+		public long getValor(Contexto contexto) {
+			contexto.empilhe(valor);
+			return Numeros.GRANDE;
+		}
+	}
+
+	class Id extends No implements Expressao {
+		final int simbolo;
 
-		Id(String id) {
+		Id(int simbolo) {
+			this.simbolo = simbolo;
+		}
+
+		@Override
+		public long getValor(Contexto contexto) {
+			return contexto.valor(simbolo);
+		}
+	}
+
+	class IdLocal extends No implements Expressao {
+		final String id;
+		final int slot;
+
+		IdLocal(String id, int slot) {
 			this.id = id;
+			this.slot = slot;
 		}
 
 		@Override
-		public int getValor() {
-			return ambiente.getOrDefault(id, 0);
+		public long getValor(Contexto contexto) {
+			return contexto.slot(slot);
 		}
 	}
 
 	Leia leia = new Leia();
-	class Leia implements Expressao {
+	class Leia extends No implements Expressao {
 		@Override
-		public int getValor() {
-			return scanner.nextInt();
+		public long getValor(Contexto contexto) {
+			// o que já foi exibido precisa aparecer antes de pedir a entrada
+			if (contexto.entrada.interativa()) contexto.saida.descarregue();
+			final long v = contexto.entrada.leiaInteiro();
+			if (v == Numeros.GRANDE) contexto.empilhe(contexto.entrada.grande());
+			return v;
 		}
 	}
 
+	/*
+	  Operações com uma constante à direita se trocam, na primeira execução,
+	  por uma subclasse que guarda a constante num campo long e não visita
+	  mais o nó Inteiro. Continuam sendo instâncias da operação original,
+	  então as passagens e os compiladores as tratam como antes.
+
+	  A conta é feita por Numeros, em long enquanto cabe e em BigInteger
+	  quando transborda.
+	 */
 	class ExpSoma extends OpBin<Expressao> implements Expressao {
 		ExpSoma(Expressao esq, Expressao dir) {
 			super(esq, dir);
 		}
 
 		@Override
-		public int getValor() {
-			return esq.getValor() + dir.getValor();
+		public long getValor(Contexto contexto) {
+			if (dir instanceof Inteiro k && Numeros.parcela(k.valor)) return substitua(new SomaConstante(esq, k)).getValor(contexto);
+			return Numeros.soma(esq.getValor(contexto), dir.getValor(contexto), contexto);
+		}
+	}
+
+	class SomaConstante extends ExpSoma {
+		private final long k;
+
+		SomaConstante(Expressao esq, Inteiro dir) {
+			super(esq, dir);
+			this.k = dir.valor;
+		}
+
+		@Override
+		public long getValor(Contexto contexto) {
+			return Numeros.somaConstante(esq.getValor(contexto), k, contexto);
 		}
 	}
 
@@ -282,8 +934,23 @@ interface Linguagem {
 		}
 
 		@Override
-		public int getValor() {
-			return esq.getValor() - dir.getValor();
+		public long getValor(Contexto contexto) {
+			if (dir instanceof Inteiro k && Numeros.parcela(k.valor)) return substitua(new SubConstante(esq, k)).getValor(contexto);
+			return Numeros.subtraia(esq.getValor(contexto), dir.getValor(contexto), contexto);
+		}
+	}
+
+	class SubConstante extends ExpSub {
+		private final long k;
+
+		SubConstante(Expressao esq, Inteiro dir) {
+			super(esq, dir);
+			this.k = dir.valor;
+		}
+
+		@Override
+		public long getValor(Contexto contexto) {
+			return Numeros.subtraiaConstante(esq.getValor(contexto), k, contexto);
 		}
 	}
 
@@ -293,8 +960,23 @@ interface Linguagem {
 		}
 
 		@Override
-		public int getValor() {
-			return esq.getValor() * dir.getValor();
+		public long getValor(Contexto contexto) {
+			if (dir instanceof Inteiro k && Numeros.fator(k.valor)) return substitua(new MultConstante(esq, k)).getValor(contexto);
+			return Numeros.multiplique(esq.getValor(contexto), dir.getValor(contexto), contexto);
+		}
+	}
+
+	class MultConstante extends ExpMult {
+		private final long k;
+
+		MultConstante(Expressao esq, Inteiro dir) {
+			super(esq, dir);
+			this.k = dir.valor;
+		}
+
+		@Override
+		public long getValor(Contexto contexto) {
+			return Numeros.multipliqueConstante(esq.getValor(contexto), k, contexto);
 		}
 	}
 
@@ -304,31 +986,69 @@ interface Linguagem {
 		}
 
 		@Override
-		public int getValor() {
-			return esq.getValor() / dir.getValor();
+		public long getValor(Contexto contexto) {
+			if (dir instanceof Inteiro k && k.valor != 0) return substitua(new DivConstante(esq, k)).getValor(contexto);
+			return Numeros.divida(esq.getValor(contexto), dir.getValor(contexto), contexto);
+		}
+	}
+
+	class DivConstante extends ExpDiv {
+		private final long k;
+
+		DivConstante(Expressao esq, Inteiro dir) {
+			super(esq, dir);
+			this.k = dir.valor;
+		}
+
+		@Override
+		public long getValor(Contexto contexto) {
+			return Numeros.divida(esq.getValor(contexto), k, contexto);
 		}
 	}
 
+	// potência inteira por quadrados sucessivos; as regras do expoente negativo estão em Numeros
 	class ExpPot extends OpBin<Expressao> implements Expressao {
 		ExpPot(Expressao esq, Expressao dir) {
 			super(esq, dir);
 		}
 
 		@Override
-		public int getValor() {
-			return (int) Math.pow(esq.getValor(), dir.getValor());
+		public long getValor(Contexto contexto) {
+			return Numeros.potencia(esq.getValor(contexto), dir.getValor(contexto), contexto);
+		}
+	}
+
+	// expoente literal, escolhida pelas Regras; os pequenos são multiplicações diretas
+	class PotConstante extends ExpPot {
+		private final long k;
+
+		PotConstante(Expressao esq, Inteiro dir) {
+			super(esq, dir);
+			this.k = dir.valor;
+		}
+
+		@Override
+		public long getValor(Contexto contexto) {
+			final long x = esq.getValor(contexto);
+			if (k == 0) {
+				Numeros.descarte(x, contexto);
+				return 1;
+			}
+			if (k == 1) return x;
+			if (k == 2 && x != Numeros.GRANDE) return Numeros.multiplique(x, x, contexto);
+			return Numeros.potencia(x, k, contexto);
 		}
 	}
 
-	class Booleano implements Bool {
-		private final boolean valor;
+	class Booleano extends No implements Bool {
+		final boolean valor;
 
 		Booleano(boolean valor) {
 			this.valor = valor;
 		}
 
 		@Override
-		public boolean getValor() {
+		public boolean getValor(Contexto contexto) {
 			return valor;
 		}
 	}
@@ -339,8 +1059,23 @@ interface Linguagem {
 		}
 
 		@Override
-		public boolean getValor() {
-			return esq.getValor() == dir.getValor();
+		public boolean getValor(Contexto contexto) {
+			if (dir instanceof Inteiro k) return substitua(new IgualConstante(esq, k)).getValor(contexto);
+			return Numeros.compare(esq.getValor(contexto), dir.getValor(contexto), contexto) == 0;
+		}
+	}
+
+	class IgualConstante extends ExpIgual {
+		private final long k;
+
+		IgualConstante(Expressao esq, Inteiro dir) {
+			super(esq, dir);
+			this.k = dir.valor;
+		}
+
+		@Override
+		public boolean getValor(Contexto contexto) {
+			return Numeros.compareConstante(esq.getValor(contexto), k, contexto) == 0;
 		}
 	}
 
@@ -350,8 +1085,23 @@ interface Linguagem {
 		}
 
 		@Override
-		public boolean getValor() {
-			return esq.getValor() <= dir.getValor();
+		public boolean getValor(Contexto contexto) {
+			if (dir instanceof Inteiro k) return substitua(new MenorIgualConstante(esq, k)).getValor(contexto);
+			return Numeros.compare(esq.getValor(contexto), dir.getValor(contexto), contexto) <= 0;
+		}
+	}
+
+	class MenorIgualConstante extends ExpMenorIgual {
+		private final long k;
+
+		MenorIgualConstante(Expressao esq, Inteiro dir) {
+			super(esq, dir);
+			this.k = dir.valor;
+		}
+
+		@Override
+		public boolean getValor(Contexto contexto) {
+			return Numeros.compareConstante(esq.getValor(contexto), k, contexto) <= 0;
 		}
 	}
 
@@ -361,8 +1111,8 @@ interface Linguagem {
 		}
 
 		@Override
-		public boolean getValor() {
-			return !operando.getValor();
+		public boolean getValor(Contexto contexto) {
+			return !operando.getValor(contexto);
 		}
 	}
 
@@ -372,8 +1122,8 @@ interface Linguagem {
 		}
 
 		@Override
-		public boolean getValor() {
-			return esq.getValor() && dir.getValor();
+		public boolean getValor(Contexto contexto) {
+			return esq.getValor(contexto) && dir.getValor(contexto);
 		}
 	}
 
@@ -383,8 +1133,8 @@ interface Linguagem {
 		}
 
 		@Override
-		public boolean getValor() {
-			return esq.getValor() || dir.getValor();
+		public boolean getValor(Contexto contexto) {
+			return esq.getValor(contexto) || dir.getValor(contexto);
 		}
 	}
 
@@ -394,8 +1144,8 @@ interface Linguagem {
 		}
 
 		@Override
-		public boolean getValor() {
-			return esq.getValor() ^ dir.getValor();
+		public boolean getValor(Contexto contexto) {
+			return esq.getValor(contexto) ^ dir.getValor(contexto);
 		}
 	}
 
@@ -405,8 +1155,23 @@ interface Linguagem {
 		}
 
 		@Override
-		public boolean getValor() {
-			return esq.getValor() != dir.getValor();
+		public boolean getValor(Contexto contexto) {
+			if (dir instanceof Inteiro k) return substitua(new DiferenteConstante(esq, k)).getValor(contexto);
+			return Numeros.compare(esq.getValor(contexto), dir.getValor(contexto), contexto) != 0;
+		}
+	}
+
+	class DiferenteConstante extends ExpDiferente {
+		private final long k;
+
+		DiferenteConstante(Expressao esq, Inteiro dir) {
+			super(esq, dir);
+			this.k = dir.valor;
+		}
+
+		@Override
+		public boolean getValor(Contexto contexto) {
+			return Numeros.compareConstante(esq.getValor(contexto), k, contexto) != 0;
 		}
 	}
 
@@ -416,8 +1181,23 @@ interface Linguagem {
 		}
 
 		@Override
-		public boolean getValor() {
-			return esq.getValor() > dir.getValor();
+		public boolean getValor(Contexto contexto) {
+			if (dir instanceof Inteiro k) return substitua(new MaiorConstante(esq, k)).getValor(contexto);
+			return Numeros.compare(esq.getValor(contexto), dir.getValor(contexto), contexto) > 0;
+		}
+	}
+
+	class MaiorConstante extends ExpMaior {
+		private final long k;
+
+		MaiorConstante(Expressao esq, Inteiro dir) {
+			super(esq, dir);
+			this.k = dir.valor;
+		}
+
+		@Override
+		public boolean getValor(Contexto contexto) {
+			return Numeros.compareConstante(esq.getValor(contexto), k, contexto) > 0;
 		}
 	}
 
@@ -427,8 +1207,23 @@ interface Linguagem {
 		}
 
 		@Override
-		public boolean getValor() {
-			return esq.getValor() < dir.getValor();
+		public boolean getValor(Contexto contexto) {
+			if (dir instanceof Inteiro k) return substitua(new MenorConstante(esq, k)).getValor(contexto);
+			return Numeros.compare(esq.getValor(contexto), dir.getValor(contexto), contexto) < 0;
+		}
+	}
+
+	class MenorConstante extends ExpMenor {
+		private final long k;
+
+		MenorConstante(Expressao esq, Inteiro dir) {
+			super(esq, dir);
+			this.k = dir.valor;
+		}
+
+		@Override
+		public boolean getValor(Contexto contexto) {
+			return Numeros.compareConstante(esq.getValor(contexto), k, contexto) < 0;
 		}
 	}
 
@@ -438,8 +1233,23 @@ interface Linguagem {
 		}
 
 		@Override
-		public boolean getValor() {
-			return esq.getValor() >= dir.getValor();
+		public boolean getValor(Contexto contexto) {
+			if (dir instanceof Inteiro k) return substitua(new MaiorIgualConstante(esq, k)).getValor(contexto);
+			return Numeros.compare(esq.getValor(contexto), dir.getValor(contexto), contexto) >= 0;
+		}
+	}
+
+	class MaiorIgualConstante extends ExpMaiorIgual {
+		private final long k;
+
+		MaiorIgualConstante(Expressao esq, Inteiro dir) {
+			super(esq, dir);
+			this.k = dir.valor;
+		}
+
+		@Override
+		public boolean getValor(Contexto contexto) {
+			return Numeros.compareConstante(esq.getValor(contexto), k, contexto) >= 0;
 		}
 	}
 }
@@ -0,0 +1,168 @@
+package plp.enquanto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/*
+  Modo --batch: executa vários programas na mesma JVM, em paralelo num
+  ForkJoinPool com o número de threads pedido. Cada programa tem o seu
+  Contexto; o leia vem do arquivo .in de mesmo nome, se existir, e a
+  saída e os erros são capturados e mostrados na ordem dos arquivos,
+  depois de um cabeçalho com o nome; de cada um guarda-se só o primeiro
+  MiB, para que um programa que escreve sem parar não esgote a memória
+  enquanto espera a sua vez. No fim, o tempo de cada programa,
+  a vazão e as latências p50 e p99 vão para a saída de erros.
+ */
+class Lote {
+
+	private static final int LIMITE = 1 << 20;
+
+	private record Resultado(Path arquivo, int status, long nanos, byte[] saida, byte[] erros) {}
+
+	static int execute(String padrao, int threads, List<String> opcoes) {
+		final List<Path> arquivos = arquivos(padrao);
+		if (arquivos.isEmpty()) throw new Principal.OpcaoInvalida("Nenhum programa encontrado em " + padrao);
+		final ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			final long inicio = System.nanoTime();
+			final List<Future<Resultado>> pendentes = new ArrayList<>();
+			for (Path arquivo : arquivos) pendentes.add(pool.submit(() -> execute(arquivo, opcoes)));
+			final List<Resultado> resultados = new ArrayList<>();
+			for (Future<Resultado> pendente : pendentes) {
+				final Resultado r = pendente.get();
+				resultados.add(r);
+				mostre(r);
+			}
+			relate(resultados, System.nanoTime() - inicio, threads);
+			return resultados.stream().mapToInt(Resultado::status).max().orElse(0);
+		} catch (InterruptedException | ExecutionException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static Resultado execute(Path arquivo, List<String> opcoes) {
+		final List<String> args = new ArrayList<>(opcoes);
+		final Path entrada = entrada(arquivo);
+		if (entrada != null) {
+			args.add("--input");
+			args.add(entrada.toString());
+		}
+		args.add(arquivo.toString());
+		final Captura saida = new Captura();
+		final Captura erros = new Captura();
+		final long inicio = System.nanoTime();
+		final int status = Principal.status(args.toArray(new String[0]), InputStream.nullInputStream(), saida,
+				new PrintStream(erros, true));
+		final long nanos = System.nanoTime() - inicio;
+		return new Resultado(arquivo, status, nanos, saida.conteudo(), erros.conteudo());
+	}
+
+	// guarda os primeiros LIMITE bytes e conta os que descartou
+	private static final class Captura extends ByteArrayOutputStream {
+		private long omitidos;
+
+		@Override
+		public synchronized void write(int b) {
+			if (count < LIMITE) super.write(b);
+			else omitidos++;
+		}
+
+		@Override
+		public synchronized void write(byte[] b, int off, int len) {
+			final int cabe = Math.min(len, LIMITE - count);
+			super.write(b, off, cabe);
+			omitidos += len - cabe;
+		}
+
+		synchronized byte[] conteudo() {
+			if (omitidos == 0) return toByteArray();
+			final byte[] aviso = (System.lineSeparator() + "... " + omitidos + " bytes omitidos" + System.lineSeparator())
+					.getBytes(StandardCharsets.UTF_8);
+			super.write(aviso, 0, aviso.length);
+			return toByteArray();
+		}
+	}
+
+	// x.while lê de x.in
+	private static Path entrada(Path arquivo) {
+		final String nome = arquivo.getFileName().toString();
+		final int ponto = nome.lastIndexOf('.');
+		final Path in = arquivo.resolveSibling((ponto > 0 ? nome.substring(0, ponto) : nome) + ".in");
+		return Files.isRegularFile(in) ? in : null;
+	}
+
+	/*
+	  Um diretório vale pelos seus arquivos .while; qualquer outra coisa é
+	  um glob, procurado a partir da parte do caminho sem curingas.
+	 */
+	static List<Path> arquivos(String padrao) {
+		final Path caminho = Path.of(padrao);
+		try {
+			if (Files.isDirectory(caminho)) {
+				try (Stream<Path> caminhos = Files.list(caminho)) {
+					return caminhos.filter(p -> p.toString().endsWith(".while")).filter(Files::isRegularFile).sorted().toList();
+				}
+			}
+			Path base = caminho.isAbsolute() ? caminho.getRoot() : Path.of("");
+			for (Path parte : caminho) {
+				if (parte.toString().matches(".*[*?\\[{].*")) break;
+				base = base.resolve(parte);
+			}
+			final Path inicio = base.toString().isEmpty() ? Path.of(".") : base;
+			final boolean relativo = inicio != base;
+			final PathMatcher filtro = FileSystems.getDefault().getPathMatcher("glob:" + padrao);
+			try (Stream<Path> caminhos = Files.walk(inicio)) {
+				return caminhos.map(p -> relativo ? inicio.relativize(p) : p)
+						.filter(filtro::matches).filter(Files::isRegularFile).sorted().toList();
+			}
+		} catch (IOException | UncheckedIOException e) {
+			throw new Principal.OpcaoInvalida("Lote inválido: " + e.getMessage());
+		}
+	}
+
+	private static void mostre(Resultado r) {
+		System.out.println("==> " + r.arquivo() + " <==");
+		System.out.write(r.saida(), 0, r.saida().length);
+		System.out.flush();
+		if (r.erros().length > 0) {
+			System.err.println("==> " + r.arquivo() + " <==");
+			System.err.write(r.erros(), 0, r.erros().length);
+			System.err.flush();
+		}
+	}
+
+	private static void relate(List<Resultado> resultados, long nanos, int threads) {
+		final PrintStream relatorio = System.err;
+		relatorio.println();
+		for (Resultado r : resultados) {
+			relatorio.printf("%10.1f ms  %-4s %s%n", r.nanos() / 1e6, r.status() == 0 ? "ok" : "erro", r.arquivo());
+		}
+		final long[] tempos = resultados.stream().mapToLong(Resultado::nanos).sorted().toArray();
+		final long falhas = resultados.stream().filter(r -> r.status() != 0).count();
+		relatorio.printf("%d programas (%d com erro) em %.1f ms com %d threads: %.1f programas/s, p50 %.1f ms, p99 %.1f ms%n",
+				tempos.length, falhas, nanos / 1e6, threads, tempos.length / (nanos / 1e9),
+				percentil(tempos, 0.50) / 1e6, percentil(tempos, 0.99) / 1e6);
+	}
+
+	// pelo posto mais próximo: o menor valor com pelo menos q dos tempos até ele
+	private static long percentil(long[] ordenados, double q) {
+		final int posto = (int) Math.ceil(q * ordenados.length);
+		return ordenados[Math.max(posto, 1) - 1];
+	}
+}
@@ -0,0 +1,264 @@
+package plp.enquanto;
+
+import java.math.BigInteger;
+
+import plp.enquanto.Linguagem.Comando;
+
+/*
+  Máquina de registradores para programas compilados pelo CompiladorVm.
+  O código é um único vetor de inteiros: cada instrução é o código da
+  operação seguido dos seus operandos. Os registradores começam com as
+  variáveis do programa, seguidas das constantes e dos temporários.
+
+  Os registradores são long; um registrador com Numeros.GRANDE tem o
+  valor em g[], no mesmo índice. As operações passam os grandes para
+  Numeros pela pilha do contexto, como o interpretador da árvore.
+ */
+class Maquina implements Comando {
+	// operação                  operandos
+	static final int FIM = 0;     // -
+	static final int MOV = 1;     // rd ra
+	static final int SOMA = 2;    // rd ra rb
+	static final int SUB = 3;     // rd ra rb
+	static final int MULT = 4;    // rd ra rb
+	static final int DIV = 5;     // rd ra rb
+	static final int POT = 6;     // rd ra rb
+	static final int XOR = 7;     // rd ra rb
+	static final int INC = 8;     // rd
+	static final int LEIA = 9;    // rd
+	static final int ESCREVA = 10; // ra
+	static final int EXIBA = 11;  // texto
+	static final int SALTO = 12;  // alvo
+	static final int SEIGUAL = 13;     // ra rb alvo
+	static final int SEDIFERENTE = 14; // ra rb alvo
+	static final int SEMENOR = 15;     // ra rb alvo
+	static final int SEMENORIGUAL = 16; // ra rb alvo
+	static final int SEMAIOR = 17;     // ra rb alvo
+	static final int SEMAIORIGUAL = 18; // ra rb alvo
+	static final int SEZERO = 19;      // ra alvo
+	static final int SENAOZERO = 20;   // ra alvo
+	static final int ESCOLHA = 21;     // ra n padrao (chave alvo)*n, chaves em ordem crescente
+	static final int ULTIMO = 22;      // rd ra rb rc alvo: último valor do para de ra até rb com passo rc; salta se vazio
+	static final int CONTAGEM = 23;    // ra: erro se as voltas do repita não couberem em 64 bits
+
+	private static final String[] NOMES = {
+		"fim", "mov", "soma", "sub", "mult", "div", "pot", "xor", "inc", "leia", "escreva", "exiba",
+		"salto", "seigual", "sediferente", "semenor", "semenorigual", "semaior", "semaiorigual",
+		"sezero", "senaozero", "escolha", "ultimo", "contagem"
+	};
+
+	// tipo de cada operando: r = registrador, a = alvo, t = texto
+	private static final String[] OPERANDOS = {
+		"", "rr", "rrr", "rrr", "rrr", "rrr", "rrr", "rrr", "r", "r", "r", "t",
+		"a", "rra", "rra", "rra", "rra", "rra", "rra", "ra", "ra", null, "rrrra", "r"
+	};
+
+	final int[] codigo;
+	final long[] constantes;
+	// o valor das constantes que são Numeros.GRANDE
+	final BigInteger[] grandes;
+	final int primeiraConstante;
+	final int registradores;
+	final String[] textos;
+	final byte[][] linhas;
+	final String[] variaveis;
+
+	Maquina(int[] codigo, long[] constantes, BigInteger[] grandes, int primeiraConstante, int registradores,
+			String[] textos, byte[][] linhas, String[] variaveis) {
+		this.codigo = codigo;
+		this.constantes = constantes;
+		this.grandes = grandes;
+		this.primeiraConstante = primeiraConstante;
+		this.registradores = registradores;
+		this.textos = textos;
+		this.linhas = linhas;
+		this.variaveis = variaveis;
+	}
+
+	@Override
+	public void execute(Contexto contexto) {
+		final int[] c = codigo;
+		final long[] r = new long[registradores];
+		final BigInteger[] g = new BigInteger[registradores];
+		System.arraycopy(constantes, 0, r, primeiraConstante, constantes.length);
+		System.arraycopy(grandes, 0, g, primeiraConstante, grandes.length);
+		int pc = 0;
+		while (true) {
+			switch (c[pc]) {
+				case FIM:
+					return;
+				case MOV:
+					r[c[pc + 1]] = r[c[pc + 2]];
+					g[c[pc + 1]] = g[c[pc + 2]];
+					pc += 3;
+					break;
+				case SOMA:
+					guarde(r, g, c[pc + 1], Numeros.soma(valor(r, g, c[pc + 2], contexto), valor(r, g, c[pc + 3], contexto), contexto), contexto);
+					pc += 4;
+					break;
+				case SUB:
+					guarde(r, g, c[pc + 1], Numeros.subtraia(valor(r, g, c[pc + 2], contexto), valor(r, g, c[pc + 3], contexto), contexto), contexto);
+					pc += 4;
+					break;
+				case MULT:
+					guarde(r, g, c[pc + 1], Numeros.multiplique(valor(r, g, c[pc + 2], contexto), valor(r, g, c[pc + 3], contexto), contexto), contexto);
+					pc += 4;
+					break;
+				case DIV:
+					guarde(r, g, c[pc + 1], Numeros.divida(valor(r, g, c[pc + 2], contexto), valor(r, g, c[pc + 3], contexto), contexto), contexto);
+					pc += 4;
+					break;
+				case POT:
+					guarde(r, g, c[pc + 1], Numeros.potencia(valor(r, g, c[pc + 2], contexto), valor(r, g, c[pc + 3], contexto), contexto), contexto);
+					pc += 4;
+					break;
+				case XOR:
+					r[c[pc + 1]] = r[c[pc + 2]] ^ r[c[pc + 3]];
+					pc += 4;
+					break;
+				case INC:
+					r[c[pc + 1]]++;
+					pc += 2;
+					break;
+				case LEIA:
+					guarde(r, g, c[pc + 1], Linguagem.leia.getValor(contexto), contexto);
+					pc += 2;
+					break;
+				case ESCREVA:
+					contexto.escreva(valor(r, g, c[pc + 1], contexto));
+					pc += 2;
+					break;
+				case EXIBA:
+					contexto.saida.escrevaLinha(linhas[c[pc + 1]]);
+					pc += 2;
+					break;
+				case SALTO:
+					pc = c[pc + 1];
+					break;
+				case SEIGUAL:
+					pc = Numeros.compare(valor(r, g, c[pc + 1], contexto), valor(r, g, c[pc + 2], contexto), contexto) == 0 ? c[pc + 3] : pc + 4;
+					break;
+				case SEDIFERENTE:
+					pc = Numeros.compare(valor(r, g, c[pc + 1], contexto), valor(r, g, c[pc + 2], contexto), contexto) != 0 ? c[pc + 3] : pc + 4;
+					break;
+				case SEMENOR:
+					pc = Numeros.compare(valor(r, g, c[pc + 1], contexto), valor(r, g, c[pc + 2], contexto), contexto) < 0 ? c[pc + 3] : pc + 4;
+					break;
+				case SEMENORIGUAL:
+					pc = Numeros.compare(valor(r, g, c[pc + 1], contexto), valor(r, g, c[pc + 2], contexto), contexto) <= 0 ? c[pc + 3] : pc + 4;
+					break;
+				case SEMAIOR:
+					pc = Numeros.compare(valor(r, g, c[pc + 1], contexto), valor(r, g, c[pc + 2], contexto), contexto) > 0 ? c[pc + 3] : pc + 4;
+					break;
+				case SEMAIORIGUAL:
+					pc = Numeros.compare(valor(r, g, c[pc + 1], contexto), valor(r, g, c[pc + 2], contexto), contexto) >= 0 ? c[pc + 3] : pc + 4;
+					break;
+				case SEZERO:
+					pc = r[c[pc + 1]] == 0 ? c[pc + 2] : pc + 3;
+					break;
+				case SENAOZERO:
+					pc = r[c[pc + 1]] != 0 ? c[pc + 2] : pc + 3;
+					break;
+				case ESCOLHA: {
+					// os rótulos são de 32 bits; um grande nunca é um deles
+					final long v = r[c[pc + 1]];
+					pc = v == (int) v ? escolha(c, pc, (int) v) : c[pc + 3];
+					break;
+				}
+				case ULTIMO: {
+					final long de = Numeros.contagem(valor(r, g, c[pc + 2], contexto), contexto);
+					final long ate = Numeros.contagem(valor(r, g, c[pc + 3], contexto), contexto);
+					final long passo = Numeros.contagem(valor(r, g, c[pc + 4], contexto), contexto);
+					if (Linguagem.Para.vazio(de, ate, passo)) {
+						pc = c[pc + 5];
+					} else {
+						r[c[pc + 1]] = Linguagem.Para.ultimo(de, ate, passo);
+						pc += 6;
+					}
+					break;
+				}
+				case CONTAGEM:
+					Numeros.contagem(valor(r, g, c[pc + 1], contexto), contexto);
+					pc += 2;
+					break;
+				default:
+					throw new IllegalStateException("Operação inválida " + c[pc] + " em " + pc);
+			}
+		}
+	}
+
+	// o valor do registrador para Numeros, com o grande na pilha do contexto
+	private static long valor(long[] r, BigInteger[] g, int i, Contexto contexto) {
+		final long v = r[i];
+		if (v == Numeros.GRANDE) contexto.empilhe(g[i]);
+		return v;
+	}
+
+	private static void guarde(long[] r, BigInteger[] g, int i, long v, Contexto contexto) {
+		r[i] = v;
+		if (v == Numeros.GRANDE) g[i] = contexto.desempilhe();
+	}
+
+	private static int escolha(int[] c, int pc, int valor) {
+		int baixo = 0;
+		int alto = c[pc + 2] - 1;
+		final int casos = pc + 4;
+		while (baixo <= alto) {
+			final int meio = (baixo + alto) >>> 1;
+			final int chave = c[casos + 2 * meio];
+			if (chave < valor) baixo = meio + 1;
+			else if (chave > valor) alto = meio - 1;
+			else return c[casos + 2 * meio + 1];
+		}
+		return c[pc + 3];
+	}
+
+	/*
+	  Listagem legível do código, uma instrução por linha.
+	 */
+	String desmonte() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("; ").append(registradores).append(" registradores, ")
+		  .append(codigo.length).append(" palavras de código\n");
+		for (int i = 0; i < constantes.length; i++) {
+			sb.append("; ").append(registrador(primeiraConstante + i)).append(" = ").append(constante(i)).append('\n');
+		}
+		int pc = 0;
+		while (pc < codigo.length) {
+			final int op = codigo[pc];
+			sb.append(String.format("%5d  %-13s", pc, NOMES[op]));
+			if (op == ESCOLHA) {
+				final int n = codigo[pc + 2];
+				sb.append(registrador(codigo[pc + 1])).append(", padrao -> ").append(codigo[pc + 3]);
+				for (int i = 0; i < n; i++) {
+					sb.append(", ").append(codigo[pc + 4 + 2 * i]).append(" -> ").append(codigo[pc + 5 + 2 * i]);
+				}
+				pc += 4 + 2 * n;
+			} else {
+				final String tipos = OPERANDOS[op];
+				for (int i = 0; i < tipos.length(); i++) {
+					if (i > 0) sb.append(", ");
+					final int v = codigo[pc + 1 + i];
+					switch (tipos.charAt(i)) {
+						case 'r' -> sb.append(registrador(v));
+						case 'a' -> sb.append("-> ").append(v);
+						default  -> sb.append('"').append(textos[v]).append('"');
+					}
+				}
+				pc += 1 + tipos.length();
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	private String registrador(int r) {
+		if (r < variaveis.length && variaveis[r] != null) return variaveis[r];
+		if (r >= primeiraConstante && r < primeiraConstante + constantes.length) return "#" + constante(r - primeiraConstante);
+		return "r" + r;
+	}
+
+	private Object constante(int i) {
+		return grandes[i] != null ? grandes[i] : (Object) constantes[i];
+	}
+}
@@ -0,0 +1,81 @@
+package plp.enquanto;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/*
+  Contadores de todas as execuções desta JVM. Cada programa conta no seu
+  Contexto, em campos comuns, sem sincronização; aqui ficam só os totais
+  dos que terminaram e os contextos dos que estão executando, lidos quando
+  alguém consulta o MBean. Os valores dos ativos podem estar um pouco
+  atrasados, o que basta para acompanhar a execução.
+
+  Os comandos são contados pelo interpretador da árvore; os programas
+  compilados com --vm e --jvm não contam comandos.
+
+  O registro no servidor de MBeans da plataforma custa centenas de
+  milissegundos, então só é feito pelos modos que ficam no ar (--daemon e
+  --batch) ou quando a propriedade plp.enquanto.jmx é true.
+ */
+class Metricas implements MetricasMBean {
+	static final Metricas METRICAS = new Metricas();
+
+	private final Map<Contexto, long[]> ativos = new ConcurrentHashMap<>();
+	private final LongAdder comandos = new LongAdder();
+	private final LongAdder leituras = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+
+	private Metricas() {}
+
+	static void registre() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(METRICAS, new ObjectName("plp.enquanto:type=Metricas"));
+		} catch (JMException e) {
+			System.err.println("Métricas JMX indisponíveis: " + e.getMessage());
+		}
+	}
+
+	// o contexto pode já ter contado antes, na construção ou numa execução anterior
+	void inicie(Contexto contexto) {
+		ativos.put(contexto, new long[] {contexto.comandos, contexto.entrada.lidos(), contexto.saida.escritos()});
+	}
+
+	void termine(Contexto contexto) {
+		final long[] base = ativos.remove(contexto);
+		if (base == null) return;
+		comandos.add(contexto.comandos - base[0]);
+		leituras.add(contexto.entrada.lidos() - base[1]);
+		bytes.add(contexto.saida.escritos() - base[2]);
+	}
+
+	@Override
+	public long getComandosExecutados() {
+		long n = comandos.sum();
+		for (Map.Entry<Contexto, long[]> a : ativos.entrySet()) n += a.getKey().comandos - a.getValue()[0];
+		return n;
+	}
+
+	@Override
+	public long getLeituras() {
+		long n = leituras.sum();
+		for (Map.Entry<Contexto, long[]> a : ativos.entrySet()) n += a.getKey().entrada.lidos() - a.getValue()[1];
+		return n;
+	}
+
+	@Override
+	public long getBytesEscritos() {
+		long n = bytes.sum();
+		for (Map.Entry<Contexto, long[]> a : ativos.entrySet()) n += a.getKey().saida.escritos() - a.getValue()[2];
+		return n;
+	}
+
+	@Override
+	public int getProgramasAtivos() {
+		return ativos.size();
+	}
+}
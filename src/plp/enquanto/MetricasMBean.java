@@ -0,0 +1,15 @@
+package plp.enquanto;
+
+/*
+  Interface JMX das Metricas, em plp.enquanto:type=Metricas. Os
+  contadores somam os programas já terminados e os que estão executando.
+ */
+public interface MetricasMBean {
+	long getComandosExecutados();
+
+	long getLeituras();
+
+	long getBytesEscritos();
+
+	int getProgramasAtivos();
+}
@@ -0,0 +1,206 @@
+package plp.enquanto;
+
+import java.math.BigInteger;
+
+/*
+  Aritmética dos inteiros da linguagem, que não têm limite. Os valores
+  circulam como long, sem caixas; um valor que não cabe em 64 bits é
+  representado pela marca GRANDE (Long.MIN_VALUE, que por isso nunca é um
+  valor comum) e o BigInteger correspondente vai para a pilha de grandes
+  do Contexto. Quem produz a marca empilha o valor e quem a consome o
+  desempilha; como as expressões são avaliadas da esquerda para a
+  direita, a pilha acompanha a ordem dos operandos.
+
+  Cada operação faz a conta em long e só passa para BigInteger quando um
+  operando é grande ou o resultado transborda. O caminho rápido fica
+  pequeno para ser embutido pelo JIT em quem chama; o lento fica à parte.
+ */
+final class Numeros {
+	private Numeros() {}
+
+	static final long GRANDE = Long.MIN_VALUE;
+
+	/*
+	  Faixas em que a conta em long não transborda nem dá a marca: de -2^61
+	  a 2^61 - 1 para a soma e a subtração e de -2^31 a 2^31 - 1 para a
+	  multiplicação. Somar o deslocamento leva a faixa para 0 .. 2^62 - 1
+	  ou 0 .. 2^32 - 1, e um só teste dos bits altos confere os dois
+	  operandos, marca incluída. Fora delas a conta ainda é tentada em long,
+	  à parte, antes do BigInteger.
+	 */
+	private static final long PARCELA = 1L << 61;
+	private static final long FATOR = 1L << 31;
+
+	private static final BigInteger MENOR = BigInteger.valueOf(Long.MIN_VALUE);
+	private static final BigInteger MAIOR = BigInteger.valueOf(Long.MAX_VALUE);
+
+	// o valor, se couber num long comum; senão empilha e devolve a marca
+	static long reduza(BigInteger v, Contexto contexto) {
+		if (cabe(v)) return v.longValue();
+		contexto.empilhe(v);
+		return GRANDE;
+	}
+
+	// cabe num long sem ser a marca
+	static boolean cabe(BigInteger v) {
+		return v.compareTo(MENOR) > 0 && v.compareTo(MAIOR) <= 0;
+	}
+
+	// o valor completo; a marca tira o seu da pilha
+	static BigInteger grande(long v, Contexto contexto) {
+		return v == GRANDE ? contexto.desempilhe() : BigInteger.valueOf(v);
+	}
+
+	// descarta um valor que não vai ser usado, sem deixar nada na pilha
+	static void descarte(long v, Contexto contexto) {
+		if (v == GRANDE) contexto.desempilhe();
+	}
+
+	// a constante fica na faixa da soma e da subtração
+	static boolean parcela(long k) {
+		return (k + PARCELA) >>> 62 == 0;
+	}
+
+	// a constante fica na faixa da multiplicação
+	static boolean fator(long k) {
+		return (k + FATOR) >>> 32 == 0;
+	}
+
+	static long soma(long a, long b, Contexto contexto) {
+		if (((a + PARCELA) | (b + PARCELA)) >>> 62 == 0) return a + b;
+		return somaLonga(a, b, contexto);
+	}
+
+	// k já conferido com parcela() por quem o guarda: basta olhar o outro operando
+	static long somaConstante(long a, long k, Contexto contexto) {
+		if ((a + PARCELA) >>> 62 == 0) return a + k;
+		return somaLonga(a, k, contexto);
+	}
+
+	private static long somaLonga(long a, long b, Contexto contexto) {
+		final long r = a + b;
+		if (((a ^ r) & (b ^ r)) >= 0 && a != GRANDE && b != GRANDE && r != GRANDE) return r;
+		final BigInteger y = grande(b, contexto);
+		return reduza(grande(a, contexto).add(y), contexto);
+	}
+
+	static long subtraia(long a, long b, Contexto contexto) {
+		if (((a + PARCELA) | (b + PARCELA)) >>> 62 == 0) return a - b;
+		return subtraiaLonga(a, b, contexto);
+	}
+
+	static long subtraiaConstante(long a, long k, Contexto contexto) {
+		if ((a + PARCELA) >>> 62 == 0) return a - k;
+		return subtraiaLonga(a, k, contexto);
+	}
+
+	private static long subtraiaLonga(long a, long b, Contexto contexto) {
+		final long r = a - b;
+		if (((a ^ b) & (a ^ r)) >= 0 && a != GRANDE && b != GRANDE && r != GRANDE) return r;
+		final BigInteger y = grande(b, contexto);
+		return reduza(grande(a, contexto).subtract(y), contexto);
+	}
+
+	static long multiplique(long a, long b, Contexto contexto) {
+		if (((a + FATOR) | (b + FATOR)) >>> 32 == 0) return a * b;
+		return multipliqueLonga(a, b, contexto);
+	}
+
+	// k já conferido com fator()
+	static long multipliqueConstante(long a, long k, Contexto contexto) {
+		if ((a + FATOR) >>> 32 == 0) return a * k;
+		return multipliqueLonga(a, k, contexto);
+	}
+
+	private static long multipliqueLonga(long a, long b, Contexto contexto) {
+		final long r = a * b;
+		if (Math.multiplyHigh(a, b) == r >> 63 && a != GRANDE && b != GRANDE && r != GRANDE) return r;
+		final BigInteger y = grande(b, contexto);
+		return reduza(grande(a, contexto).multiply(y), contexto);
+	}
+
+	// trunca em direção a zero, como a divisão do Java
+	static long divida(long a, long b, Contexto contexto) {
+		if (a != GRANDE && b != GRANDE) return a / b;
+		return dividaGrande(a, b, contexto);
+	}
+
+	private static long dividaGrande(long a, long b, Contexto contexto) {
+		final BigInteger y = grande(b, contexto);
+		final BigInteger x = grande(a, contexto);
+		if (y.signum() == 0) throw new ArithmeticException("/ by zero");
+		return reduza(x.divide(y), contexto);
+	}
+
+	/*
+	  Por quadrados sucessivos em long; no primeiro transbordamento a conta
+	  recomeça com BigInteger. Com expoente negativo o resultado é a parte
+	  inteira de 1 / a ^ -b, como na divisão: 1 para a base 1, 1 ou -1 para
+	  a base -1, erro de divisão por zero para a base 0 e 0 para as demais.
+	 */
+	static long potencia(long a, long b, Contexto contexto) {
+		if (a == GRANDE || b == GRANDE) return potenciaGrande(grande(b, contexto), a, contexto);
+		if (b < 0) return negativa(a, (b & 1) == 0);
+		long base = a;
+		long e = b;
+		long r = 1;
+		while (true) {
+			if ((e & 1) != 0) {
+				final long m = r * base;
+				if (Math.multiplyHigh(r, base) != m >> 63) return potenciaGrande(BigInteger.valueOf(b), a, contexto);
+				r = m;
+			}
+			e >>>= 1;
+			if (e == 0) break;
+			final long q = base * base;
+			if (Math.multiplyHigh(base, base) != q >> 63) return potenciaGrande(BigInteger.valueOf(b), a, contexto);
+			base = q;
+		}
+		if (r == GRANDE) return reduza(MENOR, contexto);
+		return r;
+	}
+
+	private static long potenciaGrande(BigInteger expoente, long a, Contexto contexto) {
+		final BigInteger base = grande(a, contexto);
+		final boolean pequena = cabe(base);
+		if (expoente.signum() < 0) return pequena ? negativa(base.longValue(), !expoente.testBit(0)) : 0;
+		if (expoente.signum() == 0) return 1;
+		if (pequena && Math.abs(base.longValue()) <= 1) return base.longValue() != -1 || expoente.testBit(0) ? base.longValue() : 1;
+		if (expoente.bitLength() > 31) throw new ArithmeticException("BigInteger would overflow supported range");
+		return reduza(base.pow(expoente.intValue()), contexto);
+	}
+
+	private static long negativa(long base, boolean par) {
+		if (base == 0) throw new ArithmeticException("/ by zero");
+		if (base == 1) return 1;
+		if (base == -1) return par ? 1 : -1;
+		return 0;
+	}
+
+	static int compare(long a, long b, Contexto contexto) {
+		if (a != GRANDE && b != GRANDE) return Long.compare(a, b);
+		return compareGrande(a, b, contexto);
+	}
+
+	private static int compareGrande(long a, long b, Contexto contexto) {
+		final BigInteger y = grande(b, contexto);
+		return grande(a, contexto).compareTo(y);
+	}
+
+	/*
+	  Comparação com uma constante comum: um valor grande está fora da faixa
+	  do long, então fica acima ou abaixo de qualquer constante conforme o
+	  sinal.
+	 */
+	static int compareConstante(long a, long k, Contexto contexto) {
+		if (a != GRANDE) return Long.compare(a, k);
+		return contexto.desempilhe().signum();
+	}
+
+	// limites do para e voltas do repita
+	static long contagem(long v, Contexto contexto) {
+		if (v != GRANDE) return v;
+		contexto.desempilhe();
+		throw new ArithmeticException("Contagem de laço fora de 64 bits");
+	}
+}
@@ -0,0 +1,219 @@
+package plp.enquanto;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Passagem do modo --profile: resolve as variáveis como o Resolvedor e
+  envolve cada comando, expressão e booleano num nó que conta as execuções
+  e mede o tempo total e o próprio (sem o dos filhos medidos). Constantes,
+  variáveis, leia e skip não são envolvidos; o tempo deles fica com o pai.
+  A posição de cada nó vem das Regras; os que ela não anotou, como os
+  senaose de um se, ficam com a do nó de cima. As iterações de um laço são
+  as execuções do seu corpo.
+
+  Sem --profile esta passagem não é aplicada e a árvore não tem nenhum
+  nó de medida. Com ela, o Simplificador não é aplicado, para que cada nó
+  medido corresponda ao que está escrito no fonte.
+ */
+class Perfilador extends Resolvedor {
+	record Posicao(int linha, int coluna) {}
+
+	private static final int LINHAS = 20;
+
+	static final class Medida {
+		final Posicao posicao;
+		final String no;
+		long execucoes;
+		long total;
+		long proprio;
+		// nos laços, a medida do corpo
+		Medida corpo;
+
+		Medida(Posicao posicao, String no) {
+			this.posicao = posicao;
+			this.no = no;
+		}
+	}
+
+	private final Map<No, Posicao> posicoes;
+	private final List<Medida> medidas = new ArrayList<>();
+	private Posicao atual = new Posicao(0, 0);
+	// tempo dos filhos já medidos dentro da medida em andamento
+	private long filhos;
+
+	Perfilador(Map<No, Posicao> posicoes) {
+		this.posicoes = posicoes;
+	}
+
+	@Override
+	protected Comando comando(Comando c) {
+		if (c == null || c instanceof Skip) return super.comando(c);
+		final Posicao fora = atual;
+		final Medida medida = medida(c);
+		try {
+			final Comando novo = super.comando(c);
+			if (novo instanceof Enquanto e) medida.corpo = corpo(e.comando);
+			if (novo instanceof ParaLocal p) medida.corpo = corpo(p.comando);
+			if (novo instanceof Repita r) medida.corpo = corpo(r.comando);
+			return new ComandoMedido(novo, medida);
+		} finally {
+			atual = fora;
+		}
+	}
+
+	@Override
+	protected Expressao expressao(Expressao e) {
+		if (e == null || e instanceof Inteiro || e instanceof Id || e instanceof IdLocal || e instanceof Leia) {
+			return super.expressao(e);
+		}
+		final Posicao fora = atual;
+		final Medida medida = medida(e);
+		try {
+			return new ExpressaoMedida(super.expressao(e), medida);
+		} finally {
+			atual = fora;
+		}
+	}
+
+	@Override
+	protected Bool bool(Bool b) {
+		if (b == null || b instanceof Booleano) return super.bool(b);
+		final Posicao fora = atual;
+		final Medida medida = medida(b);
+		try {
+			return new BoolMedido(super.bool(b), medida);
+		} finally {
+			atual = fora;
+		}
+	}
+
+	private Medida medida(Object no) {
+		if (no instanceof No n) atual = posicoes.getOrDefault(n, atual);
+		final Medida medida = new Medida(atual, no.getClass().getSimpleName());
+		medidas.add(medida);
+		return medida;
+	}
+
+	private static Medida corpo(Comando corpo) {
+		return corpo instanceof ComandoMedido m ? m.medida : null;
+	}
+
+	private long inicie() {
+		final long fora = filhos;
+		filhos = 0;
+		return fora;
+	}
+
+	private void termine(Medida medida, long fora, long inicio) {
+		final long tempo = System.nanoTime() - inicio;
+		medida.execucoes++;
+		medida.total += tempo;
+		medida.proprio += tempo - filhos;
+		filhos = fora + tempo;
+	}
+
+	/*
+	  Os LINHAS nós com mais tempo próprio. O tempo inclui o custo da
+	  própria medição, que pesa mais nos nós pequenos.
+	 */
+	void relate(PrintStream destino, long nanos) {
+		final List<Medida> quentes = new ArrayList<>();
+		for (Medida m : medidas) {
+			if (m.execucoes > 0) quentes.add(m);
+		}
+		quentes.sort(Comparator.comparingLong((Medida m) -> m.proprio).reversed());
+		destino.printf("%nPerfil: %.1f ms no total, %d de %d nós executados%n", nanos / 1e6, quentes.size(), medidas.size());
+		destino.printf("%-10s %-22s %12s %12s %12s %12s %7s%n", "posição", "nó", "execuções", "iterações", "próprio ms",
+				"total ms", "%");
+		for (Medida m : quentes.subList(0, Math.min(LINHAS, quentes.size()))) {
+			destino.printf("%-10s %-22s %12d %12s %12.3f %12.3f %6.1f%%%n", m.posicao.linha() + ":" + m.posicao.coluna(),
+					m.no, m.execucoes, m.corpo == null ? "" : Long.toString(m.corpo.execucoes), m.proprio / 1e6,
+					m.total / 1e6, nanos == 0 ? 0 : 100.0 * m.proprio / nanos);
+		}
+		destino.flush();
+	}
+
+	private final class ComandoMedido extends No implements Comando {
+		Comando comando;
+		final Medida medida;
+
+		ComandoMedido(Comando comando, Medida medida) {
+			this.comando = adote(comando);
+			this.medida = medida;
+		}
+
+		@Override
+		public void execute(Contexto contexto) {
+			final long fora = inicie();
+			final long inicio = System.nanoTime();
+			try {
+				comando.execute(contexto);
+			} finally {
+				termine(medida, fora, inicio);
+			}
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			if (comando == antigo) comando = (Comando) novo;
+		}
+	}
+
+	private final class ExpressaoMedida extends No implements Expressao {
+		Expressao exp;
+		final Medida medida;
+
+		ExpressaoMedida(Expressao exp, Medida medida) {
+			this.exp = adote(exp);
+			this.medida = medida;
+		}
+
+		@Override
+		public long getValor(Contexto contexto) {
+			final long fora = inicie();
+			final long inicio = System.nanoTime();
+			try {
+				return exp.getValor(contexto);
+			} finally {
+				termine(medida, fora, inicio);
+			}
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			if (exp == antigo) exp = (Expressao) novo;
+		}
+	}
+
+	private final class BoolMedido extends No implements Bool {
+		Bool bool;
+		final Medida medida;
+
+		BoolMedido(Bool bool, Medida medida) {
+			this.bool = adote(bool);
+			this.medida = medida;
+		}
+
+		@Override
+		public boolean getValor(Contexto contexto) {
+			final long fora = inicie();
+			final long inicio = System.nanoTime();
+			try {
+				return bool.getValor(contexto);
+			} finally {
+				termine(medida, fora, inicio);
+			}
+		}
+
+		@Override
+		void troque(No antigo, No novo) {
+			if (bool == antigo) bool = (Bool) novo;
+		}
+	}
+}
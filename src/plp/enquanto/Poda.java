@@ -0,0 +1,303 @@
+package plp.enquanto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Remove o código que não tem efeito observável, depois do Simplificador.
+
+  Primeiro os ramos mortos: um se cuja condição virou constante dá lugar
+  ao ramo escolhido, e um enquanto falso desaparece. Depois, numa análise
+  de variáveis vivas de trás para frente (os laços até o ponto fixo), as
+  atribuições cujo valor nunca é lido: num programa só o escreva e o
+  exiba observam valores, e no fim nenhuma variável está viva. Um alvo
+  morto só sai junto com a sua expressão se ela for pura
+  (Simplificador.puro); um leia ou uma divisão que pode falhar ficam onde
+  estão, com a atribuição inteira, para consumir a entrada e falhar como
+  antes. Um se que fica sem nada nos dois ramos sai se a condição for
+  pura.
+
+  A variável do para conta como escrita a cada volta, mas não como
+  apagada na entrada do laço, que pode não executar nenhuma vez.
+
+  Um programa com erro de sintaxe, que tem filhos nulos, só perde os
+  ramos mortos: a análise trataria o nulo como nada e tiraria o comando
+  que deve falhar ao executar.
+ */
+class Poda extends Transformador {
+	int ramos;
+	int atribuicoes;
+	int alvos;
+	private boolean incompleto;
+
+	@Override
+	public Programa transforme(Programa programa) {
+		final Programa podado = super.transforme(programa);
+		if (incompleto) return podado;
+		return new Programa(sequencia(podado.comandos, new HashSet<>()), podado.variaveis, podado.simbolos);
+	}
+
+	@Override
+	protected Expressao expressao(Expressao e) {
+		if (e == null) incompleto = true;
+		return super.expressao(e);
+	}
+
+	@Override
+	protected Bool bool(Bool b) {
+		if (b == null) incompleto = true;
+		return super.bool(b);
+	}
+
+	@Override
+	protected Comando comando(Comando c) {
+		if (c == null) incompleto = true;
+		if (c instanceof Se se && se.condicao instanceof Booleano b) {
+			ramos++;
+			return comando(b.valor ? se.entao : se.senao);
+		}
+		if (c instanceof Enquanto e && e.condicao instanceof Booleano b && !b.valor) {
+			ramos++;
+			return new Skip();
+		}
+		return super.comando(c);
+	}
+
+	// comandos de trás para frente; vivas termina com as variáveis vivas na entrada
+	private List<Comando> sequencia(List<Comando> comandos, Set<Integer> vivas) {
+		final List<Comando> mantidos = new ArrayList<>();
+		for (int i = comandos.size() - 1; i >= 0; i--) {
+			final Comando c = elimine(comandos.get(i), vivas);
+			if (c != null) mantidos.add(c);
+		}
+		Collections.reverse(mantidos);
+		return mantidos;
+	}
+
+	/*
+	  Recebe em vivas as variáveis lidas depois de c e as troca pelas lidas
+	  a partir de c. Devolve c sem as atribuições mortas, ou null se nada
+	  sobrar.
+	 */
+	private Comando elimine(Comando c, Set<Integer> vivas) {
+		if (c instanceof Atribuicao a) {
+			final boolean[] mantidos = mantidos(a, vivas);
+			analise(a, mantidos, vivas);
+			if (a.simbolos.length != a.exps.size()) return a;
+			final List<Integer> ids = new ArrayList<>();
+			final List<Expressao> exps = new ArrayList<>();
+			for (int i = 0; i < mantidos.length; i++) {
+				if (mantidos[i]) {
+					ids.add(a.simbolos[i]);
+					exps.add(a.exps.get(i));
+				}
+			}
+			if (ids.isEmpty()) {
+				atribuicoes++;
+				return null;
+			}
+			if (ids.size() == a.simbolos.length) return a;
+			alvos += a.simbolos.length - ids.size();
+			return Regras.atribuicao(ids.stream().mapToInt(Integer::intValue).toArray(), exps);
+		}
+		if (c instanceof Bloco b) {
+			final List<Comando> comandos = sequencia(b.comandos, vivas);
+			return comandos.isEmpty() ? null : new Bloco(comandos);
+		}
+		if (c instanceof Se se) {
+			final Set<Integer> senao = new HashSet<>(vivas);
+			final Comando entao = elimine(se.entao, vivas);
+			final Comando outro = elimine(se.senao, senao);
+			if (entao == null && outro == null && Simplificador.condicaoPura(se.condicao)) {
+				ramos++;
+				return null;
+			}
+			vivas.addAll(senao);
+			leiturasCondicao(se.condicao, vivas);
+			return new Se(se.condicao, ou(entao), ou(outro));
+		}
+		if (c instanceof Enquanto e) {
+			final Set<Integer> cabeca = ponto(vivas, corpo -> {
+				final Set<Integer> s = entrada(e.comando, corpo);
+				leiturasCondicao(e.condicao, s);
+				return s;
+			});
+			final Comando corpo = elimine(e.comando, new HashSet<>(cabeca));
+			vivas.clear();
+			vivas.addAll(cabeca);
+			return new Enquanto(e.condicao, ou(corpo));
+		}
+		if (c instanceof Para p) {
+			final Set<Integer> volta = ponto(vivas, corpo -> {
+				final Set<Integer> s = entrada(p.comando, corpo);
+				s.remove(p.simbolo);
+				return s;
+			});
+			final Comando corpo = elimine(p.comando, new HashSet<>(volta));
+			vivas.clear();
+			vivas.addAll(volta);
+			leituras(p.de, vivas);
+			leituras(p.ate, vivas);
+			leituras(p.passo, vivas);
+			return new Para(p.simbolo, p.de, p.ate, p.passo, ou(corpo));
+		}
+		if (c instanceof Repita r) {
+			final Set<Integer> volta = ponto(vivas, corpo -> entrada(r.comando, corpo));
+			final Comando corpo = elimine(r.comando, new HashSet<>(volta));
+			vivas.clear();
+			vivas.addAll(volta);
+			leituras(r.vezes, vivas);
+			return new Repita(r.vezes, ou(corpo));
+		}
+		if (c instanceof Escolha e) {
+			final Set<Integer> saida = new HashSet<>(vivas);
+			final Map<Integer, Comando> casos = new LinkedHashMap<>();
+			for (Map.Entry<Integer, Comando> caso : e.casos.entrySet()) {
+				final Set<Integer> s = new HashSet<>(saida);
+				casos.put(caso.getKey(), ou(elimine(caso.getValue(), s)));
+				vivas.addAll(s);
+			}
+			Comando padrao = null;
+			if (e.padrao != null) {
+				final Set<Integer> s = new HashSet<>(saida);
+				padrao = ou(elimine(e.padrao, s));
+				vivas.addAll(s);
+			}
+			leituras(e.expressao, vivas);
+			return Regras.escolha(e.expressao, casos, padrao);
+		}
+		if (c instanceof Skip) return null;
+		analise(c, vivas);
+		return c;
+	}
+
+	private static Comando ou(Comando c) {
+		return c != null ? c : new Skip();
+	}
+
+	private interface Corpo {
+		Set<Integer> entrada(Set<Integer> saida);
+	}
+
+	/*
+	  Variáveis vivas no começo de cada volta de um laço: as vivas depois
+	  dele mais as que o corpo lê, com a saída do corpo sendo o próprio
+	  começo da volta seguinte.
+	 */
+	private static Set<Integer> ponto(Set<Integer> depois, Corpo corpo) {
+		Set<Integer> volta = new HashSet<>(depois);
+		while (true) {
+			final Set<Integer> nova = corpo.entrada(volta);
+			nova.addAll(depois);
+			if (nova.equals(volta)) return volta;
+			volta = nova;
+		}
+	}
+
+	// só a análise, sem reconstruir nada: as variáveis vivas na entrada de c
+	private static Set<Integer> entrada(Comando c, Set<Integer> saida) {
+		final Set<Integer> vivas = new HashSet<>(saida);
+		analise(c, vivas);
+		return vivas;
+	}
+
+	private static void analise(Comando c, Set<Integer> vivas) {
+		if (c instanceof Atribuicao a) {
+			analise(a, mantidos(a, vivas), vivas);
+		} else if (c instanceof Bloco b) {
+			for (int i = b.comandos.size() - 1; i >= 0; i--) analise(b.comandos.get(i), vivas);
+		} else if (c instanceof Se se) {
+			final Set<Integer> senao = entrada(se.senao, vivas);
+			analise(se.entao, vivas);
+			vivas.addAll(senao);
+			leiturasCondicao(se.condicao, vivas);
+		} else if (c instanceof Enquanto e) {
+			final Set<Integer> cabeca = ponto(vivas, corpo -> {
+				final Set<Integer> s = entrada(e.comando, corpo);
+				leiturasCondicao(e.condicao, s);
+				return s;
+			});
+			vivas.addAll(cabeca);
+		} else if (c instanceof Para p) {
+			vivas.addAll(ponto(vivas, corpo -> {
+				final Set<Integer> s = entrada(p.comando, corpo);
+				s.remove(p.simbolo);
+				return s;
+			}));
+			leituras(p.de, vivas);
+			leituras(p.ate, vivas);
+			leituras(p.passo, vivas);
+		} else if (c instanceof Repita r) {
+			vivas.addAll(ponto(vivas, corpo -> entrada(r.comando, corpo)));
+			leituras(r.vezes, vivas);
+		} else if (c instanceof Escolha e) {
+			final Set<Integer> saida = new HashSet<>(vivas);
+			for (Comando caso : e.casos.values()) vivas.addAll(entrada(caso, saida));
+			if (e.padrao != null) vivas.addAll(entrada(e.padrao, saida));
+			leituras(e.expressao, vivas);
+		} else if (c instanceof Escreva e) {
+			leituras(e.exp, vivas);
+		} else if (c instanceof Exiba e && e.conteudo instanceof Expressao exp) {
+			leituras(exp, vivas);
+		}
+	}
+
+	/*
+	  Pares alvo := expressão que ficam: o alvo é lido depois e não é
+	  sobrescrito mais adiante na mesma atribuição, ou a expressão não é
+	  pura. Com alvos e expressões em número diferente, ficam todos.
+	 */
+	private static boolean[] mantidos(Atribuicao a, Set<Integer> vivas) {
+		final boolean[] mantidos = new boolean[a.simbolos.length];
+		final boolean completa = a.simbolos.length == a.exps.size();
+		final Set<Integer> adiante = new HashSet<>();
+		for (int i = mantidos.length - 1; i >= 0; i--) {
+			final int alvo = a.simbolos[i];
+			mantidos[i] = !completa || (vivas.contains(alvo) && !adiante.contains(alvo)) || !Simplificador.puro(a.exps.get(i));
+			adiante.add(alvo);
+		}
+		return mantidos;
+	}
+
+	private static void analise(Atribuicao a, boolean[] mantidos, Set<Integer> vivas) {
+		if (a.simbolos.length != a.exps.size()) {
+			for (Expressao exp : a.exps) leituras(exp, vivas);
+			return;
+		}
+		for (int i = 0; i < mantidos.length; i++) {
+			if (mantidos[i]) vivas.remove(a.simbolos[i]);
+		}
+		for (int i = 0; i < mantidos.length; i++) {
+			if (mantidos[i]) leituras(a.exps.get(i), vivas);
+		}
+	}
+
+	private static void leituras(Expressao e, Set<Integer> vivas) {
+		if (e instanceof Id id) {
+			vivas.add(id.simbolo);
+		} else if (e instanceof OpBin<?> o) {
+			leituras((Expressao) o.esq, vivas);
+			leituras((Expressao) o.dir, vivas);
+		}
+	}
+
+	private static void leiturasCondicao(Bool b, Set<Integer> vivas) {
+		if (b instanceof NaoLogico n) {
+			leiturasCondicao(n.operando, vivas);
+		} else if (b instanceof ELogico || b instanceof OuLogico || b instanceof XorLogico) {
+			final OpBin<?> o = (OpBin<?>) b;
+			leiturasCondicao((Bool) o.esq, vivas);
+			leiturasCondicao((Bool) o.dir, vivas);
+		} else if (b instanceof OpBin<?> o) {
+			leituras((Expressao) o.esq, vivas);
+			leituras((Expressao) o.dir, vivas);
+		}
+	}
+}
@@ -1,48 +1,372 @@
 package plp.enquanto;
 
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.function.Consumer;
 
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.BaseErrorListener;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
-import org.antlr.v4.runtime.tree.ParseTree;
-import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.UnbufferedTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 
+import plp.enquanto.Linguagem.No;
 import plp.enquanto.Linguagem.Programa;
 import plp.enquanto.parser.EnquantoLexer;
 import plp.enquanto.parser.EnquantoParser;
 
 public class Principal {
 
-	private static ParseTree parse(String arq) {
-		CharStream input;
+	private static CharStream leia(String arq) {
 		try {
-			input = CharStreams.fromFileName(arq);
+			return CharStreams.fromFileName(arq);
 		} catch (IOException e) {
-			input = CharStreams.fromString("exiba \"Arquivo não encontrado.\"");
+			return CharStreams.fromString("exiba \"Arquivo não encontrado.\"");
 		}
+	}
+
+	/*
+	  O parser não monta a árvore sintática: as Regras constroem os nós da
+	  linguagem a partir dos eventos do próprio parse. Ao retornar, parser,
+	  tokens e contextos já não são alcançáveis e podem ser coletados antes
+	  da execução.
+
+	  O parse é feito em duas etapas. A primeira usa a predição SLL, sem
+	  contexto completo, e desiste no primeiro erro de sintaxe; para esta
+	  gramática ela aceita todo programa válido com a mesma árvore do LL.
+	  Só quando ela desiste o texto é lido de novo com a predição LL
+	  completa e a recuperação de erros normal, que relata as mensagens.
+
+	  As mensagens vão para os erros do contexto, que também é onde os
+	  rótulos dos casos são avaliados.
+	 */
+	static Programa construa(CharStream input, Contexto contexto) {
+		return construa(input, contexto, null);
+	}
+
+	// posicoes, se não for null, recebe a linha e a coluna de cada nó
+	static Programa construa(CharStream input, Contexto contexto, Map<No, Perfilador.Posicao> posicoes) {
+		final List<String> errosLexicos = new ArrayList<>();
+		final Programa programa;
+		try {
+			programa = construa(input, PredictionMode.SLL, errosLexicos, contexto, posicoes);
+		} catch (ParseCancellationException e) {
+			input.seek(0);
+			if (posicoes != null) posicoes.clear();
+			return construa(input, PredictionMode.LL, null, contexto, posicoes);
+		}
+		errosLexicos.forEach(contexto.erros::println);
+		return programa;
+	}
+
+	// sem entrada e sem saída, para quem só quer a árvore
+	static Programa construa(CharStream input) {
+		return construa(input, new Contexto(InputStream.nullInputStream(), OutputStream.nullOutputStream(), System.err));
+	}
+
+	// só a predição LL completa, como na segunda etapa
+	static Programa construaLL(CharStream input, Contexto contexto) {
+		return construa(input, PredictionMode.LL, null, contexto, null);
+	}
+
+	/*
+	  Primeira etapa: os erros do lexer ficam em errosLexicos, para serem
+	  mostrados só se ela chegar ao fim, e o primeiro erro do parser
+	  interrompe tudo com ParseCancellationException.
+	 */
+	static Programa construaSLL(CharStream input, List<String> errosLexicos, Contexto contexto) {
+		return construa(input, PredictionMode.SLL, errosLexicos, contexto, null);
+	}
+
+	private static Programa construa(CharStream input, PredictionMode modo, List<String> errosLexicos,
+			Contexto contexto, Map<No, Perfilador.Posicao> posicoes) {
 		final EnquantoLexer lexer = new EnquantoLexer(input);
-		final CommonTokenStream tokens = new CommonTokenStream(lexer);
-		final EnquantoParser parser = new EnquantoParser(tokens);
-		return parser.programa();
+		final EnquantoParser parser = new EnquantoParser(new UnbufferedTokenStream<>(lexer));
+		final Regras regras = new Regras(contexto, posicoes);
+		parser.getInterpreter().setPredictionMode(modo);
+		lexer.removeErrorListeners();
+		parser.removeErrorListeners();
+		if (errosLexicos != null) {
+			lexer.addErrorListener(new Relator(errosLexicos::add));
+			parser.setErrorHandler(new BailErrorStrategy());
+		} else {
+			final Relator relator = new Relator(contexto.erros::println);
+			lexer.addErrorListener(relator);
+			parser.addErrorListener(relator);
+		}
+		parser.setBuildParseTree(false);
+		parser.addParseListener(regras);
+		final Object evento = Eventos.parse();
+		boolean concluido = false;
+		try {
+			parser.programa();
+			concluido = true;
+		} finally {
+			Eventos.parse(evento, modo == PredictionMode.SLL ? "sll" : "ll", concluido);
+		}
+		return regras.getPrograma();
+	}
+
+	// no formato do ConsoleErrorListener do ANTLR, mas para o destino dado
+	private static class Relator extends BaseErrorListener {
+		private final Consumer<String> destino;
+
+		Relator(Consumer<String> destino) {
+			this.destino = destino;
+		}
+
+		@Override
+		public void syntaxError(Recognizer<?, ?> recognizer, Object simbolo, int linha, int coluna,
+				String mensagem, RecognitionException e) {
+			destino.accept("line " + linha + ":" + coluna + " " + mensagem);
+		}
+	}
+
+	// passagens aplicadas entre as Regras e a execução
+	static Programa prepare(Programa programa) {
+		return prepare(programa, null);
 	}
 
+	// com --debug, o que a Poda e as Invariantes mudaram vai para depuracao
+	static Programa prepare(Programa programa, PrintStream depuracao) {
+		programa = new Simplificador().transforme(programa);
+		final Poda poda = new Poda();
+		programa = poda.transforme(programa);
+		final Invariantes invariantes = new Invariantes();
+		programa = invariantes.transforme(programa);
+		if (depuracao != null) {
+			depuracao.printf("Poda: %d ramos, %d atribuições e %d alvos de atribuições removidos%n", poda.ramos,
+					poda.atribuicoes, poda.alvos);
+			depuracao.printf("Invariantes: %d expressões tiradas dos laços%n", invariantes.temporarias);
+			depuracao.flush();
+		}
+		return new Resolvedor().transforme(programa);
+	}
+
+	// opção de linha de comando inválida; o processo termina com status 2
+	static class OpcaoInvalida extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		OpcaoInvalida(String mensagem) {
+			super(mensagem);
+		}
+	}
+
+	private static void erro(String mensagem) {
+		throw new OpcaoInvalida(mensagem);
+	}
+
+	private static String valor(String[] args, int i, String opcao) {
+		if (i >= args.length) erro("A opção " + opcao + " precisa de um valor.");
+		return args[i];
+	}
+
+	private static int inteiro(String valor, String opcao) {
+		try {
+			return Integer.parseInt(valor);
+		} catch (NumberFormatException e) {
+			erro("Valor inválido para " + opcao + ": " + valor);
+			return 0;
+		}
+	}
+
+	static String pergunteArquivo() {
+		System.out.print("Qual o arquivo para executar? ");
+		Scanner scanner = new Scanner(System.in);
+		final String arq = scanner.nextLine();
+		scanner.close();
+		return arq;
+	}
+
+	/*
+	  --daemon deixa a JVM no ar atendendo pedidos num soquete local e
+	  --client manda o pedido para ela; --batch executa vários programas
+	  em paralelo. As demais opções seguem para a execução, aqui, no
+	  servidor ou em cada programa do lote.
+	 */
 	public static void main(final String ... args) {
-		final String arq;
-		if (args.length > 0) {
-			arq = args[0];
-		} else {
-			System.out.print("Qual o arquivo para executar? ");
-			Scanner scanner = new Scanner(System.in);
-			arq = scanner.nextLine();
-			scanner.close();
-		}
-		final ParseTree tree = parse(arq);
-		final ParseTreeWalker walker = new ParseTreeWalker();
-		final Regras regras = new Regras();
-		walker.walk(regras, tree);
-		Programa programa = regras.getPrograma();
-		programa.execute();
+		try {
+			boolean daemon = false;
+			boolean cliente = false;
+			Path soquete = Servidor.soquetePadrao();
+			String lote = null;
+			int threads = Runtime.getRuntime().availableProcessors();
+			final List<String> resto = new ArrayList<>();
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+					case "--daemon" -> daemon = true;
+					case "--client" -> cliente = true;
+					case "--socket" -> soquete = Path.of(valor(args, ++i, "--socket"));
+					case "--batch" -> lote = valor(args, ++i, "--batch");
+					case "--threads" -> threads = inteiro(valor(args, ++i, "--threads"), "--threads");
+					default -> resto.add(args[i]);
+				}
+			}
+			if (threads < 1) erro("Valor inválido para --threads: " + threads);
+			if ((lote != null || daemon || Boolean.getBoolean("plp.enquanto.jmx")) && !cliente) Metricas.registre();
+			if (lote != null) {
+				if (daemon || cliente) erro("A opção --batch não pode ser usada com --daemon ou --client.");
+				System.exit(Lote.execute(lote, threads, resto));
+			} else if (daemon) {
+				Servidor.sirva(soquete);
+			} else if (cliente) {
+				System.exit(Cliente.execute(soquete, resto));
+			} else {
+				execute(resto.toArray(new String[0]), new FileInputStream(FileDescriptor.in),
+						new FileOutputStream(FileDescriptor.out), System.err);
+			}
+		} catch (OpcaoInvalida e) {
+			System.err.println(e.getMessage());
+			System.exit(2);
+		}
+	}
+
+	/*
+	  Executa um programa conforme as opções, num contexto próprio que lê o
+	  leia de entradaPadrao e escreve em saidaPadrao, a menos que --input ou
+	  --output indiquem arquivos. As mensagens de erro vão para erros.
+	 */
+	static void execute(String[] args, InputStream entradaPadrao, OutputStream saidaPadrao, PrintStream erros) {
+		String arq = null;
+		boolean jvm = false;
+		boolean vm = false;
+		boolean desmonte = false;
+		boolean cache = true;
+		boolean perfil = false;
+		boolean depuracao = false;
+		String arqEntrada = null;
+		String arqSaida = null;
+		int tamanhoSaida = Saida.TAMANHO_PADRAO;
+		for (int i = 0; i < args.length; i++) {
+			final String arg = args[i];
+			switch (arg) {
+				case "--jvm" -> jvm = true;
+				case "--vm" -> vm = true;
+				case "--desmonte" -> desmonte = true;
+				case "--no-cache" -> cache = false;
+				case "--profile" -> perfil = true;
+				case "--debug" -> depuracao = true;
+				case "--input" -> arqEntrada = valor(args, ++i, arg);
+				case "--output" -> arqSaida = valor(args, ++i, arg);
+				case "--buffer-size" -> tamanhoSaida = inteiro(valor(args, ++i, arg), arg);
+				default -> {
+					if (arg.startsWith("--")) erro("Opção desconhecida: " + arg);
+					arq = arg;
+				}
+			}
+		}
+		OutputStream destino = saidaPadrao;
+		Saida saida = null;
+		try {
+			if (arqSaida != null) destino = new FileOutputStream(arqSaida);
+			saida = new Saida(destino, tamanhoSaida);
+		} catch (IOException | IllegalArgumentException e) {
+			erro("Saída inválida: " + e.getMessage());
+		}
+		final Entrada entrada = new Entrada(entradaPadrao);
+		try {
+			if (arqEntrada != null) {
+				try {
+					entrada.mapeie(Path.of(arqEntrada));
+				} catch (IOException e) {
+					erro("Entrada inválida: " + e.getMessage());
+				}
+			}
+			final Contexto contexto = new Contexto(entrada, saida, erros);
+			if (arq == null) arq = pergunteArquivo();
+			if (perfil) {
+				if (jvm || vm || desmonte) erro("A opção --profile não pode ser usada com --jvm, --vm ou --desmonte.");
+				perfile(arq, contexto);
+				return;
+			}
+			final Object construcao = Eventos.construcao();
+			Programa construido = cache ? Cache.construa(arq, contexto) : null;
+			final boolean doCache = construido != null;
+			if (construido == null) construido = construa(leia(arq), contexto);
+			Eventos.construcao(construcao, arq, doCache);
+			final Programa preparado = prepare(construido, depuracao ? erros : null);
+			Programa programa = preparado;
+			if (desmonte) {
+				final PrintStream listagem = new PrintStream(saidaPadrao);
+				listagem.print(CompiladorVm.maquina(programa).desmonte());
+				listagem.flush();
+				return;
+			}
+			if (jvm) {
+				programa = CompiladorJvm.compile(programa, erros);
+			} else if (vm) {
+				programa = CompiladorVm.compile(programa, erros);
+			}
+			final Object execucao = Eventos.execucao();
+			try {
+				programa.execute(contexto);
+			} finally {
+				Eventos.execucao(execucao, arq, programa == preparado ? "arvore" : jvm ? "jvm" : "vm", contexto.comandos,
+						contexto.entrada.lidos(), contexto.saida.escritos());
+			}
+		} finally {
+			// arquivos de --input e --output; os fluxos padrão são de quem chamou
+			entrada.feche();
+			if (destino != saidaPadrao) {
+				try {
+					destino.close();
+				} catch (IOException e) {
+					erros.println("Falha ao fechar a saída: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	/*
+	  --profile: sem cache, para que as Regras anotem as posições, e com o
+	  Perfilador no lugar das passagens. O relatório sai nos erros mesmo
+	  que o programa termine com exceção. Os nós medidos são os da própria
+	  árvore, que roda sem cópia.
+	 */
+	private static void perfile(String arq, Contexto contexto) {
+		final Map<No, Perfilador.Posicao> posicoes = new IdentityHashMap<>();
+		final Perfilador perfilador = new Perfilador(posicoes);
+		final Programa programa = perfilador.transforme(construa(leia(arq), contexto, posicoes));
+		final long inicio = System.nanoTime();
+		try {
+			programa.rode(contexto);
+		} finally {
+			perfilador.relate(contexto.erros, System.nanoTime() - inicio);
+		}
+	}
+
+	/*
+	  Como execute, mas devolve o status de saída em vez de lançar: 2 para
+	  opção inválida e 1 para exceção, relatada em erros como a JVM faria.
+	 */
+	static int status(String[] args, InputStream entradaPadrao, OutputStream saidaPadrao, PrintStream erros) {
+		try {
+			execute(args, entradaPadrao, saidaPadrao, erros);
+			return 0;
+		} catch (OpcaoInvalida e) {
+			erros.println(e.getMessage());
+			return 2;
+		} catch (Throwable e) {
+			erros.print("Exception in thread \"main\" ");
+			e.printStackTrace(erros);
+			return 1;
+		} finally {
+			erros.flush();
+		}
 	}
 }
@@ -1,206 +1,326 @@
 package plp.enquanto;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.AbstractMap;
 
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+
 import plp.enquanto.Linguagem.*;
 import plp.enquanto.parser.EnquantoBaseListener;
 import plp.enquanto.parser.EnquantoParser.*;
 
-import static java.lang.Integer.parseInt;
-
+/*
+  Constrói a árvore da linguagem ouvindo o parser enquanto ele reconhece o
+  programa (addParseListener), sem árvore sintática. Cada regra que
+  termina deixa um valor numa pilha; a regra de cima encontra os valores
+  das suas sub-regras acima da marca que anotou ao começar. Nas regras
+  recursivas à esquerda (operações binárias) o operando esquerdo já foi
+  reconhecido quando a regra começa, e fica logo abaixo da marca.
+ */
 public class Regras extends EnquantoBaseListener {
 	private final Leia leia;
 	private final Skip skip;
-	private final Propriedades valores;
+	private final Contexto contexto;
+	private final Map<No, Perfilador.Posicao> posicoes;
+	private final Simbolos simbolos = new Simbolos();
+	private final List<Object> pilha = new ArrayList<>();
+	private int[] marcas = new int[64];
+	private int nivel;
+	private boolean produziu;
 
 	private Programa programa;
 
-	public Regras() {
+	// os rótulos dos casos são avaliados ao construir, no contexto dado
+	Regras(Contexto contexto) {
+		this(contexto, null);
+	}
+
+	// posicoes, se não for null, recebe a linha e a coluna de cada nó construído
+	Regras(Contexto contexto, Map<No, Perfilador.Posicao> posicoes) {
 		leia = new Leia();
 		skip = new Skip();
-		valores = new Propriedades();
+		this.contexto = contexto;
+		this.posicoes = posicoes;
 	}
 
 	public Programa getPrograma() {
 		return programa;
 	}
 
+	@Override
+	public void enterEveryRule(ParserRuleContext ctx) {
+		if (nivel == marcas.length) marcas = Arrays.copyOf(marcas, nivel * 2);
+		marcas[nivel++] = pilha.size();
+	}
+
+	// chamado depois do exitX() da mesma regra
+	@Override
+	public void exitEveryRule(ParserRuleContext ctx) {
+		final int marca = marcas[--nivel];
+		if (!produziu) {
+			// regra interrompida por erro de sintaxe: fica sem valor, como um filho ausente
+			pilha.subList(marca, pilha.size()).clear();
+			pilha.add(null);
+		} else if (posicoes != null && pilha.get(pilha.size() - 1) instanceof No no && no != leia && no != skip) {
+			// entre parênteses o nó já tem a posição de dentro
+			posicoes.putIfAbsent(no, new Perfilador.Posicao(ctx.getStart().getLine(), ctx.getStart().getCharPositionInLine()));
+		}
+		produziu = false;
+	}
+
+	private List<Object> filhos() {
+		return pilha.subList(marcas[nivel - 1], pilha.size());
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T filho(int i) {
+		final List<Object> filhos = filhos();
+		return i < filhos.size() ? (T) filhos.get(i) : null;
+	}
+
+	private <T> List<T> filhos(Class<T> tipo) {
+		final List<T> encontrados = new ArrayList<>();
+		for (Object o : filhos()) {
+			if (tipo.isInstance(o)) encontrados.add(tipo.cast(o));
+		}
+		return encontrados;
+	}
+
+	private <T> T filho(Class<T> tipo) {
+		for (Object o : filhos()) {
+			if (tipo.isInstance(o)) return tipo.cast(o);
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T esquerdo() {
+		return (T) pilha.get(marcas[nivel - 1] - 1);
+	}
+
+	private void produza(Object valor) {
+		filhos().clear();
+		pilha.add(valor);
+		produziu = true;
+	}
+
+	// operação binária: consome também o operando esquerdo
+	private void produzaBinaria(Object valor) {
+		pilha.subList(marcas[nivel - 1] - 1, pilha.size()).clear();
+		pilha.add(valor);
+		produziu = true;
+	}
+
 	@Override
 	public void exitBool(BoolContext ctx) {
-		valores.insira(ctx, new Booleano("verdadeiro".equals(ctx.getText())));
+		produza(new Booleano("verdadeiro".equals(ctx.getStart().getText())));
 	}
 
 	@Override
 	public void exitLeia(LeiaContext ctx) {
-		valores.insira(ctx, leia);
+		produza(leia);
 	}
 
 	@Override
 	public void exitSe(SeContext ctx) {
-		List<BooleanoContext> bools = ctx.booleano();
-		List<ComandoContext> cmds = ctx.comando();
+		List<Bool> bools = filhos(Bool.class);
+		List<Comando> cmds = filhos(Comando.class);
 
 		Comando senaoCmd = new Skip();
 		if (cmds.size() > bools.size()) {
-			senaoCmd = valores.pegue(cmds.get(cmds.size() - 1));
+			senaoCmd = cmds.get(cmds.size() - 1);
 		}
 
 		Comando current = senaoCmd;
 		for (int i = bools.size() - 1; i >= 0; i--) {
-			Bool cond = valores.pegue(bools.get(i));
-			Comando entao = valores.pegue(cmds.get(i));
+			Bool cond = bools.get(i);
+			Comando entao = i < cmds.size() ? cmds.get(i) : null;
 			current = new Se(cond, entao, current);
 		}
-		valores.insira(ctx, current);
+		produza(current);
 	}
 
 	@Override
 	public void exitInteiro(InteiroContext ctx) {
-		valores.insira(ctx, new Inteiro(parseInt(ctx.getText())));
+		final String texto = ctx.getStart().getText();
+		// até 18 dígitos sempre cabe num long
+		produza(texto.length() <= 18 ? new Inteiro(Long.parseLong(texto)) : inteiro(new BigInteger(texto)));
+	}
+
+	// literal além de 64 bits vira InteiroGrande
+	static Expressao inteiro(BigInteger valor) {
+		return Numeros.cabe(valor) ? new Inteiro(valor.longValue()) : new InteiroGrande(valor);
 	}
 
 	@Override
 	public void exitSkip(SkipContext ctx) {
-		valores.insira(ctx, skip);
+		produza(skip);
 	}
 
 	@Override
 	public void exitEscreva(EscrevaContext ctx) {
-		final Expressao exp = valores.pegue(ctx.expressao());
-		valores.insira(ctx, new Escreva(exp));
+		final Expressao exp = filho(0);
+		produza(new Escreva(exp));
 	}
 
 	@Override
 	public void exitPrograma(ProgramaContext ctx) {
-		final List<Comando> cmds = valores.pegue(ctx.seqComando());
-		programa = new Programa(cmds);
-		valores.insira(ctx, programa);
+		final List<Comando> cmds = filho(0);
+		programa = cmds == null ? null : new Programa(cmds, 0, simbolos);
+		produza(programa);
 	}
 
 	@Override
 	public void exitId(IdContext ctx) {
-		final String id = ctx.ID().getText();
-		valores.insira(ctx, new Id(id));
+		final String id = ctx.getStart().getText();
+		produza(new Id(simbolos.simbolo(id)));
 	}
 
 	@Override
 	public void exitSeqComando(SeqComandoContext ctx) {
+		// comandos com erro de sintaxe entram como null e falham ao executar
 		final List<Comando> comandos = new ArrayList<>();
-		for (ComandoContext c : ctx.comando()) {
-			comandos.add(valores.pegue(c));
-		}
-		valores.insira(ctx, comandos);
+		for (Object c : filhos()) comandos.add((Comando) c);
+		produza(comandos);
 	}
 
 	@Override
 	public void exitAtribuicao(AtribuicaoContext ctx) {
-		List<String> ids = valores.pegue(ctx.listaId());
-		List<Expressao> exps = valores.pegue(ctx.listaExpressao());
-		valores.insira(ctx, new Atribuicao(ids, exps));
+		int[] ids = filho(int[].class);
+		List<Expressao> exps = filho(0) instanceof int[] ? filho(1) : null;
+		produza(ids == null || exps == null ? null : atribuicao(ids, exps));
+	}
+
+	/*
+	  Um alvo com uma expressão e dois alvos com duas (a troca a, b := b, a)
+	  têm versões próprias; o resto usa a atribuição paralela geral.
+	 */
+	static Atribuicao atribuicao(int[] ids, List<Expressao> exps) {
+		if (ids.length == exps.size()) {
+			if (ids.length == 1) return new AtribuicaoSimples(ids, exps);
+			if (ids.length == 2) return new AtribuicaoDupla(ids, exps);
+		}
+		return new Atribuicao(ids, exps);
+	}
+
+	static ExpPot potencia(Expressao esq, Expressao dir) {
+		return dir instanceof Inteiro k ? new PotConstante(esq, k) : new ExpPot(esq, dir);
+	}
+
+	static AtribuicaoLocal atribuicaoLocal(int[] slots, List<Expressao> exps) {
+		if (slots.length == exps.size()) {
+			if (slots.length == 1) return new AtribuicaoLocalSimples(slots, exps);
+			if (slots.length == 2) return new AtribuicaoLocalDupla(slots, exps);
+		}
+		return new AtribuicaoLocal(slots, exps);
 	}
 
 	@Override
 	public void exitListaId(ListaIdContext ctx) {
-		List<String> ids = new ArrayList<>();
-		for (var token : ctx.ID()) ids.add(token.getText());
-		valores.insira(ctx, ids);
+		final List<Token> tokens = ctx.ids;
+		final int[] ids = new int[tokens.size()];
+		for (int i = 0; i < ids.length; i++) ids[i] = simbolos.simbolo(tokens.get(i).getText());
+		produza(ids);
 	}
 
 	@Override
 	public void exitListaExpressao(ListaExpressaoContext ctx) {
 		List<Expressao> exps = new ArrayList<>();
-		for (var e : ctx.expressao()) exps.add(valores.pegue(e));
-		valores.insira(ctx, exps);
+		for (Object e : filhos()) exps.add((Expressao) e);
+		produza(exps);
 	}
 
 	@Override
 	public void exitBloco(BlocoContext ctx) {
-		final List<Comando> cmds = valores.pegue(ctx.seqComando());
-		valores.insira(ctx, new Bloco(cmds));
+		final List<Comando> cmds = filho(0);
+		produza(cmds == null ? null : new Bloco(cmds));
 	}
 
 	@Override
 	public void exitOpBin(OpBinContext ctx) {
-		final Expressao esq = valores.pegue(ctx.expressao(0));
-		final Expressao dir = valores.pegue(ctx.expressao(1));
-		final String op = ctx.getChild(1).getText();
+		final Expressao esq = esquerdo();
+		final Expressao dir = filho(0);
+		final String op = ctx.op.getText();
 		final Expressao exp = switch (op) {
 			case "*" -> new ExpMult(esq, dir);
 			case "/" -> new ExpDiv(esq, dir);
 			case "+" -> new ExpSoma(esq, dir);
 			case "-" -> new ExpSub(esq, dir);
-			case "^" -> new ExpPot(esq, dir);
+			case "^" -> potencia(esq, dir);
 			default  -> throw new RuntimeException("Operador desconhecido: " + op);
 		};
-		valores.insira(ctx, exp);
+		produzaBinaria(exp);
 	}
 
 	@Override
 	public void exitEnquanto(EnquantoContext ctx) {
-		final Bool condicao = valores.pegue(ctx.booleano());
-		final Comando comando = valores.pegue(ctx.comando());
-		valores.insira(ctx, new Enquanto(condicao, comando));
+		final Bool condicao = filho(Bool.class);
+		final Comando comando = filho(Comando.class);
+		produza(new Enquanto(condicao, comando));
 	}
 
 	@Override
 	public void exitELogico(ELogicoContext ctx) {
-		final Bool esq = valores.pegue(ctx.booleano(0));
-		final Bool dir = valores.pegue(ctx.booleano(1));
-		valores.insira(ctx, new ELogico(esq, dir));
+		final Bool esq = esquerdo();
+		final Bool dir = filho(0);
+		produzaBinaria(new ELogico(esq, dir));
 	}
-	
+
 	@Override
 	public void exitOpLogico(OpLogicoContext ctx) {
-		final Bool esq = valores.pegue(ctx.booleano(0));
-		final Bool dir = valores.pegue(ctx.booleano(1));
-		final String op = ctx.getChild(1).getText();
+		final Bool esq = esquerdo();
+		final Bool dir = filho(0);
+		final String op = ctx.op.getText();
 		final Bool res = switch(op) {
 			case "ou" -> new OuLogico(esq, dir);
 			case "xor" -> new XorLogico(esq, dir);
 			default -> throw new RuntimeException("Operador logico desconhecido: " + op);
 		};
-		valores.insira(ctx, res);
+		produzaBinaria(res);
 	}
 
 	@Override
 	public void exitBoolPar(BoolParContext ctx) {
-		final Bool booleano = valores.pegue(ctx.booleano());
-		valores.insira(ctx, booleano);
+		final Bool booleano = filho(0);
+		produza(booleano);
 	}
 
 	@Override
 	public void exitNaoLogico(NaoLogicoContext ctx) {
-		final Bool b = valores.pegue(ctx.booleano());
-		valores.insira(ctx, new NaoLogico(b));
+		final Bool b = filho(0);
+		produza(new NaoLogico(b));
 	}
 
 	@Override
 	public void exitExpPar(ExpParContext ctx) {
-		final Expressao exp = valores.pegue(ctx.expressao());
-		valores.insira(ctx, exp);
+		final Expressao exp = filho(0);
+		produza(exp);
 	}
 
 	@Override
 	public void exitExiba(ExibaContext ctx) {
-		if (ctx.TEXTO() != null) {
-			String t = ctx.TEXTO().getText();
+		if (ctx.texto != null) {
+			String t = ctx.texto.getText();
 			String texto = t.substring(1, t.length() - 1);
-			valores.insira(ctx, new Exiba(texto));
+			produza(new Exiba(texto, Saida.linha(texto)));
 		} else {
-			Expressao exp = valores.pegue(ctx.expressao());
-			valores.insira(ctx, new Exiba(exp));
+			Expressao exp = filho(0);
+			produza(new Exiba(exp));
 		}
 	}
 
 	@Override
 	public void exitOpRel(OpRelContext ctx) {
-		final Expressao esq = valores.pegue(ctx.expressao(0));
-		final Expressao dir = valores.pegue(ctx.expressao(1));
-		final String op = ctx.getChild(1).getText();
+		final Expressao esq = filho(0);
+		final Expressao dir = filho(1);
+		final String op = ctx.op.getText();
 		final Bool exp = switch (op) {
 			case "="  -> new ExpIgual(esq, dir);
 			case "<=" -> new ExpMenorIgual(esq, dir);
@@ -210,51 +330,71 @@ public class Regras extends EnquantoBaseListener {
 			case "<>" -> new ExpDiferente(esq, dir);
 			default   -> throw new RuntimeException("Operador relacional desconhecido: " + op);
 		};
-		valores.insira(ctx, exp);
+		produza(exp);
 	}
-	
+
 	@Override
 	public void exitPara(ParaContext ctx) {
-		String id = ctx.ID().getText();
-		Expressao de = valores.pegue(ctx.expressao(0));
-		Expressao ate = valores.pegue(ctx.expressao(1));
-		Comando cmd = valores.pegue(ctx.comando());
-		valores.insira(ctx, new Para(id, de, ate, cmd));
+		int id = simbolos.simbolo(ctx.variavel.getText());
+		List<Expressao> exps = filhos(Expressao.class);
+		Expressao de = exps.size() > 0 ? exps.get(0) : null;
+		Expressao ate = exps.size() > 1 ? exps.get(1) : null;
+		Expressao passo = exps.size() > 2 ? exps.get(2) : new Inteiro(1);
+		Comando cmd = filho(Comando.class);
+		produza(new Para(id, de, ate, passo, cmd));
 	}
 
 	@Override
 	public void exitRepita(RepitaContext ctx) {
-		Expressao vezes = valores.pegue(ctx.expressao());
-		Comando cmd = valores.pegue(ctx.comando());
-		valores.insira(ctx, new Repita(vezes, cmd));
+		Expressao vezes = filho(Expressao.class);
+		Comando cmd = filho(Comando.class);
+		produza(new Repita(vezes, cmd));
 	}
 
 	@Override
 	public void exitEscolha(EscolhaContext ctx) {
-		Expressao exp = valores.pegue(ctx.expressao());
+		Expressao exp = filho(Expressao.class);
 		Map<Integer, Comando> casos = new HashMap<>();
 		Comando padrao = null;
 
-		for (CasoContext c : ctx.caso()) {
-			Map.Entry<Integer, Comando> entry = valores.pegue(c);
+		for (Object c : filhos()) {
+			if (!(c instanceof Map.Entry<?, ?> entry)) continue;
 			if (entry.getKey() == null) {
-				padrao = entry.getValue();
+				padrao = (Comando) entry.getValue();
 			} else {
-				casos.put(entry.getKey(), entry.getValue());
+				casos.put((Integer) entry.getKey(), (Comando) entry.getValue());
 			}
 		}
-		valores.insira(ctx, new Escolha(exp, casos, padrao));
+		produza(escolha(exp, casos, padrao));
+	}
+
+	private static final int LINEAR = 4;
+
+	/*
+	  Até LINEAR casos, comparação um a um. Rótulos próximos uns dos outros
+	  (no máximo três posições por caso) usam uma tabela indexada; os
+	  demais, busca binária nos rótulos ordenados.
+	 */
+	static Escolha escolha(Expressao exp, Map<Integer, Comando> casos, Comando padrao) {
+		if (casos.size() <= LINEAR) return new EscolhaLinear(exp, casos, padrao);
+		final int menor = Collections.min(casos.keySet());
+		final int maior = Collections.max(casos.keySet());
+		final long tamanho = (long) maior - menor + 1;
+		if (tamanho <= 3L * casos.size()) return new EscolhaDensa(exp, casos, padrao, menor, (int) tamanho);
+		return new EscolhaOrdenada(exp, casos, padrao);
 	}
 
 	@Override
 	public void exitCaso(CasoContext ctx) {
-		Comando cmd = valores.pegue(ctx.comando());
-		if (ctx.expressao() != null) {
-			Expressao valExp = valores.pegue(ctx.expressao());
-			int val = valExp.getValor();
-			valores.insira(ctx, new AbstractMap.SimpleEntry<>(val, cmd));
+		Comando cmd = filho(Comando.class);
+		Expressao valExp = filho(Expressao.class);
+		if (valExp != null) {
+			final long val = valExp.getValor(contexto);
+			Numeros.descarte(val, contexto);
+			if (val != (int) val) throw new ArithmeticException("Rótulo do escolha fora de 32 bits na linha " + ctx.getStart().getLine());
+			produza(new AbstractMap.SimpleEntry<>((int) val, cmd));
 		} else {
-			valores.insira(ctx, new AbstractMap.SimpleEntry<>(null, cmd));
+			produza(new AbstractMap.SimpleEntry<>(null, cmd));
 		}
 	}
 }
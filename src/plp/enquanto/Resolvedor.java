@@ -0,0 +1,66 @@
+package plp.enquanto;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Atribui a cada identificador do programa uma posição fixa no quadro de
+  variáveis e troca Id, Atribuicao e Para pelas versões que leem e escrevem
+  diretamente no vetor, sem consultar o ambiente.
+ */
+class Resolvedor extends Transformador {
+	private final Map<Integer, Integer> slots = new HashMap<>();
+	private Simbolos simbolos;
+	// slots mencionados no trecho sendo resolvido, para saber se o corpo de um para vê a variável
+	private BitSet usados = new BitSet();
+
+	@Override
+	public Programa transforme(Programa programa) {
+		simbolos = programa.simbolos;
+		final List<Comando> comandos = comandos(programa.comandos);
+		return new Programa(comandos, slots.size(), simbolos);
+	}
+
+	private int slot(int simbolo) {
+		final int slot = slots.computeIfAbsent(simbolo, k -> slots.size());
+		usados.set(slot);
+		return slot;
+	}
+
+	@Override
+	protected Comando comando(Comando c) {
+		if (c instanceof Atribuicao a) {
+			final int[] destinos = new int[a.simbolos.length];
+			for (int i = 0; i < destinos.length; i++) {
+				destinos[i] = slot(a.simbolos[i]);
+			}
+			return Regras.atribuicaoLocal(destinos, expressoes(a.exps));
+		}
+		if (c instanceof Para p) {
+			final int slot = slot(p.simbolo);
+			final Expressao de = expressao(p.de);
+			final Expressao ate = expressao(p.ate);
+			final Expressao passo = expressao(p.passo);
+			final BitSet fora = usados;
+			usados = new BitSet();
+			final Comando corpo = comando(p.comando);
+			final boolean visivel = usados.get(slot);
+			fora.or(usados);
+			usados = fora;
+			return new ParaLocal(slot, de, ate, passo, corpo, visivel);
+		}
+		return super.comando(c);
+	}
+
+	@Override
+	protected Expressao expressao(Expressao e) {
+		if (e instanceof Id id) {
+			return new IdLocal(simbolos.nome(id.simbolo), slot(id.simbolo));
+		}
+		return super.expressao(e);
+	}
+}
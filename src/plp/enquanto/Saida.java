@@ -0,0 +1,145 @@
+package plp.enquanto;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/*
+  Saída dos comandos exiba e escreva. Cada linha é acumulada em um buffer
+  próprio, sem sincronização e sem descarga automática, e só segue para o
+  destino quando o buffer enche, antes de uma leitura (leia) e no fim do
+  programa.
+ */
+class Saida {
+	static final int TAMANHO_PADRAO = 1 << 16;
+
+	private static final byte[] FIM_DE_LINHA = System.lineSeparator().getBytes();
+
+	private OutputStream destino;
+	private byte[] buffer;
+	private int usado;
+	private long enviados;
+	private final byte[] rascunho = new byte[20 + FIM_DE_LINHA.length];
+
+	Saida() {
+		this(new FileOutputStream(FileDescriptor.out), TAMANHO_PADRAO);
+	}
+
+	Saida(OutputStream destino, int tamanho) {
+		configure(destino, tamanho);
+	}
+
+	/*
+	  Troca o destino e o tamanho do buffer, descarregando antes o que já
+	  foi escrito.
+	 */
+	void configure(OutputStream destino, int tamanho) {
+		if (tamanho < 1) throw new IllegalArgumentException("Tamanho de buffer inválido: " + tamanho);
+		if (this.destino != null) descarregue();
+		this.destino = destino;
+		this.buffer = new byte[tamanho];
+		this.usado = 0;
+	}
+
+	/*
+	  Texto já codificado, terminado pelo fim de linha. As Regras codificam
+	  os textos do exiba uma única vez, ao construir a árvore.
+	 */
+	static byte[] linha(String texto) {
+		final byte[] bytes = texto.getBytes(Charset.defaultCharset());
+		final byte[] linha = Arrays.copyOf(bytes, bytes.length + FIM_DE_LINHA.length);
+		System.arraycopy(FIM_DE_LINHA, 0, linha, bytes.length, FIM_DE_LINHA.length);
+		return linha;
+	}
+
+	void escreva(String texto) {
+		escrevaLinha(linha(texto));
+	}
+
+	void escrevaLinha(byte[] linha) {
+		if (linha.length > buffer.length - usado) {
+			descarregue();
+			if (linha.length > buffer.length) {
+				envie(linha, linha.length);
+				return;
+			}
+		}
+		System.arraycopy(linha, 0, buffer, usado, linha.length);
+		usado += linha.length;
+	}
+
+	/*
+	  Formata o número direto no buffer, sem criar Strings.
+	 */
+	void escreva(long valor) {
+		final int tamanho = digitos(valor) + FIM_DE_LINHA.length;
+		if (tamanho > buffer.length - usado) {
+			descarregue();
+			if (tamanho > buffer.length) {
+				formate(valor, rascunho, 0);
+				envie(rascunho, tamanho);
+				return;
+			}
+		}
+		formate(valor, buffer, usado);
+		usado += tamanho;
+	}
+
+	// os que não cabem em 64 bits são raros e passam por String
+	void escreva(BigInteger valor) {
+		escreva(valor.toString());
+	}
+
+	private static int digitos(long valor) {
+		int n = valor < 0 ? 2 : 1;
+		long v = valor < 0 ? valor : -valor;
+		while (v <= -10) {
+			v /= 10;
+			n++;
+		}
+		return n;
+	}
+
+	// trabalha com o valor negativo para que Long.MIN_VALUE não transborde
+	private static void formate(long valor, byte[] destino, int inicio) {
+		int pos = inicio + digitos(valor);
+		System.arraycopy(FIM_DE_LINHA, 0, destino, pos, FIM_DE_LINHA.length);
+		long v = valor < 0 ? valor : -valor;
+		do {
+			destino[--pos] = (byte) ('0' - v % 10);
+			v /= 10;
+		} while (v != 0);
+		if (valor < 0) destino[--pos] = '-';
+	}
+
+	void descarregue() {
+		if (usado > 0) {
+			envie(buffer, usado);
+			usado = 0;
+		}
+		try {
+			destino.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// bytes escritos pelo programa, incluindo os que ainda estão no buffer
+	long escritos() {
+		return enviados + usado;
+	}
+
+	private void envie(byte[] bytes, int tamanho) {
+		enviados += tamanho;
+		try {
+			destino.write(bytes, 0, tamanho);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
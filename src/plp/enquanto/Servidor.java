@@ -0,0 +1,195 @@
+package plp.enquanto;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+  Servidor do modo --daemon: uma JVM que fica no ar, já aquecida, e
+  executa os programas pedidos pelo Cliente num soquete Unix local.
+
+  Protocolo: o cliente manda o número de argumentos e cada um deles
+  (writeUTF), com os caminhos já absolutos; o que vier depois é a entrada
+  padrão do programa. O servidor responde em trechos: o tipo (SAIDA ou
+  ERROS), o tamanho e os bytes; no fim, FIM e o status de saída.
+
+  Cada pedido tem sua thread e seu Contexto, com ambiente próprio e com
+  a entrada, a saída e os erros ligados à conexão; os pedidos executam
+  ao mesmo tempo.
+ */
+class Servidor {
+	static final int FIM = 0;
+	static final int SAIDA = 1;
+	static final int ERROS = 2;
+
+	static Path soquetePadrao() {
+		return Path.of(System.getProperty("java.io.tmpdir"), "enquanto-" + System.getProperty("user.name") + ".sock");
+	}
+
+	static void sirva(Path soquete) {
+		final ServerSocketChannel servidor;
+		try {
+			if (Files.exists(soquete)) {
+				if (ativo(soquete)) throw new Principal.OpcaoInvalida("Já existe um servidor em " + soquete);
+				Files.delete(soquete);
+			}
+			servidor = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+			servidor.bind(UnixDomainSocketAddress.of(soquete));
+		} catch (IOException e) {
+			throw new Principal.OpcaoInvalida("Soquete inválido: " + e.getMessage());
+		}
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				Files.deleteIfExists(soquete);
+			} catch (IOException ignorada) {
+			}
+		}));
+		final AtomicInteger contador = new AtomicInteger();
+		final ExecutorService pedidos = Executors.newCachedThreadPool(r -> {
+			final Thread t = new Thread(r, "enquanto-pedido-" + contador.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		System.err.println("Servidor aguardando em " + soquete);
+		while (true) {
+			try {
+				final SocketChannel canal = servidor.accept();
+				pedidos.execute(() -> atenda(canal));
+			} catch (IOException e) {
+				System.err.println("Falha ao aceitar pedido: " + e.getMessage());
+			}
+		}
+	}
+
+	private static boolean ativo(Path soquete) {
+		try {
+			SocketChannel.open(UnixDomainSocketAddress.of(soquete)).close();
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static void atenda(SocketChannel canal) {
+		try (canal) {
+			final DataInputStream pedido = new DataInputStream(new BufferedInputStream(entrada(canal)));
+			final String[] args = new String[pedido.readInt()];
+			for (int i = 0; i < args.length; i++) args[i] = pedido.readUTF();
+			final DataOutputStream resposta = new DataOutputStream(new BufferedOutputStream(saida(canal)));
+			final int status = execute(args, pedido, resposta);
+			synchronized (resposta) {
+				resposta.writeByte(FIM);
+				resposta.writeInt(status);
+				resposta.flush();
+			}
+		} catch (IOException | UncheckedIOException | NegativeArraySizeException e) {
+			// o cliente foi embora ou mandou um pedido malformado
+		}
+	}
+
+	private static int execute(String[] args, InputStream entradaPadrao, DataOutputStream resposta) {
+		final PrintStream erros = new PrintStream(new Trecho(resposta, ERROS), true);
+		return Principal.status(args, entradaPadrao, new Trecho(resposta, SAIDA), erros);
+	}
+
+	/*
+	  Cada escrita vira um trecho do tipo dado. Se o cliente desconectou, a
+	  primeira falha interrompe o programa e as escritas seguintes são
+	  descartadas.
+	 */
+	private static class Trecho extends OutputStream {
+		private final DataOutputStream resposta;
+		private final int tipo;
+		private boolean perdido;
+
+		Trecho(DataOutputStream resposta, int tipo) {
+			this.resposta = resposta;
+			this.tipo = tipo;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int inicio, int tamanho) throws IOException {
+			if (perdido || tamanho == 0) return;
+			try {
+				synchronized (resposta) {
+					resposta.writeByte(tipo);
+					resposta.writeInt(tamanho);
+					resposta.write(b, inicio, tamanho);
+				}
+			} catch (IOException e) {
+				perdido = true;
+				throw e;
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (perdido) return;
+			try {
+				synchronized (resposta) {
+					resposta.flush();
+				}
+			} catch (IOException e) {
+				perdido = true;
+				throw e;
+			}
+		}
+	}
+
+	/*
+	  Fluxos sobre o canal. Os de Channels.newInputStream/newOutputStream
+	  disputam a mesma trava do canal, e uma leitura parada esperando
+	  dados impediria a outra thread do cliente de escrever.
+	 */
+	static InputStream entrada(SocketChannel canal) {
+		return new InputStream() {
+			@Override
+			public int read() throws IOException {
+				final byte[] b = new byte[1];
+				return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+			}
+
+			@Override
+			public int read(byte[] b, int inicio, int tamanho) throws IOException {
+				if (tamanho == 0) return 0;
+				return canal.read(ByteBuffer.wrap(b, inicio, tamanho));
+			}
+		};
+	}
+
+	static OutputStream saida(SocketChannel canal) {
+		return new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				write(new byte[] {(byte) b}, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int inicio, int tamanho) throws IOException {
+				final ByteBuffer buffer = ByteBuffer.wrap(b, inicio, tamanho);
+				while (buffer.hasRemaining()) canal.write(buffer);
+			}
+		};
+	}
+}
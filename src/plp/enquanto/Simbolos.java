@@ -0,0 +1,29 @@
+package plp.enquanto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+  Nomes das variáveis de um programa e os símbolos inteiros que os
+  representam na árvore, consecutivos a partir de 0. Cada construção (as
+  Regras ou o Leitor do cache) tem a sua tabela, que segue junto com o
+  Programa pelas passagens; os símbolos só valem dentro dele. Só é
+  alterada durante a construção e as passagens, numa thread só.
+ */
+final class Simbolos {
+	private final Map<String, Integer> simbolos = new HashMap<>();
+	private final List<String> nomes = new ArrayList<>();
+
+	int simbolo(String nome) {
+		return simbolos.computeIfAbsent(nome, n -> {
+			nomes.add(n);
+			return nomes.size() - 1;
+		});
+	}
+
+	String nome(int simbolo) {
+		return nomes.get(simbolo);
+	}
+}
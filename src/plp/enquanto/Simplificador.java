@@ -0,0 +1,174 @@
+package plp.enquanto;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Dobra subárvores constantes e aplica identidades algébricas nas
+  expressões e nos booleanos. Uma subárvore só é descartada quando é pura:
+  não lê a entrada (leia) e não pode dividir por zero. Assim, efeitos
+  colaterais e erros de execução continuam acontecendo como antes.
+
+  Uma conta constante que daria erro fica para a execução, e um resultado
+  além de 64 bits vira um InteiroGrande.
+ */
+class Simplificador extends Transformador {
+	// só a pilha de grandes é usada ao dobrar
+	private final Contexto dobra = new Contexto((Entrada) null, (Saida) null, null);
+
+	@Override
+	protected Expressao expressao(Expressao original) {
+		final Expressao e = super.expressao(original);
+		if (!(e instanceof OpBin<?>)) return e;
+		@SuppressWarnings("unchecked")
+		final OpBin<Expressao> o = (OpBin<Expressao>) e;
+		final Long esq = constante(o.esq);
+		final Long dir = constante(o.dir);
+
+		if (esq != null && dir != null && !(e instanceof ExpPot && enorme(bits(o.esq), dir))) {
+			try {
+				final long v = e.getValor(dobra);
+				return v == Numeros.GRANDE ? new InteiroGrande(dobra.desempilhe()) : new Inteiro(v);
+			} catch (ArithmeticException erro) {
+				return e;
+			}
+		}
+		if (e instanceof ExpSoma) {
+			if (eh(dir, 0)) return o.esq;
+			if (eh(esq, 0)) return o.dir;
+		} else if (e instanceof ExpSub) {
+			if (eh(dir, 0)) return o.esq;
+			if (mesmaVariavel(o.esq, o.dir)) return new Inteiro(0);
+		} else if (e instanceof ExpMult) {
+			if (eh(dir, 1)) return o.esq;
+			if (eh(esq, 1)) return o.dir;
+			if ((eh(dir, 0) && puro(o.esq)) || (eh(esq, 0) && puro(o.dir))) return new Inteiro(0);
+		} else if (e instanceof ExpDiv) {
+			if (eh(dir, 1)) return o.esq;
+		} else if (e instanceof ExpPot) {
+			if (eh(dir, 1)) return o.esq;
+			if (eh(dir, 0) && puro(o.esq)) return new Inteiro(1);
+		}
+		return e;
+	}
+
+	@Override
+	protected Bool bool(Bool original) {
+		final Bool b = super.bool(original);
+		if (b instanceof NaoLogico n) {
+			if (n.operando instanceof Booleano v) return new Booleano(!v.valor);
+			if (n.operando instanceof NaoLogico nn) return nn.operando;
+			final Bool inversa = inversa(n.operando);
+			if (inversa != null) return inversa;
+		} else if (b instanceof ELogico o) {
+			final Boolean esq = condicaoConstante(o.esq);
+			final Boolean dir = condicaoConstante(o.dir);
+			if (esq != null) return esq ? o.dir : o.esq;
+			if (Boolean.TRUE.equals(dir)) return o.esq;
+			if (Boolean.FALSE.equals(dir) && condicaoPura(o.esq)) return o.dir;
+		} else if (b instanceof OuLogico o) {
+			final Boolean esq = condicaoConstante(o.esq);
+			final Boolean dir = condicaoConstante(o.dir);
+			if (esq != null) return esq ? o.esq : o.dir;
+			if (Boolean.FALSE.equals(dir)) return o.esq;
+			if (Boolean.TRUE.equals(dir) && condicaoPura(o.esq)) return o.dir;
+		} else if (b instanceof XorLogico o) {
+			final Boolean esq = condicaoConstante(o.esq);
+			final Boolean dir = condicaoConstante(o.dir);
+			if (esq != null && dir != null) return new Booleano(esq ^ dir);
+			if (esq != null) return esq ? new NaoLogico(o.dir) : o.dir;
+			if (dir != null) return dir ? new NaoLogico(o.esq) : o.esq;
+		} else if (b instanceof OpBin<?>) {
+			@SuppressWarnings("unchecked")
+			final OpBin<Expressao> o = (OpBin<Expressao>) b;
+			if (constante(o.esq) != null && constante(o.dir) != null) return new Booleano(b.getValor(null));
+			if (mesmaVariavel(o.esq, o.dir)) {
+				return new Booleano(b instanceof ExpIgual || b instanceof ExpMenorIgual || b instanceof ExpMaiorIgual);
+			}
+		}
+		return b;
+	}
+
+	// relação oposta, para eliminar a negação: nao (a < b) é a >= b
+	private static Bool inversa(Bool b) {
+		if (b instanceof ExpIgual o) return new ExpDiferente(o.esq, o.dir);
+		if (b instanceof ExpDiferente o) return new ExpIgual(o.esq, o.dir);
+		if (b instanceof ExpMenor o) return new ExpMaiorIgual(o.esq, o.dir);
+		if (b instanceof ExpMaiorIgual o) return new ExpMenor(o.esq, o.dir);
+		if (b instanceof ExpMaior o) return new ExpMenorIgual(o.esq, o.dir);
+		if (b instanceof ExpMenorIgual o) return new ExpMaior(o.esq, o.dir);
+		return null;
+	}
+
+	// potência com mais de 64 mil bits: calculada só se o programa chegar nela
+	private static boolean enorme(double bits, long expoente) {
+		return expoente > 0 && bits * expoente > 1 << 16;
+	}
+
+	/*
+	  Limite do tamanho do valor em bits, tirado só dos literais. Uma
+	  variável pode guardar um inteiro de qualquer tamanho, então o que
+	  depende dela (ou de leia) não tem limite.
+	 */
+	private static double bits(Expressao e) {
+		if (e instanceof Inteiro i) return 64 - Long.numberOfLeadingZeros(Math.abs(i.valor));
+		if (e instanceof InteiroGrande i) return i.valor.bitLength();
+		if (e instanceof ExpPot o) {
+			if (o.esq instanceof Inteiro b && Math.abs(b.valor) <= 1) return 1;
+			if (o.dir instanceof Inteiro d) return d.valor <= 0 ? 1 : bits(o.esq) * d.valor;
+		}
+		if (e instanceof ExpMult o) return bits(o.esq) + bits(o.dir);
+		if (e instanceof ExpSoma o) return Math.max(bits(o.esq), bits(o.dir)) + 1;
+		if (e instanceof ExpSub o) return Math.max(bits(o.esq), bits(o.dir)) + 1;
+		if (e instanceof ExpDiv o) return bits(o.esq);
+		return Double.POSITIVE_INFINITY;
+	}
+
+	private static Long constante(Expressao e) {
+		return e instanceof Inteiro i ? i.valor : null;
+	}
+
+	private static Boolean condicaoConstante(Bool b) {
+		return b instanceof Booleano v ? v.valor : null;
+	}
+
+	private static boolean eh(Long valor, long esperado) {
+		return valor != null && valor == esperado;
+	}
+
+	private static boolean mesmaVariavel(Expressao a, Expressao b) {
+		if (a instanceof Id x && b instanceof Id y) return x.simbolo == y.simbolo;
+		if (a instanceof IdLocal x && b instanceof IdLocal y) return x.slot == y.slot;
+		return false;
+	}
+
+	/*
+	  Pura: pode ser descartada sem mudar o comportamento do programa.
+	 */
+	static boolean puro(Expressao e) {
+		if (e instanceof Inteiro || e instanceof InteiroGrande || e instanceof Id || e instanceof IdLocal) return true;
+		if (e instanceof ExpDiv o) return puro(o.esq) && o.dir instanceof Inteiro d && d.valor != 0;
+		/*
+		  0 ^ -n também é divisão por zero; fora as bases 1 e -1, só é pura a
+		  potência de tamanho limitado como na dobra, que pode ser calculada
+		  de antemão sem o custo de uma que o programa nunca calcularia.
+		 */
+		if (e instanceof ExpPot o) {
+			if (!puro(o.esq) || !puro(o.dir)) return false;
+			if (o.esq instanceof Inteiro b && (b.valor == 1 || b.valor == -1)) return true;
+			return o.dir instanceof Inteiro d && d.valor >= 0 && !enorme(bits(o.esq), d.valor);
+		}
+		if (e instanceof OpBin<?> o) return puro((Expressao) o.esq) && puro((Expressao) o.dir);
+		return false;
+	}
+
+	static boolean condicaoPura(Bool b) {
+		if (b instanceof Booleano) return true;
+		if (b instanceof NaoLogico n) return condicaoPura(n.operando);
+		if (b instanceof ELogico || b instanceof OuLogico || b instanceof XorLogico) {
+			final OpBin<?> o = (OpBin<?>) b;
+			return condicaoPura((Bool) o.esq) && condicaoPura((Bool) o.dir);
+		}
+		if (b instanceof OpBin<?> o) return puro((Expressao) o.esq) && puro((Expressao) o.dir);
+		return false;
+	}
+}
@@ -0,0 +1,95 @@
+package plp.enquanto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import plp.enquanto.Linguagem.*;
+
+/*
+  Percorre a árvore construída pelas Regras e reconstrói cada nó a partir
+  dos filhos transformados. As passagens sobre o programa estendem esta
+  classe e sobrescrevem apenas os nós que lhes interessam. Depois de um
+  erro de sintaxe a árvore tem filhos nulos, que passam como estão: os
+  comandos anteriores ao erro executam e o nulo só falha ao ser alcançado.
+ */
+class Transformador {
+
+	public Programa transforme(Programa programa) {
+		return new Programa(comandos(programa.comandos), programa.variaveis, programa.simbolos);
+	}
+
+	protected List<Comando> comandos(List<Comando> comandos) {
+		final List<Comando> novos = new ArrayList<>(comandos.size());
+		for (Comando c : comandos) novos.add(comando(c));
+		return novos;
+	}
+
+	protected List<Expressao> expressoes(List<Expressao> exps) {
+		final List<Expressao> novas = new ArrayList<>(exps.size());
+		for (Expressao e : exps) novas.add(expressao(e));
+		return novas;
+	}
+
+	protected Comando comando(Comando c) {
+		if (c == null) return null;
+		if (c instanceof Se se)
+			return new Se(bool(se.condicao), comando(se.entao), comando(se.senao));
+		if (c instanceof Enquanto e)
+			return new Enquanto(bool(e.condicao), comando(e.comando));
+		if (c instanceof Escreva e)
+			return new Escreva(expressao(e.exp));
+		if (c instanceof Exiba e)
+			return e.conteudo instanceof Expressao exp ? new Exiba(expressao(exp)) : e;
+		if (c instanceof Bloco b)
+			return new Bloco(comandos(b.comandos));
+		if (c instanceof Atribuicao a)
+			return Regras.atribuicao(a.simbolos, expressoes(a.exps));
+		if (c instanceof AtribuicaoLocal a)
+			return Regras.atribuicaoLocal(a.slots, expressoes(a.exps));
+		if (c instanceof Para p)
+			return new Para(p.simbolo, expressao(p.de), expressao(p.ate), expressao(p.passo), comando(p.comando));
+		if (c instanceof ParaLocal p)
+			return new ParaLocal(p.slot, expressao(p.de), expressao(p.ate), expressao(p.passo), comando(p.comando), p.visivel);
+		if (c instanceof Repita r)
+			return new Repita(expressao(r.vezes), comando(r.comando));
+		if (c instanceof Escolha e) {
+			final Map<Integer, Comando> casos = new LinkedHashMap<>();
+			e.casos.forEach((k, v) -> casos.put(k, comando(v)));
+			return Regras.escolha(expressao(e.expressao), casos, e.padrao == null ? null : comando(e.padrao));
+		}
+		if (c instanceof Skip)
+			return c;
+		throw new IllegalArgumentException("Comando desconhecido: " + c.getClass().getSimpleName());
+	}
+
+	protected Expressao expressao(Expressao e) {
+		if (e == null) return null;
+		if (e instanceof ExpSoma o) return new ExpSoma(expressao(o.esq), expressao(o.dir));
+		if (e instanceof ExpSub o) return new ExpSub(expressao(o.esq), expressao(o.dir));
+		if (e instanceof ExpMult o) return new ExpMult(expressao(o.esq), expressao(o.dir));
+		if (e instanceof ExpDiv o) return new ExpDiv(expressao(o.esq), expressao(o.dir));
+		if (e instanceof ExpPot o) return Regras.potencia(expressao(o.esq), expressao(o.dir));
+		if (e instanceof Inteiro || e instanceof InteiroGrande || e instanceof Id || e instanceof IdLocal || e instanceof Leia)
+			return e;
+		throw new IllegalArgumentException("Expressão desconhecida: " + e.getClass().getSimpleName());
+	}
+
+	protected Bool bool(Bool b) {
+		if (b == null) return null;
+		if (b instanceof ExpIgual o) return new ExpIgual(expressao(o.esq), expressao(o.dir));
+		if (b instanceof ExpDiferente o) return new ExpDiferente(expressao(o.esq), expressao(o.dir));
+		if (b instanceof ExpMenorIgual o) return new ExpMenorIgual(expressao(o.esq), expressao(o.dir));
+		if (b instanceof ExpMaiorIgual o) return new ExpMaiorIgual(expressao(o.esq), expressao(o.dir));
+		if (b instanceof ExpMenor o) return new ExpMenor(expressao(o.esq), expressao(o.dir));
+		if (b instanceof ExpMaior o) return new ExpMaior(expressao(o.esq), expressao(o.dir));
+		if (b instanceof NaoLogico o) return new NaoLogico(bool(o.operando));
+		if (b instanceof ELogico o) return new ELogico(bool(o.esq), bool(o.dir));
+		if (b instanceof OuLogico o) return new OuLogico(bool(o.esq), bool(o.dir));
+		if (b instanceof XorLogico o) return new XorLogico(bool(o.esq), bool(o.dir));
+		if (b instanceof Booleano)
+			return b;
+		throw new IllegalArgumentException("Booleano desconhecido: " + b.getClass().getSimpleName());
+	}
+}
@@ -8,33 +8,33 @@ comando: listaId ':=' listaExpressao                     # atribuicao
        | 'skip'                                          # skip
        | 'se' booleano 'entao' comando ('senaose' booleano 'entao' comando)* ('senao' comando)?   # se
        | 'enquanto' booleano 'faca' comando              # enquanto
-       | 'para' ID 'de' expressao 'ate' expressao 'faca' comando # para
+       | 'para' variavel=ID 'de' expressao 'ate' expressao ('passo' expressao)? 'faca' comando # para
        | 'repita' expressao 'vezes' comando              # repita
        | 'escolha' expressao '{' caso* '}'               # escolha
-       | 'exiba' (TEXTO | expressao)                     # exiba
+       | 'exiba' (texto=TEXTO | expressao)               # exiba
        | 'escreva' expressao                             # escreva
        | '{' seqComando '}'                              # bloco
        ;
 
 caso : (expressao | 'padrao' | '_') ':' comando ';';
 
-listaId : ID (',' ID)*;
+listaId : ids+=ID (',' ids+=ID)*;
 listaExpressao : expressao (',' expressao)*;
 
 expressao: INT                                           # inteiro
          | 'leia'                                        # leia
          | ID                                            # id
          | '(' expressao ')'                             # expPar
-         | <assoc=right> expressao '^' expressao         # opBin
-         | expressao ('*' | '/') expressao               # opBin
-         | expressao ('+' | '-') expressao               # opBin
+         | <assoc=right> expressao op='^' expressao      # opBin
+         | expressao op=('*' | '/') expressao            # opBin
+         | expressao op=('+' | '-') expressao            # opBin
          ;
 
 booleano: BOOLEANO                                       # bool
-        | expressao ('=' | '<=' | '>=' | '>' | '<' | '<>') expressao # opRel
+        | expressao op=('=' | '<=' | '>=' | '>' | '<' | '<>') expressao # opRel
         | 'nao' booleano                                 # naoLogico
         | booleano 'e' booleano                          # eLogico
-        | booleano ('ou' | 'xor') booleano               # opLogico
+        | booleano op=('ou' | 'xor') booleano            # opLogico
         | '(' booleano ')'                               # boolPar
         ;
 
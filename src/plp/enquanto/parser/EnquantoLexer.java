@@ -22,8 +22,8 @@ public class EnquantoLexer extends Lexer {
 		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
 		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
 		T__31=32, T__32=33, T__33=34, T__34=35, T__35=36, T__36=37, T__37=38, 
-		T__38=39, T__39=40, T__40=41, BOOLEANO=42, INT=43, ID=44, TEXTO=45, Comentario=46, 
-		Espaco=47;
+		T__38=39, T__39=40, T__40=41, T__41=42, BOOLEANO=43, INT=44, ID=45, TEXTO=46, 
+		Comentario=47, Espaco=48;
 	public static String[] channelNames = {
 		"DEFAULT_TOKEN_CHANNEL", "HIDDEN"
 	};
@@ -39,7 +39,7 @@ public class EnquantoLexer extends Lexer {
 			"T__17", "T__18", "T__19", "T__20", "T__21", "T__22", "T__23", "T__24", 
 			"T__25", "T__26", "T__27", "T__28", "T__29", "T__30", "T__31", "T__32", 
 			"T__33", "T__34", "T__35", "T__36", "T__37", "T__38", "T__39", "T__40", 
-			"BOOLEANO", "INT", "ID", "TEXTO", "Comentario", "Espaco"
+			"T__41", "BOOLEANO", "INT", "ID", "TEXTO", "Comentario", "Espaco"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -47,10 +47,10 @@ public class EnquantoLexer extends Lexer {
 	private static String[] makeLiteralNames() {
 		return new String[] {
 			null, "';'", "':='", "'skip'", "'se'", "'entao'", "'senaose'", "'senao'", 
-			"'enquanto'", "'faca'", "'para'", "'de'", "'ate'", "'repita'", "'vezes'", 
-			"'escolha'", "'{'", "'}'", "'exiba'", "'escreva'", "'padrao'", "'_'", 
-			"':'", "','", "'leia'", "'('", "')'", "'^'", "'*'", "'/'", "'+'", "'-'", 
-			"'='", "'<='", "'>='", "'>'", "'<'", "'<>'", "'nao'", "'e'", "'ou'", 
+			"'enquanto'", "'faca'", "'para'", "'de'", "'ate'", "'passo'", "'repita'", 
+			"'vezes'", "'escolha'", "'{'", "'}'", "'exiba'", "'escreva'", "'padrao'", 
+			"'_'", "':'", "','", "'leia'", "'('", "')'", "'^'", "'*'", "'/'", "'+'", 
+			"'-'", "'='", "'<='", "'>='", "'>'", "'<'", "'<>'", "'nao'", "'e'", "'ou'", 
 			"'xor'"
 		};
 	}
@@ -60,7 +60,7 @@ public class EnquantoLexer extends Lexer {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, "BOOLEANO", "INT", "ID", "TEXTO", 
+			null, null, null, null, null, null, null, "BOOLEANO", "INT", "ID", "TEXTO", 
 			"Comentario", "Espaco"
 		};
 	}
@@ -123,7 +123,7 @@ public class EnquantoLexer extends Lexer {
 	public ATN getATN() { return _ATN; }
 
 	public static final String _serializedATN =
-		"\u0004\u0000/\u0130\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002\u0001"+
+		"\u0004\u00000\u0138\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002\u0001"+
 		"\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004"+
 		"\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007"+
 		"\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b"+
@@ -136,41 +136,42 @@ public class EnquantoLexer extends Lexer {
 		"\u001e\u0007\u001e\u0002\u001f\u0007\u001f\u0002 \u0007 \u0002!\u0007"+
 		"!\u0002\"\u0007\"\u0002#\u0007#\u0002$\u0007$\u0002%\u0007%\u0002&\u0007"+
 		"&\u0002\'\u0007\'\u0002(\u0007(\u0002)\u0007)\u0002*\u0007*\u0002+\u0007"+
-		"+\u0002,\u0007,\u0002-\u0007-\u0002.\u0007.\u0001\u0000\u0001\u0000\u0001"+
-		"\u0001\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002\u0001\u0002\u0001"+
-		"\u0002\u0001\u0002\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0004\u0001"+
-		"\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0005\u0001"+
-		"\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
-		"\u0005\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001"+
-		"\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001"+
-		"\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001\b\u0001\b\u0001"+
-		"\b\u0001\b\u0001\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001\n\u0001\n\u0001"+
-		"\n\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\f\u0001\f\u0001"+
-		"\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\r\u0001\r\u0001\r\u0001\r\u0001"+
-		"\r\u0001\r\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000e"+
-		"\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000f\u0001\u000f\u0001\u0010"+
-		"\u0001\u0010\u0001\u0011\u0001\u0011\u0001\u0011\u0001\u0011\u0001\u0011"+
-		"\u0001\u0011\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012"+
-		"\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0013\u0001\u0013\u0001\u0013"+
+		"+\u0002,\u0007,\u0002-\u0007-\u0002.\u0007.\u0002/\u0007/\u0001\u0000"+
+		"\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002"+
+		"\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0003\u0001\u0003\u0001\u0003"+
+		"\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004"+
+		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0001\u0005\u0001\u0005\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006"+
+		"\u0001\u0006\u0001\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007"+
+		"\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001"+
+		"\b\u0001\b\u0001\b\u0001\b\u0001\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001"+
+		"\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001"+
+		"\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\r\u0001\r\u0001\r\u0001"+
+		"\r\u0001\r\u0001\r\u0001\r\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000e"+
+		"\u0001\u000e\u0001\u000e\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u000f"+
+		"\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u0010\u0001\u0010"+
+		"\u0001\u0011\u0001\u0011\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012"+
+		"\u0001\u0012\u0001\u0012\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013"+
 		"\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0014\u0001\u0014"+
-		"\u0001\u0015\u0001\u0015\u0001\u0016\u0001\u0016\u0001\u0017\u0001\u0017"+
-		"\u0001\u0017\u0001\u0017\u0001\u0017\u0001\u0018\u0001\u0018\u0001\u0019"+
-		"\u0001\u0019\u0001\u001a\u0001\u001a\u0001\u001b\u0001\u001b\u0001\u001c"+
-		"\u0001\u001c\u0001\u001d\u0001\u001d\u0001\u001e\u0001\u001e\u0001\u001f"+
-		"\u0001\u001f\u0001 \u0001 \u0001 \u0001!\u0001!\u0001!\u0001\"\u0001\""+
-		"\u0001#\u0001#\u0001$\u0001$\u0001$\u0001%\u0001%\u0001%\u0001%\u0001"+
-		"&\u0001&\u0001\'\u0001\'\u0001\'\u0001(\u0001(\u0001(\u0001(\u0001)\u0001"+
-		")\u0001)\u0001)\u0001)\u0001)\u0001)\u0001)\u0001)\u0001)\u0001)\u0001"+
-		")\u0001)\u0001)\u0001)\u0003)\u010d\b)\u0001*\u0004*\u0110\b*\u000b*\f"+
-		"*\u0111\u0001+\u0004+\u0115\b+\u000b+\f+\u0116\u0001,\u0001,\u0005,\u011b"+
-		"\b,\n,\f,\u011e\t,\u0001,\u0001,\u0001-\u0001-\u0005-\u0124\b-\n-\f-\u0127"+
-		"\t-\u0001-\u0001-\u0001-\u0001-\u0001.\u0001.\u0001.\u0001.\u0002\u011c"+
-		"\u0125\u0000/\u0001\u0001\u0003\u0002\u0005\u0003\u0007\u0004\t\u0005"+
+		"\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0015"+
+		"\u0001\u0015\u0001\u0016\u0001\u0016\u0001\u0017\u0001\u0017\u0001\u0018"+
+		"\u0001\u0018\u0001\u0018\u0001\u0018\u0001\u0018\u0001\u0019\u0001\u0019"+
+		"\u0001\u001a\u0001\u001a\u0001\u001b\u0001\u001b\u0001\u001c\u0001\u001c"+
+		"\u0001\u001d\u0001\u001d\u0001\u001e\u0001\u001e\u0001\u001f\u0001\u001f"+
+		"\u0001 \u0001 \u0001!\u0001!\u0001!\u0001\"\u0001\"\u0001\"\u0001#\u0001"+
+		"#\u0001$\u0001$\u0001%\u0001%\u0001%\u0001&\u0001&\u0001&\u0001&\u0001"+
+		"\'\u0001\'\u0001(\u0001(\u0001(\u0001)\u0001)\u0001)\u0001)\u0001*\u0001"+
+		"*\u0001*\u0001*\u0001*\u0001*\u0001*\u0001*\u0001*\u0001*\u0001*\u0001"+
+		"*\u0001*\u0001*\u0001*\u0003*\u0115\b*\u0001+\u0004+\u0118\b+\u000b+\f"+
+		"+\u0119\u0001,\u0004,\u011d\b,\u000b,\f,\u011e\u0001-\u0001-\u0005-\u0123"+
+		"\b-\n-\f-\u0126\t-\u0001-\u0001-\u0001.\u0001.\u0005.\u012c\b.\n.\f.\u012f"+
+		"\t.\u0001.\u0001.\u0001.\u0001.\u0001/\u0001/\u0001/\u0001/\u0002\u0124"+
+		"\u012d\u00000\u0001\u0001\u0003\u0002\u0005\u0003\u0007\u0004\t\u0005"+
 		"\u000b\u0006\r\u0007\u000f\b\u0011\t\u0013\n\u0015\u000b\u0017\f\u0019"+
 		"\r\u001b\u000e\u001d\u000f\u001f\u0010!\u0011#\u0012%\u0013\'\u0014)\u0015"+
 		"+\u0016-\u0017/\u00181\u00193\u001a5\u001b7\u001c9\u001d;\u001e=\u001f"+
-		"? A!C\"E#G$I%K&M\'O(Q)S*U+W,Y-[.]/\u0001\u0000\u0001\u0003\u0000\t\n\r"+
-		"\r  \u0134\u0000\u0001\u0001\u0000\u0000\u0000\u0000\u0003\u0001\u0000"+
+		"? A!C\"E#G$I%K&M\'O(Q)S*U+W,Y-[.]/_0\u0001\u0000\u0001\u0003\u0000\t\n"+
+		"\r\r  \u013c\u0000\u0001\u0001\u0000\u0000\u0000\u0000\u0003\u0001\u0000"+
 		"\u0000\u0000\u0000\u0005\u0001\u0000\u0000\u0000\u0000\u0007\u0001\u0000"+
 		"\u0000\u0000\u0000\t\u0001\u0000\u0000\u0000\u0000\u000b\u0001\u0000\u0000"+
 		"\u0000\u0000\r\u0001\u0000\u0000\u0000\u0000\u000f\u0001\u0000\u0000\u0000"+
@@ -191,119 +192,123 @@ public class EnquantoLexer extends Lexer {
 		"O\u0001\u0000\u0000\u0000\u0000Q\u0001\u0000\u0000\u0000\u0000S\u0001"+
 		"\u0000\u0000\u0000\u0000U\u0001\u0000\u0000\u0000\u0000W\u0001\u0000\u0000"+
 		"\u0000\u0000Y\u0001\u0000\u0000\u0000\u0000[\u0001\u0000\u0000\u0000\u0000"+
-		"]\u0001\u0000\u0000\u0000\u0001_\u0001\u0000\u0000\u0000\u0003a\u0001"+
-		"\u0000\u0000\u0000\u0005d\u0001\u0000\u0000\u0000\u0007i\u0001\u0000\u0000"+
-		"\u0000\tl\u0001\u0000\u0000\u0000\u000br\u0001\u0000\u0000\u0000\rz\u0001"+
-		"\u0000\u0000\u0000\u000f\u0080\u0001\u0000\u0000\u0000\u0011\u0089\u0001"+
-		"\u0000\u0000\u0000\u0013\u008e\u0001\u0000\u0000\u0000\u0015\u0093\u0001"+
-		"\u0000\u0000\u0000\u0017\u0096\u0001\u0000\u0000\u0000\u0019\u009a\u0001"+
-		"\u0000\u0000\u0000\u001b\u00a1\u0001\u0000\u0000\u0000\u001d\u00a7\u0001"+
-		"\u0000\u0000\u0000\u001f\u00af\u0001\u0000\u0000\u0000!\u00b1\u0001\u0000"+
-		"\u0000\u0000#\u00b3\u0001\u0000\u0000\u0000%\u00b9\u0001\u0000\u0000\u0000"+
-		"\'\u00c1\u0001\u0000\u0000\u0000)\u00c8\u0001\u0000\u0000\u0000+\u00ca"+
-		"\u0001\u0000\u0000\u0000-\u00cc\u0001\u0000\u0000\u0000/\u00ce\u0001\u0000"+
-		"\u0000\u00001\u00d3\u0001\u0000\u0000\u00003\u00d5\u0001\u0000\u0000\u0000"+
-		"5\u00d7\u0001\u0000\u0000\u00007\u00d9\u0001\u0000\u0000\u00009\u00db"+
-		"\u0001\u0000\u0000\u0000;\u00dd\u0001\u0000\u0000\u0000=\u00df\u0001\u0000"+
-		"\u0000\u0000?\u00e1\u0001\u0000\u0000\u0000A\u00e3\u0001\u0000\u0000\u0000"+
-		"C\u00e6\u0001\u0000\u0000\u0000E\u00e9\u0001\u0000\u0000\u0000G\u00eb"+
-		"\u0001\u0000\u0000\u0000I\u00ed\u0001\u0000\u0000\u0000K\u00f0\u0001\u0000"+
-		"\u0000\u0000M\u00f4\u0001\u0000\u0000\u0000O\u00f6\u0001\u0000\u0000\u0000"+
-		"Q\u00f9\u0001\u0000\u0000\u0000S\u010c\u0001\u0000\u0000\u0000U\u010f"+
-		"\u0001\u0000\u0000\u0000W\u0114\u0001\u0000\u0000\u0000Y\u0118\u0001\u0000"+
-		"\u0000\u0000[\u0121\u0001\u0000\u0000\u0000]\u012c\u0001\u0000\u0000\u0000"+
-		"_`\u0005;\u0000\u0000`\u0002\u0001\u0000\u0000\u0000ab\u0005:\u0000\u0000"+
-		"bc\u0005=\u0000\u0000c\u0004\u0001\u0000\u0000\u0000de\u0005s\u0000\u0000"+
-		"ef\u0005k\u0000\u0000fg\u0005i\u0000\u0000gh\u0005p\u0000\u0000h\u0006"+
-		"\u0001\u0000\u0000\u0000ij\u0005s\u0000\u0000jk\u0005e\u0000\u0000k\b"+
-		"\u0001\u0000\u0000\u0000lm\u0005e\u0000\u0000mn\u0005n\u0000\u0000no\u0005"+
-		"t\u0000\u0000op\u0005a\u0000\u0000pq\u0005o\u0000\u0000q\n\u0001\u0000"+
-		"\u0000\u0000rs\u0005s\u0000\u0000st\u0005e\u0000\u0000tu\u0005n\u0000"+
-		"\u0000uv\u0005a\u0000\u0000vw\u0005o\u0000\u0000wx\u0005s\u0000\u0000"+
-		"xy\u0005e\u0000\u0000y\f\u0001\u0000\u0000\u0000z{\u0005s\u0000\u0000"+
-		"{|\u0005e\u0000\u0000|}\u0005n\u0000\u0000}~\u0005a\u0000\u0000~\u007f"+
-		"\u0005o\u0000\u0000\u007f\u000e\u0001\u0000\u0000\u0000\u0080\u0081\u0005"+
-		"e\u0000\u0000\u0081\u0082\u0005n\u0000\u0000\u0082\u0083\u0005q\u0000"+
-		"\u0000\u0083\u0084\u0005u\u0000\u0000\u0084\u0085\u0005a\u0000\u0000\u0085"+
-		"\u0086\u0005n\u0000\u0000\u0086\u0087\u0005t\u0000\u0000\u0087\u0088\u0005"+
-		"o\u0000\u0000\u0088\u0010\u0001\u0000\u0000\u0000\u0089\u008a\u0005f\u0000"+
-		"\u0000\u008a\u008b\u0005a\u0000\u0000\u008b\u008c\u0005c\u0000\u0000\u008c"+
-		"\u008d\u0005a\u0000\u0000\u008d\u0012\u0001\u0000\u0000\u0000\u008e\u008f"+
-		"\u0005p\u0000\u0000\u008f\u0090\u0005a\u0000\u0000\u0090\u0091\u0005r"+
-		"\u0000\u0000\u0091\u0092\u0005a\u0000\u0000\u0092\u0014\u0001\u0000\u0000"+
-		"\u0000\u0093\u0094\u0005d\u0000\u0000\u0094\u0095\u0005e\u0000\u0000\u0095"+
-		"\u0016\u0001\u0000\u0000\u0000\u0096\u0097\u0005a\u0000\u0000\u0097\u0098"+
-		"\u0005t\u0000\u0000\u0098\u0099\u0005e\u0000\u0000\u0099\u0018\u0001\u0000"+
-		"\u0000\u0000\u009a\u009b\u0005r\u0000\u0000\u009b\u009c\u0005e\u0000\u0000"+
-		"\u009c\u009d\u0005p\u0000\u0000\u009d\u009e\u0005i\u0000\u0000\u009e\u009f"+
-		"\u0005t\u0000\u0000\u009f\u00a0\u0005a\u0000\u0000\u00a0\u001a\u0001\u0000"+
-		"\u0000\u0000\u00a1\u00a2\u0005v\u0000\u0000\u00a2\u00a3\u0005e\u0000\u0000"+
-		"\u00a3\u00a4\u0005z\u0000\u0000\u00a4\u00a5\u0005e\u0000\u0000\u00a5\u00a6"+
-		"\u0005s\u0000\u0000\u00a6\u001c\u0001\u0000\u0000\u0000\u00a7\u00a8\u0005"+
-		"e\u0000\u0000\u00a8\u00a9\u0005s\u0000\u0000\u00a9\u00aa\u0005c\u0000"+
-		"\u0000\u00aa\u00ab\u0005o\u0000\u0000\u00ab\u00ac\u0005l\u0000\u0000\u00ac"+
-		"\u00ad\u0005h\u0000\u0000\u00ad\u00ae\u0005a\u0000\u0000\u00ae\u001e\u0001"+
-		"\u0000\u0000\u0000\u00af\u00b0\u0005{\u0000\u0000\u00b0 \u0001\u0000\u0000"+
-		"\u0000\u00b1\u00b2\u0005}\u0000\u0000\u00b2\"\u0001\u0000\u0000\u0000"+
-		"\u00b3\u00b4\u0005e\u0000\u0000\u00b4\u00b5\u0005x\u0000\u0000\u00b5\u00b6"+
-		"\u0005i\u0000\u0000\u00b6\u00b7\u0005b\u0000\u0000\u00b7\u00b8\u0005a"+
-		"\u0000\u0000\u00b8$\u0001\u0000\u0000\u0000\u00b9\u00ba\u0005e\u0000\u0000"+
-		"\u00ba\u00bb\u0005s\u0000\u0000\u00bb\u00bc\u0005c\u0000\u0000\u00bc\u00bd"+
-		"\u0005r\u0000\u0000\u00bd\u00be\u0005e\u0000\u0000\u00be\u00bf\u0005v"+
-		"\u0000\u0000\u00bf\u00c0\u0005a\u0000\u0000\u00c0&\u0001\u0000\u0000\u0000"+
-		"\u00c1\u00c2\u0005p\u0000\u0000\u00c2\u00c3\u0005a\u0000\u0000\u00c3\u00c4"+
-		"\u0005d\u0000\u0000\u00c4\u00c5\u0005r\u0000\u0000\u00c5\u00c6\u0005a"+
-		"\u0000\u0000\u00c6\u00c7\u0005o\u0000\u0000\u00c7(\u0001\u0000\u0000\u0000"+
-		"\u00c8\u00c9\u0005_\u0000\u0000\u00c9*\u0001\u0000\u0000\u0000\u00ca\u00cb"+
-		"\u0005:\u0000\u0000\u00cb,\u0001\u0000\u0000\u0000\u00cc\u00cd\u0005,"+
-		"\u0000\u0000\u00cd.\u0001\u0000\u0000\u0000\u00ce\u00cf\u0005l\u0000\u0000"+
-		"\u00cf\u00d0\u0005e\u0000\u0000\u00d0\u00d1\u0005i\u0000\u0000\u00d1\u00d2"+
-		"\u0005a\u0000\u0000\u00d20\u0001\u0000\u0000\u0000\u00d3\u00d4\u0005("+
-		"\u0000\u0000\u00d42\u0001\u0000\u0000\u0000\u00d5\u00d6\u0005)\u0000\u0000"+
-		"\u00d64\u0001\u0000\u0000\u0000\u00d7\u00d8\u0005^\u0000\u0000\u00d86"+
-		"\u0001\u0000\u0000\u0000\u00d9\u00da\u0005*\u0000\u0000\u00da8\u0001\u0000"+
-		"\u0000\u0000\u00db\u00dc\u0005/\u0000\u0000\u00dc:\u0001\u0000\u0000\u0000"+
-		"\u00dd\u00de\u0005+\u0000\u0000\u00de<\u0001\u0000\u0000\u0000\u00df\u00e0"+
-		"\u0005-\u0000\u0000\u00e0>\u0001\u0000\u0000\u0000\u00e1\u00e2\u0005="+
-		"\u0000\u0000\u00e2@\u0001\u0000\u0000\u0000\u00e3\u00e4\u0005<\u0000\u0000"+
-		"\u00e4\u00e5\u0005=\u0000\u0000\u00e5B\u0001\u0000\u0000\u0000\u00e6\u00e7"+
-		"\u0005>\u0000\u0000\u00e7\u00e8\u0005=\u0000\u0000\u00e8D\u0001\u0000"+
-		"\u0000\u0000\u00e9\u00ea\u0005>\u0000\u0000\u00eaF\u0001\u0000\u0000\u0000"+
-		"\u00eb\u00ec\u0005<\u0000\u0000\u00ecH\u0001\u0000\u0000\u0000\u00ed\u00ee"+
-		"\u0005<\u0000\u0000\u00ee\u00ef\u0005>\u0000\u0000\u00efJ\u0001\u0000"+
-		"\u0000\u0000\u00f0\u00f1\u0005n\u0000\u0000\u00f1\u00f2\u0005a\u0000\u0000"+
-		"\u00f2\u00f3\u0005o\u0000\u0000\u00f3L\u0001\u0000\u0000\u0000\u00f4\u00f5"+
-		"\u0005e\u0000\u0000\u00f5N\u0001\u0000\u0000\u0000\u00f6\u00f7\u0005o"+
-		"\u0000\u0000\u00f7\u00f8\u0005u\u0000\u0000\u00f8P\u0001\u0000\u0000\u0000"+
-		"\u00f9\u00fa\u0005x\u0000\u0000\u00fa\u00fb\u0005o\u0000\u0000\u00fb\u00fc"+
-		"\u0005r\u0000\u0000\u00fcR\u0001\u0000\u0000\u0000\u00fd\u00fe\u0005v"+
-		"\u0000\u0000\u00fe\u00ff\u0005e\u0000\u0000\u00ff\u0100\u0005r\u0000\u0000"+
-		"\u0100\u0101\u0005d\u0000\u0000\u0101\u0102\u0005a\u0000\u0000\u0102\u0103"+
-		"\u0005d\u0000\u0000\u0103\u0104\u0005e\u0000\u0000\u0104\u0105\u0005i"+
-		"\u0000\u0000\u0105\u0106\u0005r\u0000\u0000\u0106\u010d\u0005o\u0000\u0000"+
-		"\u0107\u0108\u0005f\u0000\u0000\u0108\u0109\u0005a\u0000\u0000\u0109\u010a"+
-		"\u0005l\u0000\u0000\u010a\u010b\u0005s\u0000\u0000\u010b\u010d\u0005o"+
-		"\u0000\u0000\u010c\u00fd\u0001\u0000\u0000\u0000\u010c\u0107\u0001\u0000"+
-		"\u0000\u0000\u010dT\u0001\u0000\u0000\u0000\u010e\u0110\u000209\u0000"+
-		"\u010f\u010e\u0001\u0000\u0000\u0000\u0110\u0111\u0001\u0000\u0000\u0000"+
-		"\u0111\u010f\u0001\u0000\u0000\u0000\u0111\u0112\u0001\u0000\u0000\u0000"+
-		"\u0112V\u0001\u0000\u0000\u0000\u0113\u0115\u0002az\u0000\u0114\u0113"+
-		"\u0001\u0000\u0000\u0000\u0115\u0116\u0001\u0000\u0000\u0000\u0116\u0114"+
-		"\u0001\u0000\u0000\u0000\u0116\u0117\u0001\u0000\u0000\u0000\u0117X\u0001"+
-		"\u0000\u0000\u0000\u0118\u011c\u0005\"\u0000\u0000\u0119\u011b\t\u0000"+
-		"\u0000\u0000\u011a\u0119\u0001\u0000\u0000\u0000\u011b\u011e\u0001\u0000"+
-		"\u0000\u0000\u011c\u011d\u0001\u0000\u0000\u0000\u011c\u011a\u0001\u0000"+
-		"\u0000\u0000\u011d\u011f\u0001\u0000\u0000\u0000\u011e\u011c\u0001\u0000"+
-		"\u0000\u0000\u011f\u0120\u0005\"\u0000\u0000\u0120Z\u0001\u0000\u0000"+
-		"\u0000\u0121\u0125\u0005#\u0000\u0000\u0122\u0124\t\u0000\u0000\u0000"+
-		"\u0123\u0122\u0001\u0000\u0000\u0000\u0124\u0127\u0001\u0000\u0000\u0000"+
-		"\u0125\u0126\u0001\u0000\u0000\u0000\u0125\u0123\u0001\u0000\u0000\u0000"+
-		"\u0126\u0128\u0001\u0000\u0000\u0000\u0127\u0125\u0001\u0000\u0000\u0000"+
-		"\u0128\u0129\u0005\n\u0000\u0000\u0129\u012a\u0001\u0000\u0000\u0000\u012a"+
-		"\u012b\u0006-\u0000\u0000\u012b\\\u0001\u0000\u0000\u0000\u012c\u012d"+
-		"\u0007\u0000\u0000\u0000\u012d\u012e\u0001\u0000\u0000\u0000\u012e\u012f"+
-		"\u0006.\u0000\u0000\u012f^\u0001\u0000\u0000\u0000\u0006\u0000\u010c\u0111"+
-		"\u0116\u011c\u0125\u0001\u0006\u0000\u0000";
+		"]\u0001\u0000\u0000\u0000\u0000_\u0001\u0000\u0000\u0000\u0001a\u0001"+
+		"\u0000\u0000\u0000\u0003c\u0001\u0000\u0000\u0000\u0005f\u0001\u0000\u0000"+
+		"\u0000\u0007k\u0001\u0000\u0000\u0000\tn\u0001\u0000\u0000\u0000\u000b"+
+		"t\u0001\u0000\u0000\u0000\r|\u0001\u0000\u0000\u0000\u000f\u0082\u0001"+
+		"\u0000\u0000\u0000\u0011\u008b\u0001\u0000\u0000\u0000\u0013\u0090\u0001"+
+		"\u0000\u0000\u0000\u0015\u0095\u0001\u0000\u0000\u0000\u0017\u0098\u0001"+
+		"\u0000\u0000\u0000\u0019\u009c\u0001\u0000\u0000\u0000\u001b\u00a2\u0001"+
+		"\u0000\u0000\u0000\u001d\u00a9\u0001\u0000\u0000\u0000\u001f\u00af\u0001"+
+		"\u0000\u0000\u0000!\u00b7\u0001\u0000\u0000\u0000#\u00b9\u0001\u0000\u0000"+
+		"\u0000%\u00bb\u0001\u0000\u0000\u0000\'\u00c1\u0001\u0000\u0000\u0000"+
+		")\u00c9\u0001\u0000\u0000\u0000+\u00d0\u0001\u0000\u0000\u0000-\u00d2"+
+		"\u0001\u0000\u0000\u0000/\u00d4\u0001\u0000\u0000\u00001\u00d6\u0001\u0000"+
+		"\u0000\u00003\u00db\u0001\u0000\u0000\u00005\u00dd\u0001\u0000\u0000\u0000"+
+		"7\u00df\u0001\u0000\u0000\u00009\u00e1\u0001\u0000\u0000\u0000;\u00e3"+
+		"\u0001\u0000\u0000\u0000=\u00e5\u0001\u0000\u0000\u0000?\u00e7\u0001\u0000"+
+		"\u0000\u0000A\u00e9\u0001\u0000\u0000\u0000C\u00eb\u0001\u0000\u0000\u0000"+
+		"E\u00ee\u0001\u0000\u0000\u0000G\u00f1\u0001\u0000\u0000\u0000I\u00f3"+
+		"\u0001\u0000\u0000\u0000K\u00f5\u0001\u0000\u0000\u0000M\u00f8\u0001\u0000"+
+		"\u0000\u0000O\u00fc\u0001\u0000\u0000\u0000Q\u00fe\u0001\u0000\u0000\u0000"+
+		"S\u0101\u0001\u0000\u0000\u0000U\u0114\u0001\u0000\u0000\u0000W\u0117"+
+		"\u0001\u0000\u0000\u0000Y\u011c\u0001\u0000\u0000\u0000[\u0120\u0001\u0000"+
+		"\u0000\u0000]\u0129\u0001\u0000\u0000\u0000_\u0134\u0001\u0000\u0000\u0000"+
+		"ab\u0005;\u0000\u0000b\u0002\u0001\u0000\u0000\u0000cd\u0005:\u0000\u0000"+
+		"de\u0005=\u0000\u0000e\u0004\u0001\u0000\u0000\u0000fg\u0005s\u0000\u0000"+
+		"gh\u0005k\u0000\u0000hi\u0005i\u0000\u0000ij\u0005p\u0000\u0000j\u0006"+
+		"\u0001\u0000\u0000\u0000kl\u0005s\u0000\u0000lm\u0005e\u0000\u0000m\b"+
+		"\u0001\u0000\u0000\u0000no\u0005e\u0000\u0000op\u0005n\u0000\u0000pq\u0005"+
+		"t\u0000\u0000qr\u0005a\u0000\u0000rs\u0005o\u0000\u0000s\n\u0001\u0000"+
+		"\u0000\u0000tu\u0005s\u0000\u0000uv\u0005e\u0000\u0000vw\u0005n\u0000"+
+		"\u0000wx\u0005a\u0000\u0000xy\u0005o\u0000\u0000yz\u0005s\u0000\u0000"+
+		"z{\u0005e\u0000\u0000{\f\u0001\u0000\u0000\u0000|}\u0005s\u0000\u0000"+
+		"}~\u0005e\u0000\u0000~\u007f\u0005n\u0000\u0000\u007f\u0080\u0005a\u0000"+
+		"\u0000\u0080\u0081\u0005o\u0000\u0000\u0081\u000e\u0001\u0000\u0000\u0000"+
+		"\u0082\u0083\u0005e\u0000\u0000\u0083\u0084\u0005n\u0000\u0000\u0084\u0085"+
+		"\u0005q\u0000\u0000\u0085\u0086\u0005u\u0000\u0000\u0086\u0087\u0005a"+
+		"\u0000\u0000\u0087\u0088\u0005n\u0000\u0000\u0088\u0089\u0005t\u0000\u0000"+
+		"\u0089\u008a\u0005o\u0000\u0000\u008a\u0010\u0001\u0000\u0000\u0000\u008b"+
+		"\u008c\u0005f\u0000\u0000\u008c\u008d\u0005a\u0000\u0000\u008d\u008e\u0005"+
+		"c\u0000\u0000\u008e\u008f\u0005a\u0000\u0000\u008f\u0012\u0001\u0000\u0000"+
+		"\u0000\u0090\u0091\u0005p\u0000\u0000\u0091\u0092\u0005a\u0000\u0000\u0092"+
+		"\u0093\u0005r\u0000\u0000\u0093\u0094\u0005a\u0000\u0000\u0094\u0014\u0001"+
+		"\u0000\u0000\u0000\u0095\u0096\u0005d\u0000\u0000\u0096\u0097\u0005e\u0000"+
+		"\u0000\u0097\u0016\u0001\u0000\u0000\u0000\u0098\u0099\u0005a\u0000\u0000"+
+		"\u0099\u009a\u0005t\u0000\u0000\u009a\u009b\u0005e\u0000\u0000\u009b\u0018"+
+		"\u0001\u0000\u0000\u0000\u009c\u009d\u0005p\u0000\u0000\u009d\u009e\u0005"+
+		"a\u0000\u0000\u009e\u009f\u0005s\u0000\u0000\u009f\u00a0\u0005s\u0000"+
+		"\u0000\u00a0\u00a1\u0005o\u0000\u0000\u00a1\u001a\u0001\u0000\u0000\u0000"+
+		"\u00a2\u00a3\u0005r\u0000\u0000\u00a3\u00a4\u0005e\u0000\u0000\u00a4\u00a5"+
+		"\u0005p\u0000\u0000\u00a5\u00a6\u0005i\u0000\u0000\u00a6\u00a7\u0005t"+
+		"\u0000\u0000\u00a7\u00a8\u0005a\u0000\u0000\u00a8\u001c\u0001\u0000\u0000"+
+		"\u0000\u00a9\u00aa\u0005v\u0000\u0000\u00aa\u00ab\u0005e\u0000\u0000\u00ab"+
+		"\u00ac\u0005z\u0000\u0000\u00ac\u00ad\u0005e\u0000\u0000\u00ad\u00ae\u0005"+
+		"s\u0000\u0000\u00ae\u001e\u0001\u0000\u0000\u0000\u00af\u00b0\u0005e\u0000"+
+		"\u0000\u00b0\u00b1\u0005s\u0000\u0000\u00b1\u00b2\u0005c\u0000\u0000\u00b2"+
+		"\u00b3\u0005o\u0000\u0000\u00b3\u00b4\u0005l\u0000\u0000\u00b4\u00b5\u0005"+
+		"h\u0000\u0000\u00b5\u00b6\u0005a\u0000\u0000\u00b6 \u0001\u0000\u0000"+
+		"\u0000\u00b7\u00b8\u0005{\u0000\u0000\u00b8\"\u0001\u0000\u0000\u0000"+
+		"\u00b9\u00ba\u0005}\u0000\u0000\u00ba$\u0001\u0000\u0000\u0000\u00bb\u00bc"+
+		"\u0005e\u0000\u0000\u00bc\u00bd\u0005x\u0000\u0000\u00bd\u00be\u0005i"+
+		"\u0000\u0000\u00be\u00bf\u0005b\u0000\u0000\u00bf\u00c0\u0005a\u0000\u0000"+
+		"\u00c0&\u0001\u0000\u0000\u0000\u00c1\u00c2\u0005e\u0000\u0000\u00c2\u00c3"+
+		"\u0005s\u0000\u0000\u00c3\u00c4\u0005c\u0000\u0000\u00c4\u00c5\u0005r"+
+		"\u0000\u0000\u00c5\u00c6\u0005e\u0000\u0000\u00c6\u00c7\u0005v\u0000\u0000"+
+		"\u00c7\u00c8\u0005a\u0000\u0000\u00c8(\u0001\u0000\u0000\u0000\u00c9\u00ca"+
+		"\u0005p\u0000\u0000\u00ca\u00cb\u0005a\u0000\u0000\u00cb\u00cc\u0005d"+
+		"\u0000\u0000\u00cc\u00cd\u0005r\u0000\u0000\u00cd\u00ce\u0005a\u0000\u0000"+
+		"\u00ce\u00cf\u0005o\u0000\u0000\u00cf*\u0001\u0000\u0000\u0000\u00d0\u00d1"+
+		"\u0005_\u0000\u0000\u00d1,\u0001\u0000\u0000\u0000\u00d2\u00d3\u0005:"+
+		"\u0000\u0000\u00d3.\u0001\u0000\u0000\u0000\u00d4\u00d5\u0005,\u0000\u0000"+
+		"\u00d50\u0001\u0000\u0000\u0000\u00d6\u00d7\u0005l\u0000\u0000\u00d7\u00d8"+
+		"\u0005e\u0000\u0000\u00d8\u00d9\u0005i\u0000\u0000\u00d9\u00da\u0005a"+
+		"\u0000\u0000\u00da2\u0001\u0000\u0000\u0000\u00db\u00dc\u0005(\u0000\u0000"+
+		"\u00dc4\u0001\u0000\u0000\u0000\u00dd\u00de\u0005)\u0000\u0000\u00de6"+
+		"\u0001\u0000\u0000\u0000\u00df\u00e0\u0005^\u0000\u0000\u00e08\u0001\u0000"+
+		"\u0000\u0000\u00e1\u00e2\u0005*\u0000\u0000\u00e2:\u0001\u0000\u0000\u0000"+
+		"\u00e3\u00e4\u0005/\u0000\u0000\u00e4<\u0001\u0000\u0000\u0000\u00e5\u00e6"+
+		"\u0005+\u0000\u0000\u00e6>\u0001\u0000\u0000\u0000\u00e7\u00e8\u0005-"+
+		"\u0000\u0000\u00e8@\u0001\u0000\u0000\u0000\u00e9\u00ea\u0005=\u0000\u0000"+
+		"\u00eaB\u0001\u0000\u0000\u0000\u00eb\u00ec\u0005<\u0000\u0000\u00ec\u00ed"+
+		"\u0005=\u0000\u0000\u00edD\u0001\u0000\u0000\u0000\u00ee\u00ef\u0005>"+
+		"\u0000\u0000\u00ef\u00f0\u0005=\u0000\u0000\u00f0F\u0001\u0000\u0000\u0000"+
+		"\u00f1\u00f2\u0005>\u0000\u0000\u00f2H\u0001\u0000\u0000\u0000\u00f3\u00f4"+
+		"\u0005<\u0000\u0000\u00f4J\u0001\u0000\u0000\u0000\u00f5\u00f6\u0005<"+
+		"\u0000\u0000\u00f6\u00f7\u0005>\u0000\u0000\u00f7L\u0001\u0000\u0000\u0000"+
+		"\u00f8\u00f9\u0005n\u0000\u0000\u00f9\u00fa\u0005a\u0000\u0000\u00fa\u00fb"+
+		"\u0005o\u0000\u0000\u00fbN\u0001\u0000\u0000\u0000\u00fc\u00fd\u0005e"+
+		"\u0000\u0000\u00fdP\u0001\u0000\u0000\u0000\u00fe\u00ff\u0005o\u0000\u0000"+
+		"\u00ff\u0100\u0005u\u0000\u0000\u0100R\u0001\u0000\u0000\u0000\u0101\u0102"+
+		"\u0005x\u0000\u0000\u0102\u0103\u0005o\u0000\u0000\u0103\u0104\u0005r"+
+		"\u0000\u0000\u0104T\u0001\u0000\u0000\u0000\u0105\u0106\u0005v\u0000\u0000"+
+		"\u0106\u0107\u0005e\u0000\u0000\u0107\u0108\u0005r\u0000\u0000\u0108\u0109"+
+		"\u0005d\u0000\u0000\u0109\u010a\u0005a\u0000\u0000\u010a\u010b\u0005d"+
+		"\u0000\u0000\u010b\u010c\u0005e\u0000\u0000\u010c\u010d\u0005i\u0000\u0000"+
+		"\u010d\u010e\u0005r\u0000\u0000\u010e\u0115\u0005o\u0000\u0000\u010f\u0110"+
+		"\u0005f\u0000\u0000\u0110\u0111\u0005a\u0000\u0000\u0111\u0112\u0005l"+
+		"\u0000\u0000\u0112\u0113\u0005s\u0000\u0000\u0113\u0115\u0005o\u0000\u0000"+
+		"\u0114\u0105\u0001\u0000\u0000\u0000\u0114\u010f\u0001\u0000\u0000\u0000"+
+		"\u0115V\u0001\u0000\u0000\u0000\u0116\u0118\u000209\u0000\u0117\u0116"+
+		"\u0001\u0000\u0000\u0000\u0118\u0119\u0001\u0000\u0000\u0000\u0119\u0117"+
+		"\u0001\u0000\u0000\u0000\u0119\u011a\u0001\u0000\u0000\u0000\u011aX\u0001"+
+		"\u0000\u0000\u0000\u011b\u011d\u0002az\u0000\u011c\u011b\u0001\u0000\u0000"+
+		"\u0000\u011d\u011e\u0001\u0000\u0000\u0000\u011e\u011c\u0001\u0000\u0000"+
+		"\u0000\u011e\u011f\u0001\u0000\u0000\u0000\u011fZ\u0001\u0000\u0000\u0000"+
+		"\u0120\u0124\u0005\"\u0000\u0000\u0121\u0123\t\u0000\u0000\u0000\u0122"+
+		"\u0121\u0001\u0000\u0000\u0000\u0123\u0126\u0001\u0000\u0000\u0000\u0124"+
+		"\u0125\u0001\u0000\u0000\u0000\u0124\u0122\u0001\u0000\u0000\u0000\u0125"+
+		"\u0127\u0001\u0000\u0000\u0000\u0126\u0124\u0001\u0000\u0000\u0000\u0127"+
+		"\u0128\u0005\"\u0000\u0000\u0128\\\u0001\u0000\u0000\u0000\u0129\u012d"+
+		"\u0005#\u0000\u0000\u012a\u012c\t\u0000\u0000\u0000\u012b\u012a\u0001"+
+		"\u0000\u0000\u0000\u012c\u012f\u0001\u0000\u0000\u0000\u012d\u012e\u0001"+
+		"\u0000\u0000\u0000\u012d\u012b\u0001\u0000\u0000\u0000\u012e\u0130\u0001"+
+		"\u0000\u0000\u0000\u012f\u012d\u0001\u0000\u0000\u0000\u0130\u0131\u0005"+
+		"\n\u0000\u0000\u0131\u0132\u0001\u0000\u0000\u0000\u0132\u0133\u0006."+
+		"\u0000\u0000\u0133^\u0001\u0000\u0000\u0000\u0134\u0135\u0007\u0000\u0000"+
+		"\u0000\u0135\u0136\u0001\u0000\u0000\u0000\u0136\u0137\u0006/\u0000\u0000"+
+		"\u0137`\u0001\u0000\u0000\u0000\u0006\u0000\u0114\u0119\u011e\u0124\u012d"+
+		"\u0001\u0006\u0000\u0000";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -22,8 +22,8 @@ public class EnquantoParser extends Parser {
 		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
 		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
 		T__31=32, T__32=33, T__33=34, T__34=35, T__35=36, T__36=37, T__37=38, 
-		T__38=39, T__39=40, T__40=41, BOOLEANO=42, INT=43, ID=44, TEXTO=45, Comentario=46, 
-		Espaco=47;
+		T__38=39, T__39=40, T__40=41, T__41=42, BOOLEANO=43, INT=44, ID=45, TEXTO=46, 
+		Comentario=47, Espaco=48;
 	public static final int
 		RULE_programa = 0, RULE_seqComando = 1, RULE_comando = 2, RULE_caso = 3, 
 		RULE_listaId = 4, RULE_listaExpressao = 5, RULE_expressao = 6, RULE_booleano = 7;
@@ -38,10 +38,10 @@ public class EnquantoParser extends Parser {
 	private static String[] makeLiteralNames() {
 		return new String[] {
 			null, "';'", "':='", "'skip'", "'se'", "'entao'", "'senaose'", "'senao'", 
-			"'enquanto'", "'faca'", "'para'", "'de'", "'ate'", "'repita'", "'vezes'", 
-			"'escolha'", "'{'", "'}'", "'exiba'", "'escreva'", "'padrao'", "'_'", 
-			"':'", "','", "'leia'", "'('", "')'", "'^'", "'*'", "'/'", "'+'", "'-'", 
-			"'='", "'<='", "'>='", "'>'", "'<'", "'<>'", "'nao'", "'e'", "'ou'", 
+			"'enquanto'", "'faca'", "'para'", "'de'", "'ate'", "'passo'", "'repita'", 
+			"'vezes'", "'escolha'", "'{'", "'}'", "'exiba'", "'escreva'", "'padrao'", 
+			"'_'", "':'", "','", "'leia'", "'('", "')'", "'^'", "'*'", "'/'", "'+'", 
+			"'-'", "'='", "'<='", "'>='", "'>'", "'<'", "'<>'", "'nao'", "'e'", "'ou'", 
 			"'xor'"
 		};
 	}
@@ -51,7 +51,7 @@ public class EnquantoParser extends Parser {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, "BOOLEANO", "INT", "ID", "TEXTO", 
+			null, null, null, null, null, null, null, "BOOLEANO", "INT", "ID", "TEXTO", 
 			"Comentario", "Espaco"
 		};
 	}
@@ -190,7 +190,7 @@ public class EnquantoParser extends Parser {
 				setState(23); 
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-			} while ( (((_la) & ~0x3f) == 0 && ((1L << _la) & 17592186938648L) != 0) );
+			} while ( (((_la) & ~0x3f) == 0 && ((1L << _la) & 35184373875992L) != 0) );
 			}
 		}
 		catch (RecognitionException re) {
@@ -281,10 +281,11 @@ public class EnquantoParser extends Parser {
 	}
 	@SuppressWarnings("CheckReturnValue")
 	public static class ExibaContext extends ComandoContext {
-		public TerminalNode TEXTO() { return getToken(EnquantoParser.TEXTO, 0); }
+		public Token texto;
 		public ExpressaoContext expressao() {
 			return getRuleContext(ExpressaoContext.class,0);
 		}
+		public TerminalNode TEXTO() { return getToken(EnquantoParser.TEXTO, 0); }
 		public ExibaContext(ComandoContext ctx) { copyFrom(ctx); }
 		@Override
 		public void enterRule(ParseTreeListener listener) {
@@ -315,7 +316,7 @@ public class EnquantoParser extends Parser {
 	}
 	@SuppressWarnings("CheckReturnValue")
 	public static class ParaContext extends ComandoContext {
-		public TerminalNode ID() { return getToken(EnquantoParser.ID, 0); }
+		public Token variavel;
 		public List<ExpressaoContext> expressao() {
 			return getRuleContexts(ExpressaoContext.class);
 		}
@@ -325,6 +326,7 @@ public class EnquantoParser extends Parser {
 		public ComandoContext comando() {
 			return getRuleContext(ComandoContext.class,0);
 		}
+		public TerminalNode ID() { return getToken(EnquantoParser.ID, 0); }
 		public ParaContext(ComandoContext ctx) { copyFrom(ctx); }
 		@Override
 		public void enterRule(ParseTreeListener listener) {
@@ -402,7 +404,7 @@ public class EnquantoParser extends Parser {
 		int _la;
 		try {
 			int _alt;
-			setState(89);
+			setState(93);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case ID:
@@ -494,7 +496,7 @@ public class EnquantoParser extends Parser {
 				setState(53);
 				match(T__9);
 				setState(54);
-				match(ID);
+				((ParaContext)_localctx).variavel = match(ID);
 				setState(55);
 				match(T__10);
 				setState(56);
@@ -503,75 +505,87 @@ public class EnquantoParser extends Parser {
 				match(T__11);
 				setState(58);
 				expressao(0);
-				setState(59);
+				setState(61);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				if (_la==T__12) {
+					{
+					setState(59);
+					match(T__12);
+					setState(60);
+					expressao(0);
+					}
+				}
+
+				setState(63);
 				match(T__8);
-				setState(60);
+				setState(64);
 				comando();
 				}
 				break;
-			case T__12:
+			case T__13:
 				_localctx = new RepitaContext(_localctx);
 				enterOuterAlt(_localctx, 6);
 				{
-				setState(62);
-				match(T__12);
-				setState(63);
-				expressao(0);
-				setState(64);
+				setState(66);
 				match(T__13);
-				setState(65);
+				setState(67);
+				expressao(0);
+				setState(68);
+				match(T__14);
+				setState(69);
 				comando();
 				}
 				break;
-			case T__14:
+			case T__15:
 				_localctx = new EscolhaContext(_localctx);
 				enterOuterAlt(_localctx, 7);
 				{
-				setState(67);
-				match(T__14);
-				setState(68);
-				expressao(0);
-				setState(69);
+				setState(71);
 				match(T__15);
+				setState(72);
+				expressao(0);
 				setState(73);
+				match(T__16);
+				setState(77);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-				while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 26388332544000L) != 0)) {
+				while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 52776665088000L) != 0)) {
 					{
 					{
-					setState(70);
+					setState(74);
 					caso();
 					}
 					}
-					setState(75);
+					setState(79);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				}
-				setState(76);
-				match(T__16);
+				setState(80);
+				match(T__17);
 				}
 				break;
-			case T__17:
+			case T__18:
 				_localctx = new ExibaContext(_localctx);
 				enterOuterAlt(_localctx, 8);
 				{
-				setState(78);
-				match(T__17);
-				setState(81);
+				setState(82);
+				match(T__18);
+				setState(85);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case TEXTO:
 					{
-					setState(79);
-					match(TEXTO);
+					setState(83);
+					((ExibaContext)_localctx).texto = match(TEXTO);
 					}
 					break;
-				case T__23:
 				case T__24:
+				case T__25:
 				case INT:
 				case ID:
 					{
-					setState(80);
+					setState(84);
 					expressao(0);
 					}
 					break;
@@ -580,26 +594,26 @@ public class EnquantoParser extends Parser {
 				}
 				}
 				break;
-			case T__18:
+			case T__19:
 				_localctx = new EscrevaContext(_localctx);
 				enterOuterAlt(_localctx, 9);
 				{
-				setState(83);
-				match(T__18);
-				setState(84);
+				setState(87);
+				match(T__19);
+				setState(88);
 				expressao(0);
 				}
 				break;
-			case T__15:
+			case T__16:
 				_localctx = new BlocoContext(_localctx);
 				enterOuterAlt(_localctx, 10);
 				{
-				setState(85);
-				match(T__15);
-				setState(86);
-				seqComando();
-				setState(87);
+				setState(89);
 				match(T__16);
+				setState(90);
+				seqComando();
+				setState(91);
+				match(T__17);
 				}
 				break;
 			default:
@@ -645,38 +659,38 @@ public class EnquantoParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(94);
+			setState(98);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__23:
 			case T__24:
+			case T__25:
 			case INT:
 			case ID:
 				{
-				setState(91);
+				setState(95);
 				expressao(0);
 				}
 				break;
-			case T__19:
+			case T__20:
 				{
-				setState(92);
-				match(T__19);
+				setState(96);
+				match(T__20);
 				}
 				break;
-			case T__20:
+			case T__21:
 				{
-				setState(93);
-				match(T__20);
+				setState(97);
+				match(T__21);
 				}
 				break;
 			default:
 				throw new NoViableAltException(this);
 			}
-			setState(96);
-			match(T__21);
-			setState(97);
+			setState(100);
+			match(T__22);
+			setState(101);
 			comando();
-			setState(98);
+			setState(102);
 			match(T__0);
 			}
 		}
@@ -693,6 +707,8 @@ public class EnquantoParser extends Parser {
 
 	@SuppressWarnings("CheckReturnValue")
 	public static class ListaIdContext extends ParserRuleContext {
+		public Token ID;
+		public List<Token> ids = new ArrayList<Token>();
 		public List<TerminalNode> ID() { return getTokens(EnquantoParser.ID); }
 		public TerminalNode ID(int i) {
 			return getToken(EnquantoParser.ID, i);
@@ -718,21 +734,23 @@ public class EnquantoParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(100);
-			match(ID);
-			setState(105);
+			setState(104);
+			((ListaIdContext)_localctx).ID = match(ID);
+			((ListaIdContext)_localctx).ids.add(((ListaIdContext)_localctx).ID);
+			setState(109);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while (_la==T__22) {
+			while (_la==T__23) {
 				{
 				{
-				setState(101);
-				match(T__22);
-				setState(102);
-				match(ID);
+				setState(105);
+				match(T__23);
+				setState(106);
+				((ListaIdContext)_localctx).ID = match(ID);
+				((ListaIdContext)_localctx).ids.add(((ListaIdContext)_localctx).ID);
 				}
 				}
-				setState(107);
+				setState(111);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -778,21 +796,21 @@ public class EnquantoParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(108);
+			setState(112);
 			expressao(0);
-			setState(113);
+			setState(117);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while (_la==T__22) {
+			while (_la==T__23) {
 				{
 				{
-				setState(109);
-				match(T__22);
-				setState(110);
+				setState(113);
+				match(T__23);
+				setState(114);
 				expressao(0);
 				}
 				}
-				setState(115);
+				setState(119);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -848,6 +866,7 @@ public class EnquantoParser extends Parser {
 	}
 	@SuppressWarnings("CheckReturnValue")
 	public static class OpBinContext extends ExpressaoContext {
+		public Token op;
 		public List<ExpressaoContext> expressao() {
 			return getRuleContexts(ExpressaoContext.class);
 		}
@@ -909,7 +928,7 @@ public class EnquantoParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(124);
+			setState(128);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case INT:
@@ -918,17 +937,17 @@ public class EnquantoParser extends Parser {
 				_ctx = _localctx;
 				_prevctx = _localctx;
 
-				setState(117);
+				setState(121);
 				match(INT);
 				}
 				break;
-			case T__23:
+			case T__24:
 				{
 				_localctx = new LeiaContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(118);
-				match(T__23);
+				setState(122);
+				match(T__24);
 				}
 				break;
 			case ID:
@@ -936,47 +955,47 @@ public class EnquantoParser extends Parser {
 				_localctx = new IdContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(119);
+				setState(123);
 				match(ID);
 				}
 				break;
-			case T__24:
+			case T__25:
 				{
 				_localctx = new ExpParContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(120);
-				match(T__24);
-				setState(121);
-				expressao(0);
-				setState(122);
+				setState(124);
 				match(T__25);
+				setState(125);
+				expressao(0);
+				setState(126);
+				match(T__26);
 				}
 				break;
 			default:
 				throw new NoViableAltException(this);
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(137);
+			setState(141);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,11,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,12,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
 					_prevctx = _localctx;
 					{
-					setState(135);
+					setState(139);
 					_errHandler.sync(this);
-					switch ( getInterpreter().adaptivePredict(_input,10,_ctx) ) {
+					switch ( getInterpreter().adaptivePredict(_input,11,_ctx) ) {
 					case 1:
 						{
 						_localctx = new OpBinContext(new ExpressaoContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_expressao);
-						setState(126);
+						setState(130);
 						if (!(precpred(_ctx, 3))) throw new FailedPredicateException(this, "precpred(_ctx, 3)");
-						setState(127);
-						match(T__26);
-						setState(128);
+						setState(131);
+						((OpBinContext)_localctx).op = match(T__27);
+						setState(132);
 						expressao(3);
 						}
 						break;
@@ -984,19 +1003,20 @@ public class EnquantoParser extends Parser {
 						{
 						_localctx = new OpBinContext(new ExpressaoContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_expressao);
-						setState(129);
+						setState(133);
 						if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
-						setState(130);
+						setState(134);
+						((OpBinContext)_localctx).op = _input.LT(1);
 						_la = _input.LA(1);
-						if ( !(_la==T__27 || _la==T__28) ) {
-						_errHandler.recoverInline(this);
+						if ( !(_la==T__28 || _la==T__29) ) {
+							((OpBinContext)_localctx).op = (Token)_errHandler.recoverInline(this);
 						}
 						else {
 							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(131);
+						setState(135);
 						expressao(3);
 						}
 						break;
@@ -1004,28 +1024,29 @@ public class EnquantoParser extends Parser {
 						{
 						_localctx = new OpBinContext(new ExpressaoContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_expressao);
-						setState(132);
+						setState(136);
 						if (!(precpred(_ctx, 1))) throw new FailedPredicateException(this, "precpred(_ctx, 1)");
-						setState(133);
+						setState(137);
+						((OpBinContext)_localctx).op = _input.LT(1);
 						_la = _input.LA(1);
-						if ( !(_la==T__29 || _la==T__30) ) {
-						_errHandler.recoverInline(this);
+						if ( !(_la==T__30 || _la==T__31) ) {
+							((OpBinContext)_localctx).op = (Token)_errHandler.recoverInline(this);
 						}
 						else {
 							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(134);
+						setState(138);
 						expressao(2);
 						}
 						break;
 					}
 					} 
 				}
-				setState(139);
+				setState(143);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,11,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,12,_ctx);
 			}
 			}
 		}
@@ -1100,6 +1121,7 @@ public class EnquantoParser extends Parser {
 	}
 	@SuppressWarnings("CheckReturnValue")
 	public static class OpRelContext extends BooleanoContext {
+		public Token op;
 		public List<ExpressaoContext> expressao() {
 			return getRuleContexts(ExpressaoContext.class);
 		}
@@ -1118,6 +1140,7 @@ public class EnquantoParser extends Parser {
 	}
 	@SuppressWarnings("CheckReturnValue")
 	public static class OpLogicoContext extends BooleanoContext {
+		public Token op;
 		public List<BooleanoContext> booleano() {
 			return getRuleContexts(BooleanoContext.class);
 		}
@@ -1166,16 +1189,16 @@ public class EnquantoParser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(152);
+			setState(156);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,12,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,13,_ctx) ) {
 			case 1:
 				{
 				_localctx = new BoolContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
 
-				setState(141);
+				setState(145);
 				match(BOOLEANO);
 				}
 				break;
@@ -1184,19 +1207,20 @@ public class EnquantoParser extends Parser {
 				_localctx = new OpRelContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(142);
+				setState(146);
 				expressao(0);
-				setState(143);
+				setState(147);
+				((OpRelContext)_localctx).op = _input.LT(1);
 				_la = _input.LA(1);
-				if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 270582939648L) != 0)) ) {
-				_errHandler.recoverInline(this);
+				if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 541165879296L) != 0)) ) {
+					((OpRelContext)_localctx).op = (Token)_errHandler.recoverInline(this);
 				}
 				else {
 					if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
 					_errHandler.reportMatch(this);
 					consume();
 				}
-				setState(144);
+				setState(148);
 				expressao(0);
 				}
 				break;
@@ -1205,9 +1229,9 @@ public class EnquantoParser extends Parser {
 				_localctx = new NaoLogicoContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(146);
-				match(T__37);
-				setState(147);
+				setState(150);
+				match(T__38);
+				setState(151);
 				booleano(4);
 				}
 				break;
@@ -1216,36 +1240,36 @@ public class EnquantoParser extends Parser {
 				_localctx = new BoolParContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(148);
-				match(T__24);
-				setState(149);
-				booleano(0);
-				setState(150);
+				setState(152);
 				match(T__25);
+				setState(153);
+				booleano(0);
+				setState(154);
+				match(T__26);
 				}
 				break;
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(162);
+			setState(166);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,14,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,15,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
 					_prevctx = _localctx;
 					{
-					setState(160);
+					setState(164);
 					_errHandler.sync(this);
-					switch ( getInterpreter().adaptivePredict(_input,13,_ctx) ) {
+					switch ( getInterpreter().adaptivePredict(_input,14,_ctx) ) {
 					case 1:
 						{
 						_localctx = new ELogicoContext(new BooleanoContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_booleano);
-						setState(154);
+						setState(158);
 						if (!(precpred(_ctx, 3))) throw new FailedPredicateException(this, "precpred(_ctx, 3)");
-						setState(155);
-						match(T__38);
-						setState(156);
+						setState(159);
+						match(T__39);
+						setState(160);
 						booleano(4);
 						}
 						break;
@@ -1253,28 +1277,29 @@ public class EnquantoParser extends Parser {
 						{
 						_localctx = new OpLogicoContext(new BooleanoContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_booleano);
-						setState(157);
+						setState(161);
 						if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
-						setState(158);
+						setState(162);
+						((OpLogicoContext)_localctx).op = _input.LT(1);
 						_la = _input.LA(1);
-						if ( !(_la==T__39 || _la==T__40) ) {
-						_errHandler.recoverInline(this);
+						if ( !(_la==T__40 || _la==T__41) ) {
+							((OpLogicoContext)_localctx).op = (Token)_errHandler.recoverInline(this);
 						}
 						else {
 							if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
 							_errHandler.reportMatch(this);
 							consume();
 						}
-						setState(159);
+						setState(163);
 						booleano(3);
 						}
 						break;
 					}
 					} 
 				}
-				setState(164);
+				setState(168);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,14,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,15,_ctx);
 			}
 			}
 		}
@@ -1320,7 +1345,7 @@ public class EnquantoParser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0001/\u00a6\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
+		"\u0004\u00010\u00aa\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
 		"\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004\u0002"+
 		"\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007\u0001"+
 		"\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0004\u0001\u0016"+
@@ -1330,101 +1355,105 @@ public class EnquantoParser extends Parser {
 		"(\b\u0002\n\u0002\f\u0002+\t\u0002\u0001\u0002\u0001\u0002\u0003\u0002"+
 		"/\b\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002"+
 		"\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002"+
+		"\u0001\u0002\u0001\u0002\u0003\u0002>\b\u0002\u0001\u0002\u0001\u0002"+
 		"\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002"+
-		"\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002"+
-		"\u0005\u0002H\b\u0002\n\u0002\f\u0002K\t\u0002\u0001\u0002\u0001\u0002"+
-		"\u0001\u0002\u0001\u0002\u0001\u0002\u0003\u0002R\b\u0002\u0001\u0002"+
-		"\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0003\u0002"+
-		"Z\b\u0002\u0001\u0003\u0001\u0003\u0001\u0003\u0003\u0003_\b\u0003\u0001"+
-		"\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001"+
-		"\u0004\u0005\u0004h\b\u0004\n\u0004\f\u0004k\t\u0004\u0001\u0005\u0001"+
-		"\u0005\u0001\u0005\u0005\u0005p\b\u0005\n\u0005\f\u0005s\t\u0005\u0001"+
-		"\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001"+
-		"\u0006\u0001\u0006\u0003\u0006}\b\u0006\u0001\u0006\u0001\u0006\u0001"+
-		"\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001"+
-		"\u0006\u0005\u0006\u0088\b\u0006\n\u0006\f\u0006\u008b\t\u0006\u0001\u0007"+
-		"\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007"+
-		"\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0003\u0007"+
-		"\u0099\b\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007"+
-		"\u0001\u0007\u0005\u0007\u00a1\b\u0007\n\u0007\f\u0007\u00a4\t\u0007\u0001"+
-		"\u0007\u0000\u0002\f\u000e\b\u0000\u0002\u0004\u0006\b\n\f\u000e\u0000"+
-		"\u0004\u0001\u0000\u001c\u001d\u0001\u0000\u001e\u001f\u0001\u0000 %\u0001"+
-		"\u0000()\u00ba\u0000\u0010\u0001\u0000\u0000\u0000\u0002\u0015\u0001\u0000"+
-		"\u0000\u0000\u0004Y\u0001\u0000\u0000\u0000\u0006^\u0001\u0000\u0000\u0000"+
-		"\bd\u0001\u0000\u0000\u0000\nl\u0001\u0000\u0000\u0000\f|\u0001\u0000"+
-		"\u0000\u0000\u000e\u0098\u0001\u0000\u0000\u0000\u0010\u0011\u0003\u0002"+
-		"\u0001\u0000\u0011\u0001\u0001\u0000\u0000\u0000\u0012\u0013\u0003\u0004"+
-		"\u0002\u0000\u0013\u0014\u0005\u0001\u0000\u0000\u0014\u0016\u0001\u0000"+
-		"\u0000\u0000\u0015\u0012\u0001\u0000\u0000\u0000\u0016\u0017\u0001\u0000"+
-		"\u0000\u0000\u0017\u0015\u0001\u0000\u0000\u0000\u0017\u0018\u0001\u0000"+
-		"\u0000\u0000\u0018\u0003\u0001\u0000\u0000\u0000\u0019\u001a\u0003\b\u0004"+
-		"\u0000\u001a\u001b\u0005\u0002\u0000\u0000\u001b\u001c\u0003\n\u0005\u0000"+
-		"\u001cZ\u0001\u0000\u0000\u0000\u001dZ\u0005\u0003\u0000\u0000\u001e\u001f"+
-		"\u0005\u0004\u0000\u0000\u001f \u0003\u000e\u0007\u0000 !\u0005\u0005"+
-		"\u0000\u0000!)\u0003\u0004\u0002\u0000\"#\u0005\u0006\u0000\u0000#$\u0003"+
-		"\u000e\u0007\u0000$%\u0005\u0005\u0000\u0000%&\u0003\u0004\u0002\u0000"+
-		"&(\u0001\u0000\u0000\u0000\'\"\u0001\u0000\u0000\u0000(+\u0001\u0000\u0000"+
-		"\u0000)\'\u0001\u0000\u0000\u0000)*\u0001\u0000\u0000\u0000*.\u0001\u0000"+
-		"\u0000\u0000+)\u0001\u0000\u0000\u0000,-\u0005\u0007\u0000\u0000-/\u0003"+
-		"\u0004\u0002\u0000.,\u0001\u0000\u0000\u0000./\u0001\u0000\u0000\u0000"+
-		"/Z\u0001\u0000\u0000\u000001\u0005\b\u0000\u000012\u0003\u000e\u0007\u0000"+
-		"23\u0005\t\u0000\u000034\u0003\u0004\u0002\u00004Z\u0001\u0000\u0000\u0000"+
-		"56\u0005\n\u0000\u000067\u0005,\u0000\u000078\u0005\u000b\u0000\u0000"+
-		"89\u0003\f\u0006\u00009:\u0005\f\u0000\u0000:;\u0003\f\u0006\u0000;<\u0005"+
-		"\t\u0000\u0000<=\u0003\u0004\u0002\u0000=Z\u0001\u0000\u0000\u0000>?\u0005"+
-		"\r\u0000\u0000?@\u0003\f\u0006\u0000@A\u0005\u000e\u0000\u0000AB\u0003"+
-		"\u0004\u0002\u0000BZ\u0001\u0000\u0000\u0000CD\u0005\u000f\u0000\u0000"+
-		"DE\u0003\f\u0006\u0000EI\u0005\u0010\u0000\u0000FH\u0003\u0006\u0003\u0000"+
-		"GF\u0001\u0000\u0000\u0000HK\u0001\u0000\u0000\u0000IG\u0001\u0000\u0000"+
-		"\u0000IJ\u0001\u0000\u0000\u0000JL\u0001\u0000\u0000\u0000KI\u0001\u0000"+
-		"\u0000\u0000LM\u0005\u0011\u0000\u0000MZ\u0001\u0000\u0000\u0000NQ\u0005"+
-		"\u0012\u0000\u0000OR\u0005-\u0000\u0000PR\u0003\f\u0006\u0000QO\u0001"+
-		"\u0000\u0000\u0000QP\u0001\u0000\u0000\u0000RZ\u0001\u0000\u0000\u0000"+
-		"ST\u0005\u0013\u0000\u0000TZ\u0003\f\u0006\u0000UV\u0005\u0010\u0000\u0000"+
-		"VW\u0003\u0002\u0001\u0000WX\u0005\u0011\u0000\u0000XZ\u0001\u0000\u0000"+
-		"\u0000Y\u0019\u0001\u0000\u0000\u0000Y\u001d\u0001\u0000\u0000\u0000Y"+
-		"\u001e\u0001\u0000\u0000\u0000Y0\u0001\u0000\u0000\u0000Y5\u0001\u0000"+
-		"\u0000\u0000Y>\u0001\u0000\u0000\u0000YC\u0001\u0000\u0000\u0000YN\u0001"+
-		"\u0000\u0000\u0000YS\u0001\u0000\u0000\u0000YU\u0001\u0000\u0000\u0000"+
-		"Z\u0005\u0001\u0000\u0000\u0000[_\u0003\f\u0006\u0000\\_\u0005\u0014\u0000"+
-		"\u0000]_\u0005\u0015\u0000\u0000^[\u0001\u0000\u0000\u0000^\\\u0001\u0000"+
-		"\u0000\u0000^]\u0001\u0000\u0000\u0000_`\u0001\u0000\u0000\u0000`a\u0005"+
-		"\u0016\u0000\u0000ab\u0003\u0004\u0002\u0000bc\u0005\u0001\u0000\u0000"+
-		"c\u0007\u0001\u0000\u0000\u0000di\u0005,\u0000\u0000ef\u0005\u0017\u0000"+
-		"\u0000fh\u0005,\u0000\u0000ge\u0001\u0000\u0000\u0000hk\u0001\u0000\u0000"+
-		"\u0000ig\u0001\u0000\u0000\u0000ij\u0001\u0000\u0000\u0000j\t\u0001\u0000"+
-		"\u0000\u0000ki\u0001\u0000\u0000\u0000lq\u0003\f\u0006\u0000mn\u0005\u0017"+
-		"\u0000\u0000np\u0003\f\u0006\u0000om\u0001\u0000\u0000\u0000ps\u0001\u0000"+
-		"\u0000\u0000qo\u0001\u0000\u0000\u0000qr\u0001\u0000\u0000\u0000r\u000b"+
-		"\u0001\u0000\u0000\u0000sq\u0001\u0000\u0000\u0000tu\u0006\u0006\uffff"+
-		"\uffff\u0000u}\u0005+\u0000\u0000v}\u0005\u0018\u0000\u0000w}\u0005,\u0000"+
-		"\u0000xy\u0005\u0019\u0000\u0000yz\u0003\f\u0006\u0000z{\u0005\u001a\u0000"+
-		"\u0000{}\u0001\u0000\u0000\u0000|t\u0001\u0000\u0000\u0000|v\u0001\u0000"+
-		"\u0000\u0000|w\u0001\u0000\u0000\u0000|x\u0001\u0000\u0000\u0000}\u0089"+
-		"\u0001\u0000\u0000\u0000~\u007f\n\u0003\u0000\u0000\u007f\u0080\u0005"+
-		"\u001b\u0000\u0000\u0080\u0088\u0003\f\u0006\u0003\u0081\u0082\n\u0002"+
-		"\u0000\u0000\u0082\u0083\u0007\u0000\u0000\u0000\u0083\u0088\u0003\f\u0006"+
-		"\u0003\u0084\u0085\n\u0001\u0000\u0000\u0085\u0086\u0007\u0001\u0000\u0000"+
-		"\u0086\u0088\u0003\f\u0006\u0002\u0087~\u0001\u0000\u0000\u0000\u0087"+
-		"\u0081\u0001\u0000\u0000\u0000\u0087\u0084\u0001\u0000\u0000\u0000\u0088"+
-		"\u008b\u0001\u0000\u0000\u0000\u0089\u0087\u0001\u0000\u0000\u0000\u0089"+
-		"\u008a\u0001\u0000\u0000\u0000\u008a\r\u0001\u0000\u0000\u0000\u008b\u0089"+
-		"\u0001\u0000\u0000\u0000\u008c\u008d\u0006\u0007\uffff\uffff\u0000\u008d"+
-		"\u0099\u0005*\u0000\u0000\u008e\u008f\u0003\f\u0006\u0000\u008f\u0090"+
-		"\u0007\u0002\u0000\u0000\u0090\u0091\u0003\f\u0006\u0000\u0091\u0099\u0001"+
-		"\u0000\u0000\u0000\u0092\u0093\u0005&\u0000\u0000\u0093\u0099\u0003\u000e"+
-		"\u0007\u0004\u0094\u0095\u0005\u0019\u0000\u0000\u0095\u0096\u0003\u000e"+
-		"\u0007\u0000\u0096\u0097\u0005\u001a\u0000\u0000\u0097\u0099\u0001\u0000"+
-		"\u0000\u0000\u0098\u008c\u0001\u0000\u0000\u0000\u0098\u008e\u0001\u0000"+
-		"\u0000\u0000\u0098\u0092\u0001\u0000\u0000\u0000\u0098\u0094\u0001\u0000"+
-		"\u0000\u0000\u0099\u00a2\u0001\u0000\u0000\u0000\u009a\u009b\n\u0003\u0000"+
-		"\u0000\u009b\u009c\u0005\'\u0000\u0000\u009c\u00a1\u0003\u000e\u0007\u0004"+
-		"\u009d\u009e\n\u0002\u0000\u0000\u009e\u009f\u0007\u0003\u0000\u0000\u009f"+
-		"\u00a1\u0003\u000e\u0007\u0003\u00a0\u009a\u0001\u0000\u0000\u0000\u00a0"+
-		"\u009d\u0001\u0000\u0000\u0000\u00a1\u00a4\u0001\u0000\u0000\u0000\u00a2"+
-		"\u00a0\u0001\u0000\u0000\u0000\u00a2\u00a3\u0001\u0000\u0000\u0000\u00a3"+
-		"\u000f\u0001\u0000\u0000\u0000\u00a4\u00a2\u0001\u0000\u0000\u0000\u000f"+
-		"\u0017).IQY^iq|\u0087\u0089\u0098\u00a0\u00a2";
+		"\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0005\u0002L\b\u0002"+
+		"\n\u0002\f\u0002O\t\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002"+
+		"\u0001\u0002\u0003\u0002V\b\u0002\u0001\u0002\u0001\u0002\u0001\u0002"+
+		"\u0001\u0002\u0001\u0002\u0001\u0002\u0003\u0002^\b\u0002\u0001\u0003"+
+		"\u0001\u0003\u0001\u0003\u0003\u0003c\b\u0003\u0001\u0003\u0001\u0003"+
+		"\u0001\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0004\u0005\u0004"+
+		"l\b\u0004\n\u0004\f\u0004o\t\u0004\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0005\u0005t\b\u0005\n\u0005\f\u0005w\t\u0005\u0001\u0006\u0001\u0006"+
+		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006"+
+		"\u0003\u0006\u0081\b\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006"+
+		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0005\u0006"+
+		"\u008c\b\u0006\n\u0006\f\u0006\u008f\t\u0006\u0001\u0007\u0001\u0007\u0001"+
+		"\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001"+
+		"\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0003\u0007\u009d\b\u0007\u0001"+
+		"\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0005"+
+		"\u0007\u00a5\b\u0007\n\u0007\f\u0007\u00a8\t\u0007\u0001\u0007\u0000\u0002"+
+		"\f\u000e\b\u0000\u0002\u0004\u0006\b\n\f\u000e\u0000\u0004\u0001\u0000"+
+		"\u001d\u001e\u0001\u0000\u001f \u0001\u0000!&\u0001\u0000)*\u00bf\u0000"+
+		"\u0010\u0001\u0000\u0000\u0000\u0002\u0015\u0001\u0000\u0000\u0000\u0004"+
+		"]\u0001\u0000\u0000\u0000\u0006b\u0001\u0000\u0000\u0000\bh\u0001\u0000"+
+		"\u0000\u0000\np\u0001\u0000\u0000\u0000\f\u0080\u0001\u0000\u0000\u0000"+
+		"\u000e\u009c\u0001\u0000\u0000\u0000\u0010\u0011\u0003\u0002\u0001\u0000"+
+		"\u0011\u0001\u0001\u0000\u0000\u0000\u0012\u0013\u0003\u0004\u0002\u0000"+
+		"\u0013\u0014\u0005\u0001\u0000\u0000\u0014\u0016\u0001\u0000\u0000\u0000"+
+		"\u0015\u0012\u0001\u0000\u0000\u0000\u0016\u0017\u0001\u0000\u0000\u0000"+
+		"\u0017\u0015\u0001\u0000\u0000\u0000\u0017\u0018\u0001\u0000\u0000\u0000"+
+		"\u0018\u0003\u0001\u0000\u0000\u0000\u0019\u001a\u0003\b\u0004\u0000\u001a"+
+		"\u001b\u0005\u0002\u0000\u0000\u001b\u001c\u0003\n\u0005\u0000\u001c^"+
+		"\u0001\u0000\u0000\u0000\u001d^\u0005\u0003\u0000\u0000\u001e\u001f\u0005"+
+		"\u0004\u0000\u0000\u001f \u0003\u000e\u0007\u0000 !\u0005\u0005\u0000"+
+		"\u0000!)\u0003\u0004\u0002\u0000\"#\u0005\u0006\u0000\u0000#$\u0003\u000e"+
+		"\u0007\u0000$%\u0005\u0005\u0000\u0000%&\u0003\u0004\u0002\u0000&(\u0001"+
+		"\u0000\u0000\u0000\'\"\u0001\u0000\u0000\u0000(+\u0001\u0000\u0000\u0000"+
+		")\'\u0001\u0000\u0000\u0000)*\u0001\u0000\u0000\u0000*.\u0001\u0000\u0000"+
+		"\u0000+)\u0001\u0000\u0000\u0000,-\u0005\u0007\u0000\u0000-/\u0003\u0004"+
+		"\u0002\u0000.,\u0001\u0000\u0000\u0000./\u0001\u0000\u0000\u0000/^\u0001"+
+		"\u0000\u0000\u000001\u0005\b\u0000\u000012\u0003\u000e\u0007\u000023\u0005"+
+		"\t\u0000\u000034\u0003\u0004\u0002\u00004^\u0001\u0000\u0000\u000056\u0005"+
+		"\n\u0000\u000067\u0005-\u0000\u000078\u0005\u000b\u0000\u000089\u0003"+
+		"\f\u0006\u00009:\u0005\f\u0000\u0000:=\u0003\f\u0006\u0000;<\u0005\r\u0000"+
+		"\u0000<>\u0003\f\u0006\u0000=;\u0001\u0000\u0000\u0000=>\u0001\u0000\u0000"+
+		"\u0000>?\u0001\u0000\u0000\u0000?@\u0005\t\u0000\u0000@A\u0003\u0004\u0002"+
+		"\u0000A^\u0001\u0000\u0000\u0000BC\u0005\u000e\u0000\u0000CD\u0003\f\u0006"+
+		"\u0000DE\u0005\u000f\u0000\u0000EF\u0003\u0004\u0002\u0000F^\u0001\u0000"+
+		"\u0000\u0000GH\u0005\u0010\u0000\u0000HI\u0003\f\u0006\u0000IM\u0005\u0011"+
+		"\u0000\u0000JL\u0003\u0006\u0003\u0000KJ\u0001\u0000\u0000\u0000LO\u0001"+
+		"\u0000\u0000\u0000MK\u0001\u0000\u0000\u0000MN\u0001\u0000\u0000\u0000"+
+		"NP\u0001\u0000\u0000\u0000OM\u0001\u0000\u0000\u0000PQ\u0005\u0012\u0000"+
+		"\u0000Q^\u0001\u0000\u0000\u0000RU\u0005\u0013\u0000\u0000SV\u0005.\u0000"+
+		"\u0000TV\u0003\f\u0006\u0000US\u0001\u0000\u0000\u0000UT\u0001\u0000\u0000"+
+		"\u0000V^\u0001\u0000\u0000\u0000WX\u0005\u0014\u0000\u0000X^\u0003\f\u0006"+
+		"\u0000YZ\u0005\u0011\u0000\u0000Z[\u0003\u0002\u0001\u0000[\\\u0005\u0012"+
+		"\u0000\u0000\\^\u0001\u0000\u0000\u0000]\u0019\u0001\u0000\u0000\u0000"+
+		"]\u001d\u0001\u0000\u0000\u0000]\u001e\u0001\u0000\u0000\u0000]0\u0001"+
+		"\u0000\u0000\u0000]5\u0001\u0000\u0000\u0000]B\u0001\u0000\u0000\u0000"+
+		"]G\u0001\u0000\u0000\u0000]R\u0001\u0000\u0000\u0000]W\u0001\u0000\u0000"+
+		"\u0000]Y\u0001\u0000\u0000\u0000^\u0005\u0001\u0000\u0000\u0000_c\u0003"+
+		"\f\u0006\u0000`c\u0005\u0015\u0000\u0000ac\u0005\u0016\u0000\u0000b_\u0001"+
+		"\u0000\u0000\u0000b`\u0001\u0000\u0000\u0000ba\u0001\u0000\u0000\u0000"+
+		"cd\u0001\u0000\u0000\u0000de\u0005\u0017\u0000\u0000ef\u0003\u0004\u0002"+
+		"\u0000fg\u0005\u0001\u0000\u0000g\u0007\u0001\u0000\u0000\u0000hm\u0005"+
+		"-\u0000\u0000ij\u0005\u0018\u0000\u0000jl\u0005-\u0000\u0000ki\u0001\u0000"+
+		"\u0000\u0000lo\u0001\u0000\u0000\u0000mk\u0001\u0000\u0000\u0000mn\u0001"+
+		"\u0000\u0000\u0000n\t\u0001\u0000\u0000\u0000om\u0001\u0000\u0000\u0000"+
+		"pu\u0003\f\u0006\u0000qr\u0005\u0018\u0000\u0000rt\u0003\f\u0006\u0000"+
+		"sq\u0001\u0000\u0000\u0000tw\u0001\u0000\u0000\u0000us\u0001\u0000\u0000"+
+		"\u0000uv\u0001\u0000\u0000\u0000v\u000b\u0001\u0000\u0000\u0000wu\u0001"+
+		"\u0000\u0000\u0000xy\u0006\u0006\uffff\uffff\u0000y\u0081\u0005,\u0000"+
+		"\u0000z\u0081\u0005\u0019\u0000\u0000{\u0081\u0005-\u0000\u0000|}\u0005"+
+		"\u001a\u0000\u0000}~\u0003\f\u0006\u0000~\u007f\u0005\u001b\u0000\u0000"+
+		"\u007f\u0081\u0001\u0000\u0000\u0000\u0080x\u0001\u0000\u0000\u0000\u0080"+
+		"z\u0001\u0000\u0000\u0000\u0080{\u0001\u0000\u0000\u0000\u0080|\u0001"+
+		"\u0000\u0000\u0000\u0081\u008d\u0001\u0000\u0000\u0000\u0082\u0083\n\u0003"+
+		"\u0000\u0000\u0083\u0084\u0005\u001c\u0000\u0000\u0084\u008c\u0003\f\u0006"+
+		"\u0003\u0085\u0086\n\u0002\u0000\u0000\u0086\u0087\u0007\u0000\u0000\u0000"+
+		"\u0087\u008c\u0003\f\u0006\u0003\u0088\u0089\n\u0001\u0000\u0000\u0089"+
+		"\u008a\u0007\u0001\u0000\u0000\u008a\u008c\u0003\f\u0006\u0002\u008b\u0082"+
+		"\u0001\u0000\u0000\u0000\u008b\u0085\u0001\u0000\u0000\u0000\u008b\u0088"+
+		"\u0001\u0000\u0000\u0000\u008c\u008f\u0001\u0000\u0000\u0000\u008d\u008b"+
+		"\u0001\u0000\u0000\u0000\u008d\u008e\u0001\u0000\u0000\u0000\u008e\r\u0001"+
+		"\u0000\u0000\u0000\u008f\u008d\u0001\u0000\u0000\u0000\u0090\u0091\u0006"+
+		"\u0007\uffff\uffff\u0000\u0091\u009d\u0005+\u0000\u0000\u0092\u0093\u0003"+
+		"\f\u0006\u0000\u0093\u0094\u0007\u0002\u0000\u0000\u0094\u0095\u0003\f"+
+		"\u0006\u0000\u0095\u009d\u0001\u0000\u0000\u0000\u0096\u0097\u0005\'\u0000"+
+		"\u0000\u0097\u009d\u0003\u000e\u0007\u0004\u0098\u0099\u0005\u001a\u0000"+
+		"\u0000\u0099\u009a\u0003\u000e\u0007\u0000\u009a\u009b\u0005\u001b\u0000"+
+		"\u0000\u009b\u009d\u0001\u0000\u0000\u0000\u009c\u0090\u0001\u0000\u0000"+
+		"\u0000\u009c\u0092\u0001\u0000\u0000\u0000\u009c\u0096\u0001\u0000\u0000"+
+		"\u0000\u009c\u0098\u0001\u0000\u0000\u0000\u009d\u00a6\u0001\u0000\u0000"+
+		"\u0000\u009e\u009f\n\u0003\u0000\u0000\u009f\u00a0\u0005(\u0000\u0000"+
+		"\u00a0\u00a5\u0003\u000e\u0007\u0004\u00a1\u00a2\n\u0002\u0000\u0000\u00a2"+
+		"\u00a3\u0007\u0003\u0000\u0000\u00a3\u00a5\u0003\u000e\u0007\u0003\u00a4"+
+		"\u009e\u0001\u0000\u0000\u0000\u00a4\u00a1\u0001\u0000\u0000\u0000\u00a5"+
+		"\u00a8\u0001\u0000\u0000\u0000\u00a6\u00a4\u0001\u0000\u0000\u0000\u00a6"+
+		"\u00a7\u0001\u0000\u0000\u0000\u00a7\u000f\u0001\u0000\u0000\u0000\u00a8"+
+		"\u00a6\u0001\u0000\u0000\u0000\u0010\u0017).=MU]bmu\u0080\u008b\u008d"+
+		"\u009c\u00a4\u00a6";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {